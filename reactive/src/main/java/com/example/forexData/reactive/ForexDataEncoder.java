@@ -0,0 +1,77 @@
+package com.example.forexData.reactive;
+
+import com.example.forexData.model.ForexData;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.ByteArrayOutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes pages of rows as one buffer each. Encoding row by row through the Flux costs noticeably more CPU per byte
+ * than the MVC application's single Jackson pass; a page per buffer brings it back in line while memory stays
+ * bounded by the page size.
+ */
+@Component
+public class ForexDataEncoder {
+
+    private static final DefaultDataBufferFactory BUFFER_FACTORY = DefaultDataBufferFactory.sharedInstance;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /**
+     * The pages as a single JSON array, byte for byte what the MVC application returns for the same rows.
+     */
+    public Flux<DataBuffer> jsonArray(Flux<List<ForexData>> pages) {
+        Flux<DataBuffer> rows = pages.filter(page -> !page.isEmpty()).index().map(indexed -> {
+            // "[r1,r2]" becomes "r1,r2" for the first page and ",r1,r2" for the others
+            byte[] json = writeValueAsBytes(indexed.getT2());
+            if (indexed.getT1() == 0) {
+                return BUFFER_FACTORY.wrap(ByteBuffer.wrap(json, 1, json.length - 2));
+            }
+            json[0] = ',';
+            return BUFFER_FACTORY.wrap(ByteBuffer.wrap(json, 0, json.length - 1));
+        });
+        return Flux.concat(Mono.fromSupplier(() -> BUFFER_FACTORY.wrap(new byte[]{'['})), rows,
+                Mono.fromSupplier(() -> BUFFER_FACTORY.wrap(new byte[]{']'})));
+    }
+
+    /**
+     * The pages as newline delimited JSON, one row per line.
+     */
+    public Flux<DataBuffer> ndjson(Flux<List<ForexData>> pages) {
+        return pages.filter(page -> !page.isEmpty()).map(page -> {
+            ByteArrayOutputStream out = new ByteArrayOutputStream(page.size() * 160);
+            for (ForexData data : page) {
+                out.writeBytes(writeValueAsBytes(data));
+                out.write('\n');
+            }
+            return BUFFER_FACTORY.wrap(out.toByteArray());
+        });
+    }
+
+    /**
+     * The {@code {"msg": ...}} body the endpoints answer errors with.
+     */
+    public Flux<DataBuffer> message(String msg) {
+        return Flux.just(BUFFER_FACTORY.wrap(writeValueAsBytes(Map.of("msg", msg))));
+    }
+
+    private byte[] writeValueAsBytes(Object value) {
+        try {
+            return objectMapper.writeValueAsBytes(value);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.forexData.reactive;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+
+/**
+ * Non-blocking variant of the forex API: Netty event loops, WebClient and R2DBC instead of Tomcat worker threads,
+ * Jsoup and JDBC. Serves the scrape, read and export endpoints of the MVC application from its own database.
+ */
+@SpringBootApplication
+public class ReactiveForexApplication {
+
+	public static void main(String[] args) {
+		SpringApplication.run(ReactiveForexApplication.class, args);
+	}
+
+}
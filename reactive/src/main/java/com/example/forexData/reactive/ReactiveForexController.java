@@ -0,0 +1,219 @@
+package com.example.forexData.reactive;
+
+import com.example.forexData.model.CurrencyPairRequest;
+import com.example.forexData.model.ForexData;
+import com.example.forexData.model.ForexDataPage;
+import com.example.forexData.util.CurrencyPairs;
+import com.example.forexData.util.Period;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/forex-data")
+@Tag(name = "Forex Data Scraping (reactive)")
+public class ReactiveForexController {
+
+    @Autowired
+    private ReactiveForexScraperService forexScraperService;
+
+    @Autowired
+    private ReactiveForexDataRepository forexDataRepository;
+
+    @Autowired
+    private ForexDataEncoder forexDataEncoder;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ReactiveForexController.class);
+
+    private static final int MAX_PAGE_SIZE = 5000;
+
+    @Operation(
+            summary = "Scrape and save exchange rates for a currency pair",
+            description = "Fetches the history page, stores the rows and returns them as saved. " +
+                    "Unlike the MVC application no job is queued: the request holds no thread while it waits on Yahoo or the database."
+    )
+    @PostMapping
+    public Mono<ResponseEntity<Object>> scrapeAndSaveExchangeRates(
+            @RequestParam @Parameter(description = "The currency code representing the source currency to be converted.", example = "GBP") String from,
+            @RequestParam @Parameter(description = "The currency code representing the target currency for conversion.", example = "INR") String to,
+            @RequestParam @Parameter(description = "The timeframe for the historical data", schema = @Schema(allowableValues = {"1W", "1M", "3M", "6M", "9M", "1Y"}), example = "1W") String period) {
+        Period timeframe;
+        try {
+            if (!forexScraperService.isValidCurrencyCode(from) || !forexScraperService.isValidCurrencyCode(to)) {
+                throw new IllegalArgumentException("Invalid currency code");
+            }
+            timeframe = Period.fromValue(period);
+        } catch (IllegalArgumentException e) {
+            String errorMessage = "Invalid input parameters";
+            LOGGER.error(errorMessage, e);
+            return Mono.just(ResponseEntity.status(HttpStatus.BAD_REQUEST).body(Map.of("msg", errorMessage)));
+        }
+
+        return forexScraperService.scrapeAndSaveExchangeRates(from, to, timeframe)
+                .map(saved -> ResponseEntity.ok().<Object>body(saved))
+                .onErrorResume(UncheckedIOException.class, e -> {
+                    String errorMessage = "Failed to fetch data from Yahoo";
+                    LOGGER.error(errorMessage, e);
+                    return Mono.just(ResponseEntity.status(HttpStatus.BAD_GATEWAY).body(Map.of("msg", errorMessage)));
+                })
+                .onErrorResume(e -> {
+                    String errorMessage = "Failed to scrape data";
+                    LOGGER.error(errorMessage, e);
+                    return Mono.just(ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(Map.of("msg", errorMessage)));
+                });
+    }
+
+    @Operation(
+            summary = "This API is only to access data from the database",
+            description = "This endpoint retrieves data from the database, one keyset page at a time ordered by id. " +
+                    "The id to resume after is returned in the X-Next-After-Id header until the last page."
+    )
+    @GetMapping("/retrieve")
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getForexData(
+            @RequestParam(defaultValue = "0") @Parameter(description = "Return rows with an id greater than this value", example = "0") long afterId,
+            @RequestParam(defaultValue = "1000") @Parameter(description = "Maximum number of rows to return", example = "1000") int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            return Mono.just(ResponseEntity.status(HttpStatus.BAD_REQUEST).contentType(MediaType.APPLICATION_JSON)
+                    .body(forexDataEncoder.message("Invalid input parameters")));
+        }
+        // The header is known before the body, which is then streamed a page at a time
+        return forexDataRepository.findLastIdOfPage(afterId, limit)
+                .map(lastId -> ResponseEntity.status(HttpStatus.OK).header("X-Next-After-Id", String.valueOf(lastId)))
+                .defaultIfEmpty(ResponseEntity.status(HttpStatus.OK))
+                .map(response -> response.contentType(MediaType.APPLICATION_JSON)
+                        .body(forexDataEncoder.jsonArray(forexDataRepository.streamPagesByIdGreaterThan(afterId, limit))))
+                .onErrorResume(e -> {
+                    String errorMessage = "Failed to retrieve data";
+                    LOGGER.error(errorMessage, e);
+                    return Mono.just(ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).contentType(MediaType.APPLICATION_JSON)
+                            .body(forexDataEncoder.message(errorMessage)));
+                });
+    }
+
+    @Operation(
+            summary = "Query stored data for a currency pair and date range",
+            description = "Returns stored rows for one currency pair between startDate and endDate, ordered by date. " +
+                    "When startDate is omitted the window is derived from period, and without either the whole history is returned. " +
+                    "Results are keyset-paginated: pass nextAfterDate and nextAfterId from the previous page to continue."
+    )
+    @GetMapping("/range")
+    public Mono<ResponseEntity<Object>> getForexDataRange(
+            @RequestParam @Parameter(description = "The currency code representing the source currency.", example = "USD") String from,
+            @RequestParam @Parameter(description = "The currency code representing the target currency.", example = "INR") String to,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) @Parameter(description = "First date of the range (inclusive)", example = "2024-08-01") LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) @Parameter(description = "Last date of the range (inclusive), defaults to today", example = "2024-08-26") LocalDate endDate,
+            @RequestParam(required = false) @Parameter(description = "The timeframe ending today, used when startDate is omitted", schema = @Schema(allowableValues = {"1W", "1M", "3M", "6M", "9M", "1Y"})) String period,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) @Parameter(description = "Cursor: date of the last row of the previous page") LocalDate afterDate,
+            @RequestParam(defaultValue = "0") @Parameter(description = "Cursor: id of the last row of the previous page") long afterId,
+            @RequestParam(defaultValue = "500") @Parameter(description = "Maximum number of rows to return", example = "500") int limit) {
+        LocalDate start;
+        LocalDate end;
+        try {
+            if (!forexScraperService.isValidCurrencyCode(from) || !forexScraperService.isValidCurrencyCode(to)
+                    || limit < 1 || limit > MAX_PAGE_SIZE) {
+                throw new IllegalArgumentException("Invalid input parameters: from=" + from + ", to=" + to + ", limit=" + limit);
+            }
+            end = endDate != null ? endDate : LocalDate.now();
+            start = resolveStartDate(startDate, period);
+            if (start.isAfter(end)) {
+                throw new IllegalArgumentException("startDate is after endDate");
+            }
+        } catch (IllegalArgumentException e) {
+            String errorMessage = "Invalid input parameters";
+            LOGGER.error(errorMessage, e);
+            return Mono.just(ResponseEntity.status(HttpStatus.BAD_REQUEST).body(Map.of("msg", errorMessage)));
+        }
+
+        LocalDate cursorDate = afterDate != null ? afterDate : start.minusDays(1);
+        return forexDataRepository.findRangePage(CurrencyPairs.symbol(from, to), start, end, cursorDate, afterId, limit)
+                .collectList()
+                .map(rows -> {
+                    ForexData last = rows.size() == limit ? rows.get(rows.size() - 1) : null;
+                    return ResponseEntity.ok().<Object>body(new ForexDataPage(rows,
+                            last != null ? last.getDate() : null,
+                            last != null ? last.getId() : null));
+                })
+                .onErrorResume(e -> {
+                    String errorMessage = "Failed to retrieve data";
+                    LOGGER.error(errorMessage, e);
+                    return Mono.just(ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(Map.of("msg", errorMessage)));
+                });
+    }
+
+    @Operation(
+            summary = "Stream stored history as NDJSON",
+            description = "Streams rows ordered by pair and date from the database to the response with backpressure: " +
+                    "rows are read only as fast as the client consumes them, so a slow client holds neither a thread nor a buffer. " +
+                    "Omit pairs to export every pair; omit startDate and period to export the whole history."
+    )
+    @GetMapping("/export")
+    public ResponseEntity<Flux<DataBuffer>> exportForexData(
+            @RequestParam(required = false) @Parameter(description = "Six letter currency pairs, all pairs when omitted", example = "USDINR,EURUSD") List<String> pairs,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) @Parameter(description = "First date of the range (inclusive)", example = "2024-01-01") LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) @Parameter(description = "Last date of the range (inclusive), defaults to today") LocalDate endDate,
+            @RequestParam(required = false) @Parameter(description = "The timeframe ending today, used when startDate is omitted", schema = @Schema(allowableValues = {"1W", "1M", "3M", "6M", "9M", "1Y"})) String period) {
+        List<String> currencyPairs = new ArrayList<>();
+        LocalDate start;
+        LocalDate end;
+        try {
+            if (pairs != null) {
+                for (String pair : pairs) {
+                    CurrencyPairRequest request = CurrencyPairRequest.parse(pair);
+                    if (!forexScraperService.isValidCurrencyCode(request.from()) || !forexScraperService.isValidCurrencyCode(request.to())) {
+                        throw new IllegalArgumentException("Invalid currency pair: " + pair);
+                    }
+                    currencyPairs.add(CurrencyPairs.symbol(request.from(), request.to()));
+                }
+            }
+            start = resolveStartDate(startDate, period);
+            end = endDate != null ? endDate : LocalDate.now();
+        } catch (IllegalArgumentException e) {
+            LOGGER.error("Invalid input parameters", e);
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).contentType(MediaType.APPLICATION_JSON)
+                    .body(forexDataEncoder.message("Invalid input parameters"));
+        }
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"forex-data.ndjson\"")
+                .body(forexDataEncoder.ndjson(forexDataRepository.streamPagesInRange(currencyPairs, start, end))
+                        // The status line has already been sent, so the client sees a truncated stream.
+                        .doOnError(e -> LOGGER.error("Failed to export data", e)));
+    }
+
+    /**
+     * An explicit start date wins; otherwise the period's lookback from today; otherwise the whole history.
+     */
+    private static LocalDate resolveStartDate(LocalDate startDate, String period) {
+        if (startDate != null) {
+            return startDate;
+        }
+        if (period != null) {
+            return Period.fromValue(period).startDate(LocalDate.now());
+        }
+        return LocalDate.EPOCH;
+    }
+}
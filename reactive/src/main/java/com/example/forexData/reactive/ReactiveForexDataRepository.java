@@ -0,0 +1,195 @@
+package com.example.forexData.reactive;
+
+import com.example.forexData.model.ForexData;
+import io.r2dbc.spi.Readable;
+import io.r2dbc.spi.Result;
+import io.r2dbc.spi.Statement;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * R2DBC counterpart of the MVC application's ForexDataRepository, limited to the queries the reactive endpoints use.
+ * The SQL is the same, so both applications read and write identical tables.
+ */
+@Repository
+public class ReactiveForexDataRepository {
+
+    // Standard SQL MERGE, understood by both H2 and PostgreSQL 15+.
+    private static final String UPSERT_SQL =
+            "MERGE INTO forex_data t " +
+            "USING (VALUES (CAST($1 AS VARCHAR(255)), CAST($2 AS DATE), CAST($3 AS DECIMAL(10, 5)), CAST($4 AS DECIMAL(10, 5)), " +
+            "CAST($5 AS DECIMAL(10, 5)), CAST($6 AS DECIMAL(10, 5)), CAST($7 AS DECIMAL(10, 5)), CAST($8 AS DECIMAL(20, 5)))) " +
+            "AS s (currency_pair, date, open, high, low, close, adj_close, volume) " +
+            "ON t.currency_pair = s.currency_pair AND t.date = s.date " +
+            "WHEN MATCHED THEN UPDATE SET open = s.open, high = s.high, low = s.low, close = s.close, " +
+            "adj_close = s.adj_close, volume = s.volume " +
+            "WHEN NOT MATCHED THEN INSERT (currency_pair, date, open, high, low, close, adj_close, volume) " +
+            "VALUES (s.currency_pair, s.date, s.open, s.high, s.low, s.close, s.adj_close, s.volume)";
+
+    private static final String SCAN_SQL =
+            "SELECT id, currency_pair, date, open, high, low, close, adj_close, volume FROM forex_data ";
+
+    // Rows per query when streaming to a client
+    private static final int STREAM_PAGE_ROWS = 100;
+
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    /**
+     * Inserts new rows and overwrites existing ones for the same pair and date, as one batch statement.
+     */
+    @Transactional
+    public Mono<Long> upsertAll(List<ForexData> dataList) {
+        if (dataList.isEmpty()) {
+            return Mono.just(0L);
+        }
+        return databaseClient.inConnectionMany(connection -> {
+            Statement statement = connection.createStatement(UPSERT_SQL);
+            for (int i = 0; i < dataList.size(); i++) {
+                if (i > 0) {
+                    statement.add();
+                }
+                ForexData data = dataList.get(i);
+                statement.bind(0, data.getCurrencyPair());
+                statement.bind(1, data.getDate());
+                bindDecimal(statement, 2, data.getOpen());
+                bindDecimal(statement, 3, data.getHigh());
+                bindDecimal(statement, 4, data.getLow());
+                bindDecimal(statement, 5, data.getClose());
+                bindDecimal(statement, 6, data.getAdjClose());
+                bindDecimal(statement, 7, data.getVolume());
+            }
+            return Flux.from(statement.execute()).flatMap(Result::getRowsUpdated);
+        }).reduce(0L, Long::sum);
+    }
+
+    public Flux<ForexData> findByIdGreaterThanOrderByIdAsc(long afterId, int limit) {
+        return databaseClient.sql(SCAN_SQL + "WHERE id > :afterId ORDER BY id LIMIT :limit")
+                .bind("afterId", afterId)
+                .bind("limit", limit)
+                .map(ReactiveForexDataRepository::mapRow)
+                .all();
+    }
+
+    /**
+     * Same rows as {@link #findByIdGreaterThanOrderByIdAsc}, in pages queried only as the subscriber requests
+     * them, so a slow client holds neither a pooled connection nor more than a page of rows.
+     */
+    public Flux<List<ForexData>> streamPagesByIdGreaterThan(long afterId, int limit) {
+        return Flux.defer(() -> {
+            AtomicInteger remaining = new AtomicInteger(limit);
+            return findByIdGreaterThanOrderByIdAsc(afterId, Math.min(limit, STREAM_PAGE_ROWS)).collectList()
+                    .expand(page -> {
+                        if (page.size() < STREAM_PAGE_ROWS || remaining.addAndGet(-page.size()) == 0) {
+                            return Mono.empty();
+                        }
+                        long lastId = page.get(page.size() - 1).getId();
+                        return findByIdGreaterThanOrderByIdAsc(lastId, Math.min(remaining.get(), STREAM_PAGE_ROWS)).collectList();
+                    });
+        });
+    }
+
+    /**
+     * Id of the {@code limit}-th row after {@code afterId}, empty when fewer rows follow it.
+     */
+    public Mono<Long> findLastIdOfPage(long afterId, int limit) {
+        return databaseClient.sql("SELECT id FROM forex_data WHERE id > :afterId ORDER BY id LIMIT 1 OFFSET :offset")
+                .bind("afterId", afterId)
+                .bind("offset", limit - 1)
+                .map(row -> row.get("id", Long.class))
+                .one();
+    }
+
+    public Flux<ForexData> findByCurrencyPairAndDateBetweenOrderByDateAsc(String currencyPair, LocalDate startDate, LocalDate endDate) {
+        return databaseClient.sql(SCAN_SQL + "WHERE currency_pair = :currencyPair AND date BETWEEN :startDate AND :endDate ORDER BY date")
+                .bind("currencyPair", currencyPair)
+                .bind("startDate", startDate)
+                .bind("endDate", endDate)
+                .map(ReactiveForexDataRepository::mapRow)
+                .all();
+    }
+
+    /**
+     * One keyset page of a pair's rows between the dates, after the (afterDate, afterId) cursor.
+     */
+    public Flux<ForexData> findRangePage(String currencyPair, LocalDate startDate, LocalDate endDate,
+                                         LocalDate afterDate, long afterId, int limit) {
+        return databaseClient.sql(SCAN_SQL +
+                        "WHERE currency_pair = :currencyPair AND date BETWEEN :startDate AND :endDate " +
+                        "AND (date > :afterDate OR (date = :afterDate AND id > :afterId)) " +
+                        "ORDER BY date, id LIMIT :limit")
+                .bind("currencyPair", currencyPair)
+                .bind("startDate", startDate)
+                .bind("endDate", endDate)
+                .bind("afterDate", afterDate)
+                .bind("afterId", afterId)
+                .bind("limit", limit)
+                .map(ReactiveForexDataRepository::mapRow)
+                .all();
+    }
+
+    /**
+     * Rows of the pairs, or of every pair when empty, between the dates ordered by pair and date. Like
+     * {@link #streamPagesByIdGreaterThan}, pages are queried only as the subscriber requests them.
+     */
+    public Flux<List<ForexData>> streamPagesInRange(Collection<String> currencyPairs, LocalDate startDate, LocalDate endDate) {
+        return findInRangePage(currencyPairs, startDate, endDate, "", startDate.minusDays(1)).collectList()
+                .expand(page -> {
+                    if (page.size() < STREAM_PAGE_ROWS) {
+                        return Mono.empty();
+                    }
+                    ForexData last = page.get(page.size() - 1);
+                    return findInRangePage(currencyPairs, startDate, endDate, last.getCurrencyPair(), last.getDate()).collectList();
+                });
+    }
+
+    private Flux<ForexData> findInRangePage(Collection<String> currencyPairs, LocalDate startDate, LocalDate endDate,
+                                            String afterPair, LocalDate afterDate) {
+        String sql = SCAN_SQL + "WHERE date BETWEEN :startDate AND :endDate " +
+                (currencyPairs.isEmpty() ? "" : "AND currency_pair IN (:currencyPairs) ") +
+                "AND (currency_pair > :afterPair OR (currency_pair = :afterPair AND date > :afterDate)) " +
+                "ORDER BY currency_pair, date LIMIT :limit";
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(sql)
+                .bind("startDate", startDate)
+                .bind("endDate", endDate)
+                .bind("afterPair", afterPair)
+                .bind("afterDate", afterDate)
+                .bind("limit", STREAM_PAGE_ROWS);
+        if (!currencyPairs.isEmpty()) {
+            spec = spec.bind("currencyPairs", currencyPairs);
+        }
+        return spec.map(ReactiveForexDataRepository::mapRow).all();
+    }
+
+    private static void bindDecimal(Statement statement, int index, BigDecimal value) {
+        if (value != null) {
+            statement.bind(index, value);
+        } else {
+            statement.bindNull(index, BigDecimal.class);
+        }
+    }
+
+    private static ForexData mapRow(Readable row) {
+        ForexData data = new ForexData();
+        data.setId(row.get("id", Long.class));
+        data.setCurrencyPair(row.get("currency_pair", String.class));
+        data.setDate(row.get("date", LocalDate.class));
+        data.setOpen(row.get("open", BigDecimal.class));
+        data.setHigh(row.get("high", BigDecimal.class));
+        data.setLow(row.get("low", BigDecimal.class));
+        data.setClose(row.get("close", BigDecimal.class));
+        data.setAdjClose(row.get("adj_close", BigDecimal.class));
+        data.setVolume(row.get("volume", BigDecimal.class));
+        return data;
+    }
+}
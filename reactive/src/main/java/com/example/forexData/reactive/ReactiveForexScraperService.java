@@ -0,0 +1,122 @@
+package com.example.forexData.reactive;
+
+import com.example.forexData.model.ForexData;
+import com.example.forexData.parser.HistoryPageParser;
+import com.example.forexData.parser.StreamingHistoryPageParser;
+import com.example.forexData.util.CurrencyPairs;
+import com.example.forexData.util.Period;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Scrapes history pages with WebClient and stores them through R2DBC, so no thread waits on Yahoo or the
+ * database. Pages are parsed by the MVC application's streaming parser on the parallel scheduler, off the
+ * event loop.
+ */
+@Service
+public class ReactiveForexScraperService {
+
+    @Autowired
+    private ReactiveForexDataRepository forexDataRepository;
+
+    @Autowired
+    private WebClient.Builder webClientBuilder;
+
+    @Value("${forex.scrape.base-url:https://finance.yahoo.com}")
+    private String baseUrl;
+
+    @Value("${forex.scrape.timeout-millis:30000}")
+    private int timeoutMillis;
+
+    @Value("${forex.scrape.max-page-bytes:16777216}")
+    private int maxPageBytes;
+
+    private final HistoryPageParser historyPageParser = new StreamingHistoryPageParser();
+
+    private WebClient webClient;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ReactiveForexScraperService.class);
+
+    @PostConstruct
+    public void createWebClient() {
+        webClient = webClientBuilder
+                .codecs(codecs -> codecs.defaultCodecs().maxInMemorySize(maxPageBytes))
+                .build();
+    }
+
+    public Mono<List<ForexData>> scrapeAndSaveExchangeRates(String from, String to, Period period) {
+        String currencyPair = CurrencyPairs.symbol(from, to);
+        LocalDate endDate = LocalDate.now();
+        LocalDate startDate = period.startDate(endDate);
+
+        return fetchExchangeRates(from, to, startDate, endDate).flatMap(dataList -> {
+            if (dataList.isEmpty()) {
+                LOGGER.warn("No valid data found for the period: {}", period.getValue());
+                return Mono.just(dataList);
+            }
+            return saveExchangeRates(currencyPair, dataList)
+                    .doOnNext(saved -> LOGGER.info("Successfully saved {} records for period {}", saved.size(), period.getValue()));
+        });
+    }
+
+    /**
+     * Fetches and parses the history page.
+     *
+     * @return no rows if the page has none in the window, or an {@link UncheckedIOException} if the fetch failed
+     */
+    public Mono<List<ForexData>> fetchExchangeRates(String from, String to, LocalDate startDate, LocalDate endDate) {
+        String currencyPair = CurrencyPairs.symbol(from, to);
+        String url = baseUrl + "/quote/" + currencyPair + "/history?p=" + currencyPair;
+
+        return webClient.get()
+                .uri(URI.create(url))
+                .retrieve()
+                .bodyToMono(String.class)
+                .timeout(Duration.ofMillis(timeoutMillis))
+                .publishOn(Schedulers.parallel())
+                .map(html -> historyPageParser.parse(html, currencyPair, startDate, endDate))
+                .onErrorMap(e -> new UncheckedIOException("Failed to fetch " + url,
+                        e instanceof IOException ioException ? ioException : new IOException(e)));
+    }
+
+    /**
+     * Upserts the rows and returns them as stored, with their database ids, ordered by date.
+     */
+    public Mono<List<ForexData>> saveExchangeRates(String currencyPair, List<ForexData> dataList) {
+        Set<LocalDate> dates = new HashSet<>();
+        LocalDate first = LocalDate.MAX;
+        LocalDate last = LocalDate.MIN;
+        for (ForexData data : dataList) {
+            dates.add(data.getDate());
+            first = data.getDate().isBefore(first) ? data.getDate() : first;
+            last = data.getDate().isAfter(last) ? data.getDate() : last;
+        }
+        LocalDate startDate = first;
+        LocalDate endDate = last;
+
+        return forexDataRepository.upsertAll(dataList)
+                .thenMany(forexDataRepository.findByCurrencyPairAndDateBetweenOrderByDateAsc(currencyPair, startDate, endDate))
+                .filter(data -> dates.contains(data.getDate()))
+                .collectList();
+    }
+
+    public boolean isValidCurrencyCode(String code) {
+        return code != null && code.matches("[A-Z]{3}");
+    }
+}
@@ -0,0 +1,142 @@
+package com.example.forexData.reactive;
+
+import com.example.forexData.model.ForexData;
+import com.example.forexData.support.YahooStubServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.reactive.server.EntityExchangeResult;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.io.IOException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class ReactiveForexControllerTests {
+
+	private static final YahooStubServer YAHOO = startStub();
+
+	@Autowired
+	private WebTestClient webTestClient;
+
+	@DynamicPropertySource
+	static void yahooProperties(DynamicPropertyRegistry registry) {
+		registry.add("forex.scrape.base-url", YAHOO::baseUrl);
+	}
+
+	@AfterAll
+	static void stopStub() {
+		YAHOO.close();
+	}
+
+	@Test
+	void scrapesStoresAndReadsBackPair() {
+		List<ForexData> saved = webTestClient.post().uri("/api/forex-data?from=CHF&to=SEK&period=1M")
+				.exchange()
+				.expectStatus().isOk()
+				.expectBodyList(ForexData.class)
+				.returnResult().getResponseBody();
+		assertNotNull(saved);
+		assertTrue(saved.size() >= 20);
+		assertTrue(saved.stream().allMatch(row -> row.getId() != null && row.getCurrencyPair().equals("CHFSEK=X")));
+
+		// Scraping again upserts the same rows instead of duplicating them
+		List<ForexData> again = webTestClient.post().uri("/api/forex-data?from=CHF&to=SEK&period=1M")
+				.exchange()
+				.expectStatus().isOk()
+				.expectBodyList(ForexData.class)
+				.returnResult().getResponseBody();
+		assertEquals(saved.stream().map(ForexData::getId).toList(), again.stream().map(ForexData::getId).toList());
+
+		webTestClient.get().uri("/api/forex-data/range?from=CHF&to=SEK&period=1M&limit=5")
+				.exchange()
+				.expectStatus().isOk()
+				.expectBody()
+				.jsonPath("$.data.length()").isEqualTo(5)
+				.jsonPath("$.data[0].date").isEqualTo(saved.get(0).getDate().toString())
+				.jsonPath("$.nextAfterId").isEqualTo(saved.get(4).getId().intValue());
+
+		List<ForexData> exported = webTestClient.get().uri("/api/forex-data/export?pairs=CHFSEK")
+				.accept(MediaType.APPLICATION_NDJSON)
+				.exchange()
+				.expectStatus().isOk()
+				.expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+				.returnResult(ForexData.class)
+				.getResponseBody().collectList().block();
+		assertEquals(saved.size(), exported.size());
+	}
+
+	@Test
+	void streamsReadsLargerThanOnePage() {
+		YAHOO.rows(300);
+		int saved = 0;
+		for (String to : List.of("NOK", "DKK", "PLN")) {
+			saved += webTestClient.post().uri("/api/forex-data?from=HUF&to=" + to + "&period=1Y")
+					.exchange()
+					.expectStatus().isOk()
+					.expectBodyList(ForexData.class)
+					.returnResult().getResponseBody().size();
+		}
+		assertTrue(saved > 650);
+
+		EntityExchangeResult<List<ForexData>> page = webTestClient.get().uri("/api/forex-data/retrieve?limit=650")
+				.exchange()
+				.expectStatus().isOk()
+				.expectBodyList(ForexData.class)
+				.returnResult();
+		List<ForexData> rows = page.getResponseBody();
+		assertEquals(650, rows.size());
+		for (int i = 1; i < rows.size(); i++) {
+			assertTrue(rows.get(i).getId() > rows.get(i - 1).getId());
+		}
+		assertEquals(String.valueOf(rows.get(649).getId()), page.getResponseHeaders().getFirst("X-Next-After-Id"));
+
+		List<ForexData> exported = webTestClient.get().uri("/api/forex-data/export?pairs=HUFNOK,HUFDKK,HUFPLN")
+				.exchange()
+				.expectStatus().isOk()
+				.returnResult(ForexData.class)
+				.getResponseBody().collectList().block();
+		assertEquals(saved, exported.size());
+		assertEquals(saved, exported.stream().map(row -> row.getCurrencyPair() + row.getDate()).distinct().count());
+	}
+
+	@Test
+	void reportsFailedFetch() {
+		YAHOO.failNext(1);
+		webTestClient.post().uri("/api/forex-data?from=CHF&to=NOK&period=1W")
+				.exchange()
+				.expectStatus().isEqualTo(502)
+				.expectBody().jsonPath("$.msg").isEqualTo("Failed to fetch data from Yahoo");
+	}
+
+	@Test
+	void rejectsInvalidInput() {
+		webTestClient.post().uri("/api/forex-data?from=usd&to=INR&period=1W")
+				.exchange()
+				.expectStatus().isBadRequest()
+				.expectBody().jsonPath("$.msg").isEqualTo("Invalid input parameters");
+		webTestClient.get().uri("/api/forex-data/retrieve?limit=0")
+				.exchange()
+				.expectStatus().isBadRequest();
+		webTestClient.get().uri("/api/forex-data/export?pairs=USD")
+				.exchange()
+				.expectStatus().isBadRequest()
+				.expectBody().jsonPath("$.msg").isEqualTo("Invalid input parameters");
+	}
+
+	private static YahooStubServer startStub() {
+		try {
+			return new YahooStubServer();
+		} catch (IOException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+}
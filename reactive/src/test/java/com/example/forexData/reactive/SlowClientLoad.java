@@ -0,0 +1,120 @@
+package com.example.forexData.reactive;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Opens many concurrent connections that each request the same path and then read the response slowly, the way
+ * mobile or throttled clients do, and reports time to first byte and completion time per target. A server that
+ * pins a thread per response runs out of threads and makes later clients queue for their first byte; a
+ * non-blocking server answers them all at once.
+ *
+ * <p>Arguments: comma separated base URLs, number of clients, request path, read rate in bytes per second per client.
+ */
+public class SlowClientLoad {
+
+	private static final int READ_CHUNK = 4096;
+
+	private record Sample(long firstByteNanos, long totalNanos, long bytes, boolean ok) {
+	}
+
+	public static void main(String[] args) throws Exception {
+		String[] targets = args[0].split(",");
+		int clients = Integer.parseInt(args[1]);
+		String path = args[2];
+		long bytesPerSecond = Long.parseLong(args[3]);
+
+		System.out.printf("%d clients, GET %s, reading %d B/s each%n", clients, path, bytesPerSecond);
+		for (String target : targets) {
+			report(target.trim(), run(URI.create(target.trim()), clients, path, bytesPerSecond));
+		}
+	}
+
+	private static List<Sample> run(URI target, int clients, String path, long bytesPerSecond) throws Exception {
+		CountDownLatch start = new CountDownLatch(1);
+		List<Future<Sample>> futures = new ArrayList<>(clients);
+		try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+			for (int i = 0; i < clients; i++) {
+				futures.add(executor.submit(() -> {
+					start.await();
+					return fetch(target, path, bytesPerSecond);
+				}));
+			}
+			start.countDown();
+		}
+		List<Sample> samples = new ArrayList<>(clients);
+		for (Future<Sample> future : futures) {
+			samples.add(future.get());
+		}
+		return samples;
+	}
+
+	private static Sample fetch(URI target, String path, long bytesPerSecond) {
+		long begin = System.nanoTime();
+		long firstByte = -1;
+		long bytes = 0;
+		try (Socket socket = new Socket(target.getHost(), target.getPort())) {
+			socket.setSoTimeout((int) TimeUnit.MINUTES.toMillis(5));
+			// A small receive buffer keeps the kernel from absorbing the response on the client's behalf
+			socket.setReceiveBufferSize(READ_CHUNK);
+			OutputStream out = socket.getOutputStream();
+			out.write(("GET " + path + " HTTP/1.1\r\nHost: " + target.getHost() + "\r\nConnection: close\r\n\r\n")
+					.getBytes(StandardCharsets.US_ASCII));
+			out.flush();
+
+			InputStream in = socket.getInputStream();
+			byte[] buffer = new byte[READ_CHUNK];
+			int read;
+			while ((read = in.read(buffer)) != -1) {
+				if (firstByte < 0) {
+					firstByte = System.nanoTime() - begin;
+				}
+				bytes += read;
+				// Pace reads so that the average rate stays at bytesPerSecond
+				long due = begin + firstByte + bytes * 1_000_000_000L / bytesPerSecond;
+				long wait = due - System.nanoTime();
+				if (wait > 0) {
+					TimeUnit.NANOSECONDS.sleep(wait);
+				}
+			}
+			return new Sample(firstByte, System.nanoTime() - begin, bytes, firstByte >= 0);
+		} catch (IOException e) {
+			return new Sample(firstByte, System.nanoTime() - begin, bytes, false);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return new Sample(firstByte, System.nanoTime() - begin, bytes, false);
+		}
+	}
+
+	private static void report(String target, List<Sample> samples) {
+		long[] firstByte = samples.stream().filter(Sample::ok).mapToLong(Sample::firstByteNanos).sorted().toArray();
+		long[] total = samples.stream().filter(Sample::ok).mapToLong(Sample::totalNanos).sorted().toArray();
+		long failed = samples.stream().filter(sample -> !sample.ok()).count();
+		long bytes = samples.stream().mapToLong(Sample::bytes).sum();
+
+		System.out.printf("%s: %d ok, %d failed, %d MB read%n", target, firstByte.length, failed, bytes >> 20);
+		System.out.printf("  time to first byte ms: p50 %d, p95 %d, p99 %d, max %d%n",
+				millis(firstByte, 0.50), millis(firstByte, 0.95), millis(firstByte, 0.99), millis(firstByte, 1.0));
+		System.out.printf("  completion ms:         p50 %d, p95 %d, p99 %d, max %d%n",
+				millis(total, 0.50), millis(total, 0.95), millis(total, 0.99), millis(total, 1.0));
+	}
+
+	private static long millis(long[] sorted, double quantile) {
+		if (sorted.length == 0) {
+			return -1;
+		}
+		int index = (int) Math.ceil(quantile * sorted.length) - 1;
+		return TimeUnit.NANOSECONDS.toMillis(sorted[Math.max(0, index)]);
+	}
+}
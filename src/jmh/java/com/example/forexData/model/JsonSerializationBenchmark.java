@@ -0,0 +1,70 @@
+package com.example.forexData.model;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serializes {@code List<ForexData>} responses of increasing size with an ObjectMapper configured like Spring Boot's.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonSerializationBenchmark {
+
+    @Param({"5", "260", "10000"})
+    private int rows;
+
+    private final ObjectMapper objectMapper = new Jackson2ObjectMapperBuilder()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+
+    private List<ForexData> data;
+
+    @Setup
+    public void createRows() {
+        data = new ArrayList<>(rows);
+        LocalDate date = LocalDate.of(2024, 8, 26);
+        for (int i = 0; i < rows; i++) {
+            BigDecimal price = BigDecimal.valueOf(835000 + i % 1000, 4);
+            ForexData row = new ForexData();
+            row.setId((long) i);
+            row.setCurrencyPair("USDINR=X");
+            row.setDate(date.minusDays(i));
+            row.setOpen(price);
+            row.setHigh(price);
+            row.setLow(price);
+            row.setClose(price);
+            row.setAdjClose(price);
+            row.setVolume(BigDecimal.ZERO);
+            data.add(row);
+        }
+    }
+
+    @Benchmark
+    public void serialize() throws IOException {
+        objectMapper.writeValue(OutputStream.nullOutputStream(), data);
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.forexData.parser;
+
+import com.example.forexData.model.ForexData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parses the recorded one-year USD/INR history page with the Jsoup and streaming parsers, for lookback
+ * windows of one week, three months and one year.
+ * Run with {@code ./gradlew jmh -PjmhIncludes=HistoryPageParserBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HistoryPageParserBenchmark {
+
+    // Date of the newest row in the fixture
+    private static final LocalDate END = LocalDate.of(2024, 8, 26);
+
+    @Param({"7", "90", "365"})
+    private int lookbackDays;
+
+    private final HistoryPageParser jsoupParser = new JsoupHistoryPageParser();
+    private final HistoryPageParser streamingParser = new StreamingHistoryPageParser();
+
+    private String html;
+
+    private LocalDate start;
+
+    @Setup
+    public void loadFixture() throws IOException {
+        try (InputStream in = getClass().getResourceAsStream("/fixtures/yahoo-history-USDINR.html")) {
+            html = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        start = END.minusDays(lookbackDays);
+    }
+
+    @Benchmark
+    public List<ForexData> jsoup() {
+        return jsoupParser.parse(html, "USDINR=X", start, END);
+    }
+
+    @Benchmark
+    public List<ForexData> streaming() {
+        return streamingParser.parse(html, "USDINR=X", start, END);
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.forexData.parser;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cell-to-BigDecimal conversion: the Jsoup path's {@code parseBigDecimal} against the streaming parser's in-place decoder.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NumberParsingBenchmark {
+
+    @Param({"83.9512", "1,234,567.8900", "-"})
+    private String cell;
+
+    @Benchmark
+    public BigDecimal parseBigDecimal() {
+        return JsoupHistoryPageParser.parseBigDecimal(cell);
+    }
+
+    @Benchmark
+    public BigDecimal parseNumber() {
+        return StreamingHistoryPageParser.parseNumber(cell, 0, cell.length());
+    }
+}
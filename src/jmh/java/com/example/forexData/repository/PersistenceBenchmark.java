@@ -0,0 +1,99 @@
+package com.example.forexData.repository;
+
+import com.example.forexData.DemoApplication;
+import com.example.forexData.model.ForexData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes batches of scraped rows into the in-memory H2 database through JPA {@code saveAll} and the
+ * MERGE-based {@code upsertAll}. Each invocation writes a fresh pair so that saveAll never hits the unique key.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PersistenceBenchmark {
+
+    @Param({"10", "250", "2500"})
+    private int batchSize;
+
+    private ConfigurableApplicationContext context;
+    private ForexDataRepository forexDataRepository;
+    private JdbcTemplate jdbcTemplate;
+    private int pairCounter;
+
+    @Setup(Level.Trial)
+    public void startContext() {
+        context = new SpringApplicationBuilder(DemoApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties("spring.jpa.show-sql=false", "logging.level.root=WARN", "forex.warmup.enabled=false",
+                        "spring.datasource.url=jdbc:h2:mem:benchmark;MODE=PostgreSQL;DEFAULT_NULL_ORDERING=HIGH")
+                .run();
+        forexDataRepository = context.getBean(ForexDataRepository.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+    }
+
+    @TearDown(Level.Iteration)
+    public void truncate() {
+        jdbcTemplate.execute("DELETE FROM forex_data");
+    }
+
+    @TearDown(Level.Trial)
+    public void stopContext() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<ForexData> saveAll() {
+        return forexDataRepository.saveAll(rows());
+    }
+
+    @Benchmark
+    public int upsertAll() {
+        return forexDataRepository.upsertAll(rows());
+    }
+
+    private List<ForexData> rows() {
+        String currencyPair = String.format("B%05d=X", pairCounter++);
+        LocalDate date = LocalDate.of(2000, 1, 3);
+        List<ForexData> rows = new ArrayList<>(batchSize);
+        for (int i = 0; i < batchSize; i++) {
+            BigDecimal price = BigDecimal.valueOf(830000 + i, 4);
+            ForexData data = new ForexData();
+            data.setCurrencyPair(currencyPair);
+            data.setDate(date.plusDays(i));
+            data.setOpen(price);
+            data.setHigh(price);
+            data.setLow(price);
+            data.setClose(price);
+            data.setAdjClose(price);
+            data.setVolume(BigDecimal.ZERO);
+            rows.add(data);
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,168 @@
+package com.example.forexData;
+
+import com.example.forexData.repository.ForexDataRepository;
+import com.example.forexData.service.ForexDataCacheService;
+import com.example.forexData.support.LoadGenerator;
+import com.example.forexData.support.LoadGenerator.Poll;
+import com.example.forexData.support.LoadGenerator.Result;
+import com.example.forexData.support.LoadGenerator.Scenario;
+import com.example.forexData.support.YahooStubServer;
+import com.example.forexData.util.Period;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Drives mixed scrape, retrieve and range traffic at fixed rates and checks each endpoint against its latency SLO.
+ * <p>
+ * Every setting is a {@code loadtest.*} system property with the default given here; {@code ./gradlew loadTest}
+ * passes on matching {@code -P} project properties. The default rates are sized for a single-core CI runner and
+ * leave the SLOs about three times the latencies seen there. The default duration gives each p99 gate at least 300
+ * samples. The report is written to {@code build/reports/loadtest}.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+		// Measures the endpoints, not the limiter, which would answer most of the scrape traffic with 429
+		"forex.ratelimit.enabled=false",
+		"spring.jpa.show-sql=false"
+})
+class ForexApiLoadTests {
+
+	// Stored up front; the other scraped pairs start cold and go to the stub
+	private static final List<String> SEEDED_PAIRS = List.of("USDINR", "EURUSD", "GBPUSD", "USDJPY", "AUDUSD", "USDCAD");
+	private static final List<String> SCRAPED_PAIRS = List.of("USDINR", "EURUSD", "GBPUSD", "USDJPY", "AUDUSD", "USDCAD",
+			"USDCHF", "NZDUSD", "EURGBP", "EURJPY", "GBPJPY", "USDSGD");
+	private static final List<String> SCRAPE_PERIODS = List.of("1W", "1M", "3M");
+	private static final List<String> RANGE_PERIODS = List.of("1W", "1M", "3M", "1Y");
+
+	private static final YahooStubServer YAHOO = startStub();
+
+	private static final Poll JOB_POLL = new Poll(
+			accepted -> get(accepted.uri().resolve(accepted.headers().firstValue(HttpHeaders.LOCATION).orElseThrow())),
+			body -> body.contains("\"state\":\"SUCCEEDED\"") || body.contains("\"state\":\"FAILED\""),
+			body -> body.contains("\"state\":\"SUCCEEDED\""),
+			Duration.ofMillis(10), Duration.ofSeconds(10));
+
+	@LocalServerPort
+	private int port;
+
+	@Autowired
+	private ForexDataCacheService forexDataCacheService;
+
+	@Autowired
+	private ForexDataRepository forexDataRepository;
+
+	@DynamicPropertySource
+	static void yahooProperties(DynamicPropertyRegistry registry) {
+		registry.add("forex.scrape.base-url", YAHOO::baseUrl);
+	}
+
+	@AfterAll
+	static void stopStub() {
+		YAHOO.close();
+	}
+
+	@Test
+	void meetsLatencySlos() throws InterruptedException, IOException {
+		for (String pair : SEEDED_PAIRS) {
+			forexDataCacheService.getExchangeRates(pair.substring(0, 3), pair.substring(3), Period.ONE_YEAR);
+		}
+		long storedRows = forexDataRepository.count();
+		YAHOO.latencyMillis(Long.getLong("loadtest.stub.latency-millis", 50))
+				.errorRate(Double.parseDouble(System.getProperty("loadtest.stub.error-rate", "0.02")));
+
+		List<Scenario> scenarios = List.of(
+				// Timed until the queued job has ended, not just until it was accepted
+				new Scenario("scrape", rate("scrape", 5), () -> post("/api/forex-data?" + pairQuery(pick(SCRAPED_PAIRS))
+						+ "&period=" + pick(SCRAPE_PERIODS)), status -> status == 202, JOB_POLL),
+				new Scenario("retrieve", rate("retrieve", 15), () -> get("/api/forex-data/retrieve?limit=100&afterId="
+						+ ThreadLocalRandom.current().nextLong(storedRows)), status -> status == 200),
+				new Scenario("range", rate("range", 20), () -> get("/api/forex-data/range?" + pairQuery(pick(SEEDED_PAIRS))
+						+ "&period=" + pick(RANGE_PERIODS)), status -> status == 200));
+
+		LoadGenerator generator = new LoadGenerator();
+		// Unrecorded run to get the JIT, connection pools and caches to a steady state
+		generator.run(scenarios, Duration.ofSeconds(Long.getLong("loadtest.warmup-seconds", 3)));
+		List<Result> results = generator.run(scenarios, Duration.ofSeconds(Long.getLong("loadtest.duration-seconds", 20)));
+
+		String report = LoadGenerator.format(results);
+		String reportPath = System.getProperty("loadtest.report");
+		if (reportPath != null) {
+			Files.createDirectories(Path.of(reportPath).getParent());
+			Files.writeString(Path.of(reportPath), report);
+		}
+
+		List<String> violations = new ArrayList<>();
+		double maxErrorRate = Double.parseDouble(System.getProperty("loadtest.slo.error-rate", "0.01"));
+		for (Result result : results) {
+			// A scrape is timed through its job, Yahoo round-trip included. A run holds too few scrapes for a
+			// stable p99, which would be the slowest one or two, so scrape is gated on p90 and its p99 only reported.
+			boolean scrape = result.name().equals("scrape");
+			String percentile = scrape ? "p90" : "p99";
+			double latency = scrape ? result.p90() : result.p99();
+			double slo = Double.parseDouble(System.getProperty("loadtest.slo." + result.name() + "." + percentile + "-millis", "250"));
+			if (latency > slo) {
+				violations.add(String.format("%s %s %.2f ms is over %.0f ms", result.name(), percentile, latency, slo));
+			}
+			if (result.errorRate() > maxErrorRate) {
+				violations.add(String.format("%s error rate %.2f%% is over %.2f%%", result.name(), result.errorRate() * 100, maxErrorRate * 100));
+			}
+			if (result.throughput() < result.targetRate() * 0.9) {
+				violations.add(String.format("%s served %.1f/s of the %.1f/s offered", result.name(), result.throughput(), result.targetRate()));
+			}
+		}
+		assertTrue(violations.isEmpty(), () -> "SLOs missed:\n" + String.join("\n", violations) + "\n\n" + report);
+	}
+
+	private static double rate(String scenario, double defaultRate) {
+		return Double.parseDouble(System.getProperty("loadtest.rate." + scenario, Double.toString(defaultRate)));
+	}
+
+	private static String pick(List<String> values) {
+		return values.get(ThreadLocalRandom.current().nextInt(values.size()));
+	}
+
+	private static String pairQuery(String pair) {
+		return "from=" + pair.substring(0, 3) + "&to=" + pair.substring(3);
+	}
+
+	private HttpRequest post(String path) {
+		return HttpRequest.newBuilder(uri(path)).timeout(Duration.ofSeconds(10)).POST(HttpRequest.BodyPublishers.noBody()).build();
+	}
+
+	private HttpRequest get(String path) {
+		return get(uri(path));
+	}
+
+	private static HttpRequest get(URI uri) {
+		return HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(10)).GET().build();
+	}
+
+	private URI uri(String path) {
+		return URI.create("http://127.0.0.1:" + port + path);
+	}
+
+	private static YahooStubServer startStub() {
+		try {
+			return new YahooStubServer();
+		} catch (IOException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+}
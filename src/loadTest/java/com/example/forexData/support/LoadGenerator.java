@@ -0,0 +1,180 @@
+package com.example.forexData.support;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Function;
+import java.util.function.IntPredicate;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Open-model load generator: each scenario's requests are sent at a fixed rate whether or not earlier ones have
+ * returned. Latency is measured from when a request was due rather than when it was sent, so a stalled server
+ * shows up in the percentiles instead of quietly slowing the generator down.
+ */
+public class LoadGenerator {
+
+	private final HttpClient client = HttpClient.newBuilder()
+			.version(HttpClient.Version.HTTP_1_1)
+			.connectTimeout(Duration.ofSeconds(5))
+			.build();
+
+	/**
+	 * @param request builds the next request, called once per request so scenarios can vary parameters
+	 * @param success whether a status code counts as served
+	 * @param poll follows a request that only starts work to its end, or {@code null} when the response is the result
+	 */
+	public record Scenario(String name, double requestsPerSecond, Supplier<HttpRequest> request, IntPredicate success,
+						   Poll poll) {
+
+		public Scenario(String name, double requestsPerSecond, Supplier<HttpRequest> request, IntPredicate success) {
+			this(name, requestsPerSecond, request, success, null);
+		}
+	}
+
+	/**
+	 * Polls the work an accepted request started, so the scenario's latency runs until the work has ended and work
+	 * that fails or never ends counts as an error.
+	 *
+	 * @param statusRequest builds the status request from the accepted response
+	 * @param finished whether a status body shows the work has ended
+	 * @param succeeded whether a finished status body shows the work succeeded
+	 */
+	public record Poll(Function<HttpResponse<?>, HttpRequest> statusRequest, Predicate<String> finished,
+					   Predicate<String> succeeded, Duration interval, Duration timeout) {
+	}
+
+	/**
+	 * Latencies in milliseconds; throughput in requests per second over the run including its drain.
+	 */
+	public record Result(String name, double targetRate, int requests, int errors, double throughput,
+						 double p50, double p90, double p99, double max) {
+
+		public double errorRate() {
+			return requests == 0 ? 0 : (double) errors / requests;
+		}
+	}
+
+	/**
+	 * Runs every scenario side by side for {@code duration}, then waits for outstanding requests.
+	 */
+	public List<Result> run(List<Scenario> scenarios, Duration duration) throws InterruptedException {
+		List<Recorder> recorders = scenarios.stream().map(Recorder::new).toList();
+		long start = System.nanoTime();
+		long end = start + duration.toNanos();
+		try (ExecutorService requests = Executors.newVirtualThreadPerTaskExecutor()) {
+			List<Thread> drivers = new ArrayList<>(recorders.size());
+			for (Recorder recorder : recorders) {
+				drivers.add(Thread.ofPlatform().name("load-" + recorder.scenario.name())
+						.start(() -> drive(recorder, start, end, requests)));
+			}
+			for (Thread driver : drivers) {
+				driver.join();
+			}
+		}
+		long elapsedNanos = System.nanoTime() - start;
+		return recorders.stream().map(recorder -> recorder.result(elapsedNanos)).toList();
+	}
+
+	public static String format(List<Result> results) {
+		StringBuilder text = new StringBuilder(String.format(Locale.ENGLISH, "%-10s %8s %8s %7s %9s %8s %8s %8s %8s%n",
+				"scenario", "target/s", "actual/s", "errors", "requests", "p50 ms", "p90 ms", "p99 ms", "max ms"));
+		for (Result result : results) {
+			text.append(String.format(Locale.ENGLISH, "%-10s %8.1f %8.1f %6.2f%% %9d %8.2f %8.2f %8.2f %8.2f%n",
+					result.name(), result.targetRate(), result.throughput(), result.errorRate() * 100, result.requests(),
+					result.p50(), result.p90(), result.p99(), result.max()));
+		}
+		return text.toString();
+	}
+
+	private void drive(Recorder recorder, long start, long end, ExecutorService requests) {
+		long intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / recorder.scenario.requestsPerSecond());
+		for (long due = start; due - end < 0; due += intervalNanos) {
+			long waitNanos = due - System.nanoTime();
+			if (waitNanos > 0) {
+				LockSupport.parkNanos(waitNanos);
+			}
+			long scheduled = due;
+			requests.execute(() -> recorder.send(scheduled));
+		}
+	}
+
+	private static double percentile(long[] sorted, double quantile) {
+		if (sorted.length == 0) {
+			return 0;
+		}
+		return sorted[(int) Math.ceil(sorted.length * quantile) - 1] / 1e6;
+	}
+
+	private final class Recorder {
+
+		private final Scenario scenario;
+		private final List<Long> latencies = new ArrayList<>();
+		private final AtomicInteger errors = new AtomicInteger();
+
+		private Recorder(Scenario scenario) {
+			this.scenario = scenario;
+		}
+
+		private void send(long scheduled) {
+			boolean served;
+			try {
+				HttpResponse<Void> response = client.send(scenario.request().get(), HttpResponse.BodyHandlers.discarding());
+				served = scenario.success().test(response.statusCode());
+				if (served && scenario.poll() != null) {
+					served = awaitCompletion(scenario.poll(), response);
+				}
+			} catch (IOException e) {
+				served = false;
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return;
+			}
+			long latencyNanos = System.nanoTime() - scheduled;
+			if (!served) {
+				errors.incrementAndGet();
+			}
+			synchronized (latencies) {
+				latencies.add(latencyNanos);
+			}
+		}
+
+		private boolean awaitCompletion(Poll poll, HttpResponse<?> accepted) throws IOException, InterruptedException {
+			HttpRequest status = poll.statusRequest().apply(accepted);
+			long deadline = System.nanoTime() + poll.timeout().toNanos();
+			while (System.nanoTime() - deadline < 0) {
+				HttpResponse<String> response = client.send(status, HttpResponse.BodyHandlers.ofString());
+				if (response.statusCode() != 200) {
+					return false;
+				}
+				if (poll.finished().test(response.body())) {
+					return poll.succeeded().test(response.body());
+				}
+				Thread.sleep(poll.interval());
+			}
+			return false;
+		}
+
+		private Result result(long elapsedNanos) {
+			long[] sorted;
+			synchronized (latencies) {
+				sorted = latencies.stream().mapToLong(Long::longValue).sorted().toArray();
+			}
+			double seconds = elapsedNanos / 1e9;
+			return new Result(scenario.name(), scenario.requestsPerSecond(), sorted.length, errors.get(),
+					sorted.length / seconds, percentile(sorted, 0.50), percentile(sorted, 0.90), percentile(sorted, 0.99),
+					percentile(sorted, 1.0));
+		}
+	}
+}
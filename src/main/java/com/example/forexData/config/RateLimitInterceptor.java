@@ -0,0 +1,182 @@
+package com.example.forexData.config;
+
+import com.example.forexData.util.CurrencyPairs;
+import com.example.forexData.util.KeyedRateLimiter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rate limits the scrape endpoints, which start outbound fetches, per client address and per currency pair.
+ * <p>
+ * A request over either limit is answered with 429 and a {@code Retry-After} header before it reaches the
+ * controller. {@code /bulk} and {@code /backfill} name their pairs in the body, which is not parsed here, so the
+ * controller charges them through {@link #tryAcquirePairs}. Behind a reverse proxy, set {@code server.forward-headers-strategy} so the client address is taken
+ * from {@code X-Forwarded-For} rather than being the proxy's.
+ */
+@Component
+public class RateLimitInterceptor implements HandlerInterceptor {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${forex.ratelimit.enabled:true}")
+    private boolean enabled;
+
+    @Value("${forex.ratelimit.client.requests-per-second:1}")
+    private double clientRequestsPerSecond;
+
+    @Value("${forex.ratelimit.client.burst:10}")
+    private int clientBurst;
+
+    @Value("${forex.ratelimit.pair.requests-per-second:1}")
+    private double pairRequestsPerSecond;
+
+    @Value("${forex.ratelimit.pair.burst:5}")
+    private int pairBurst;
+
+    @Value("${forex.ratelimit.max-pairs-per-request:10}")
+    private int maxPairsPerRequest;
+
+    @Value("${forex.ratelimit.max-keys:100000}")
+    private int maxKeys;
+
+    @Value("${forex.ratelimit.evict-interval-millis:60000}")
+    private long evictIntervalMillis;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RateLimitInterceptor.class);
+
+    private final ScheduledExecutorService evictor = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().daemon().name("ratelimit-evictor").factory());
+
+    private KeyedRateLimiter clients;
+
+    private KeyedRateLimiter pairs;
+
+    @PostConstruct
+    public void start() {
+        clients = new KeyedRateLimiter(clientRequestsPerSecond, clientBurst, maxKeys);
+        pairs = new KeyedRateLimiter(pairRequestsPerSecond, pairBurst, maxKeys);
+        evictor.scheduleWithFixedDelay(this::evictIdle, evictIntervalMillis, evictIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws IOException {
+        if (!enabled || !HttpMethod.POST.matches(request.getMethod())) {
+            return true;
+        }
+        long waitNanos = clients.tryAcquire(request.getRemoteAddr());
+        String scope = "client";
+        String from = request.getParameter("from");
+        String to = request.getParameter("to");
+        if (waitNanos == 0 && from != null && to != null) {
+            waitNanos = pairs.tryAcquire(CurrencyPairs.symbol(from.toUpperCase(), to.toUpperCase()));
+            scope = "pair";
+            if (waitNanos > 0) {
+                // The request is not served, so it should not count against the client either
+                clients.release(request.getRemoteAddr());
+            }
+        }
+        if (waitNanos == 0) {
+            return true;
+        }
+
+        rejected(request, scope);
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, retryAfterSeconds(waitNanos));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getWriter().write("{\"msg\":\"Too many requests\"}");
+        return false;
+    }
+
+    /**
+     * Charges a request that names its pairs in the body. {@link #preHandle} took one client token for the request;
+     * each further pair costs another, and each pair takes a token from its own bucket. Either all of them are
+     * taken or none is, including the one from {@code preHandle}.
+     *
+     * @return zero if the request may proceed, otherwise nanoseconds until it may be retried
+     */
+    public long tryAcquirePairs(HttpServletRequest request, List<String> currencyPairs) {
+        if (!enabled) {
+            return 0;
+        }
+        String client = request.getRemoteAddr();
+        int clientTokens = 1;
+        long waitNanos = 0;
+        while (clientTokens < currencyPairs.size() && (waitNanos = clients.tryAcquire(client)) == 0) {
+            clientTokens++;
+        }
+        String scope = "client";
+        int pairTokens = 0;
+        if (waitNanos == 0) {
+            scope = "pair";
+            while (pairTokens < currencyPairs.size() && (waitNanos = pairs.tryAcquire(currencyPairs.get(pairTokens))) == 0) {
+                pairTokens++;
+            }
+        }
+        if (waitNanos == 0) {
+            return 0;
+        }
+
+        for (int i = 0; i < pairTokens; i++) {
+            pairs.release(currencyPairs.get(i));
+        }
+        for (int i = 0; i < clientTokens; i++) {
+            clients.release(client);
+        }
+        rejected(request, scope);
+        return waitNanos;
+    }
+
+    /**
+     * Most pairs one {@code /bulk} or {@code /backfill} request may name.
+     */
+    public int getMaxPairsPerRequest() {
+        return maxPairsPerRequest;
+    }
+
+    public static String retryAfterSeconds(long waitNanos) {
+        return Long.toString(TimeUnit.NANOSECONDS.toSeconds(waitNanos - 1) + 1);
+    }
+
+    private void rejected(HttpServletRequest request, String scope) {
+        Counter.builder("forex.ratelimit.rejected")
+                .description("Scrape requests rejected by the rate limiter")
+                .tag("scope", scope)
+                .register(meterRegistry)
+                .increment();
+        LOGGER.warn("Rate limited {} {} from {} ({} limit)", request.getMethod(), request.getRequestURI(),
+                request.getRemoteAddr(), scope);
+    }
+
+    private void evictIdle() {
+        int evicted = clients.evictIdle() + pairs.evictIdle();
+        if (evicted > 0) {
+            LOGGER.debug("Evicted {} idle rate limiter entries", evicted);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        evictor.shutdownNow();
+    }
+}
@@ -0,0 +1,281 @@
+package com.example.forexData.controller;
+
+import com.example.forexData.model.Conversion;
+import com.example.forexData.model.ConversionRequest;
+import com.example.forexData.model.CrossRateSeries;
+import com.example.forexData.model.CurrencyPairRequest;
+import com.example.forexData.service.ConversionService;
+import com.example.forexData.service.CrossRateService;
+import com.example.forexData.service.DataVersionService;
+import com.example.forexData.service.ForexAnalyticsService;
+import com.example.forexData.service.ForexScraperService;
+import com.example.forexData.util.CurrencyPairs;
+import com.example.forexData.util.Period;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+@CrossOrigin(origins = "https://forex-historical-data-rest-api-1.onrender.com")
+@RestController
+@RequestMapping("/api/forex-data")
+@Tag(name = "Forex Data Analytics")
+public class ForexAnalyticsController {
+
+    @Autowired
+    private ForexAnalyticsService forexAnalyticsService;
+
+    @Autowired
+    private CrossRateService crossRateService;
+
+    @Autowired
+    private ForexScraperService forexScraperService;
+
+    @Autowired
+    private DataVersionService dataVersionService;
+
+    @Autowired
+    private ConversionService conversionService;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ForexAnalyticsController.class);
+
+    private static final int MAX_WINDOW = 1000;
+
+    private static final int MAX_BATCH_SIZE = 10000;
+
+    @Operation(
+            summary = "Resample stored daily bars into weekly, monthly or quarterly OHLC bars",
+            description = "Aggregates daily bars per bucket: open of the first day, highest high, lowest low, close of the last day. " +
+                    "Buckets use the period vocabulary: 1W = weeks starting Monday, 1M = months, 3M = quarters, 6M = half years, 1Y = years. 9M is rejected, since nine months do not divide the year. " +
+                    "Several pairs are computed in parallel."
+    )
+    @GetMapping("/resample")
+    public ResponseEntity<Object> resample(
+            @RequestParam @Parameter(description = "Six letter currency pairs", example = "USDINR,EURUSD") List<String> pairs,
+            @RequestParam @Parameter(description = "Bucket size", schema = @Schema(allowableValues = {"1W", "1M", "3M", "6M", "1Y"}), example = "1M") String interval,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) @Parameter(description = "First date of the range (inclusive)", example = "2015-01-01") LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) @Parameter(description = "Last date of the range (inclusive), defaults to today") LocalDate endDate,
+            @RequestParam(required = false) @Parameter(description = "The timeframe ending today, used when startDate is omitted", schema = @Schema(allowableValues = {"1W", "1M", "3M", "6M", "9M", "1Y"})) String period,
+            WebRequest webRequest) {
+        try {
+            Period bucket = ForexAnalyticsService.bucket(interval);
+            List<String> currencyPairs = toCurrencyPairs(pairs);
+            LocalDate start = resolveStartDate(startDate, period);
+            LocalDate end = endDate != null ? endDate : LocalDate.now();
+
+            DataVersionService.DataTag tag = dataVersionService.tag(currencyPairs, start, end);
+            if (webRequest.checkNotModified(tag.etag(), tag.lastModifiedMillis())) {
+                return null;
+            }
+            return ResponseEntity.ok().cacheControl(dataVersionService.cacheControl(currencyPairs, start, end)).body(forexAnalyticsService.forEachPair(currencyPairs,
+                    currencyPair -> forexAnalyticsService.resample(currencyPair, start, end, bucket)));
+        } catch (IllegalArgumentException e) {
+            String errorMessage = "Invalid input parameters";
+            LOGGER.error(errorMessage, e);
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(Map.of("msg", errorMessage));
+        } catch (Exception e) {
+            String errorMessage = "Failed to retrieve data";
+            LOGGER.error(errorMessage, e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(Map.of("msg", errorMessage));
+        }
+    }
+
+    @Operation(
+            summary = "Rolling statistics of the close over a window of trading days",
+            description = "Returns SMA, EMA, standard deviation, minimum and maximum of the close over the last `window` bars for each date in the range. " +
+                    "Bars before the range are used to fill the first window. Several pairs are computed in parallel."
+    )
+    @GetMapping("/rolling")
+    public ResponseEntity<Object> rolling(
+            @RequestParam @Parameter(description = "Six letter currency pairs", example = "USDINR,EURUSD") List<String> pairs,
+            @RequestParam(defaultValue = "20") @Parameter(description = "Window length in trading days", example = "20") int window,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) @Parameter(description = "First date of the range (inclusive)", example = "2024-01-01") LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) @Parameter(description = "Last date of the range (inclusive), defaults to today") LocalDate endDate,
+            @RequestParam(required = false) @Parameter(description = "The timeframe ending today, used when startDate is omitted", schema = @Schema(allowableValues = {"1W", "1M", "3M", "6M", "9M", "1Y"})) String period,
+            WebRequest webRequest) {
+        try {
+            if (window < 1 || window > MAX_WINDOW) {
+                throw new IllegalArgumentException("Invalid window: " + window);
+            }
+            List<String> currencyPairs = toCurrencyPairs(pairs);
+            LocalDate start = resolveStartDate(startDate, period);
+            LocalDate end = endDate != null ? endDate : LocalDate.now();
+
+            DataVersionService.DataTag tag = dataVersionService.tag(currencyPairs, start, end);
+            if (webRequest.checkNotModified(tag.etag(), tag.lastModifiedMillis())) {
+                return null;
+            }
+            return ResponseEntity.ok().cacheControl(dataVersionService.cacheControl(currencyPairs, start, end)).body(forexAnalyticsService.forEachPair(currencyPairs,
+                    currencyPair -> forexAnalyticsService.rolling(currencyPair, start, end, window)));
+        } catch (IllegalArgumentException e) {
+            String errorMessage = "Invalid input parameters";
+            LOGGER.error(errorMessage, e);
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(Map.of("msg", errorMessage));
+        } catch (Exception e) {
+            String errorMessage = "Failed to retrieve data";
+            LOGGER.error(errorMessage, e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(Map.of("msg", errorMessage));
+        }
+    }
+
+    @Operation(
+            summary = "Derive a currency pair from series stored against the base currency",
+            description = "Returns the stored series when the pair (or its inverse) is stored; otherwise joins the legs through the base currency on common dates, " +
+                    "e.g. GBPINR = GBPUSD x USDINR. Derived high and low are bounds, since the legs' extremes need not occur at the same moment."
+    )
+    @GetMapping("/cross")
+    public ResponseEntity<Object> cross(
+            @RequestParam @Parameter(description = "The currency code representing the source currency.", example = "GBP") String from,
+            @RequestParam @Parameter(description = "The currency code representing the target currency.", example = "INR") String to,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) @Parameter(description = "First date of the range (inclusive)", example = "2024-08-01") LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) @Parameter(description = "Last date of the range (inclusive), defaults to today") LocalDate endDate,
+            @RequestParam(required = false) @Parameter(description = "The timeframe ending today, used when startDate is omitted", schema = @Schema(allowableValues = {"1W", "1M", "3M", "6M", "9M", "1Y"})) String period,
+            WebRequest webRequest) {
+        try {
+            if (!forexScraperService.isValidCurrencyCode(from) || !forexScraperService.isValidCurrencyCode(to)) {
+                throw new IllegalArgumentException("Invalid currency pair: " + from + to);
+            }
+            LocalDate start = resolveStartDate(startDate, period);
+            LocalDate end = endDate != null ? endDate : LocalDate.now();
+
+            DataVersionService.DataTag tag = dataVersionService.tag(crossCandidates(from, to), start, end);
+            if (webRequest.checkNotModified(tag.etag(), tag.lastModifiedMillis())) {
+                return null;
+            }
+            CrossRateSeries series = crossRateService.getCrossRates(from, to, start, end);
+            return ResponseEntity.ok().cacheControl(dataVersionService.cacheControl(storedSeries(series.legs()), start, end)).body(series);
+        } catch (IllegalArgumentException e) {
+            String errorMessage = "Invalid input parameters";
+            LOGGER.error(errorMessage, e);
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(Map.of("msg", errorMessage));
+        } catch (Exception e) {
+            String errorMessage = "Failed to retrieve data";
+            LOGGER.error(errorMessage, e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(Map.of("msg", errorMessage));
+        }
+    }
+
+    @Operation(
+            summary = "Convert an amount at the close of a given day",
+            description = "Answered from the in-memory series without a database query. Uses the pair, its inverse, or the legs through the base currency like /cross. " +
+                    "A date without a bar (weekend, holiday) uses the last trading day before it, which is returned as rateDate. " +
+                    "Answers 404 when no stored rate covers the date."
+    )
+    @GetMapping("/convert")
+    public ResponseEntity<Object> convert(
+            @RequestParam @Parameter(description = "The currency code representing the source currency.", example = "USD") String from,
+            @RequestParam @Parameter(description = "The currency code representing the target currency.", example = "INR") String to,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) @Parameter(description = "Date of the rate, defaults to today", example = "2024-08-24") LocalDate date,
+            @RequestParam(defaultValue = "1") @Parameter(description = "Amount in the source currency", example = "100") BigDecimal amount,
+            WebRequest webRequest) {
+        try {
+            if (!forexScraperService.isValidCurrencyCode(from) || !forexScraperService.isValidCurrencyCode(to)) {
+                throw new IllegalArgumentException("Invalid currency pair: " + from + to);
+            }
+            LocalDate day = date != null ? date : LocalDate.now();
+
+            DataVersionService.DataTag tag = dataVersionService.tag(crossCandidates(from, to), day, day);
+            if (webRequest.checkNotModified(tag.etag(), tag.lastModifiedMillis())) {
+                return null;
+            }
+            Conversion conversion = conversionService.convert(from, to, day, amount);
+            if (conversion.rate() == null) {
+                return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of("msg", "No rate available"));
+            }
+            return ResponseEntity.ok()
+                    .cacheControl(dataVersionService.cacheControl(storedSeries(conversion.legs()), conversion.rateDate(), day))
+                    .body(conversion);
+        } catch (IllegalArgumentException e) {
+            String errorMessage = "Invalid input parameters";
+            LOGGER.error(errorMessage, e);
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(Map.of("msg", errorMessage));
+        } catch (Exception e) {
+            String errorMessage = "Failed to retrieve data";
+            LOGGER.error(errorMessage, e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(Map.of("msg", errorMessage));
+        }
+    }
+
+    @Operation(
+            summary = "Convert many amounts in one call",
+            description = "Converts each request like GET /convert and returns the results in request order. " +
+                    "Each distinct pair is resolved once. Conversions without a stored rate have null rateDate, rate and convertedAmount."
+    )
+    @PostMapping("/convert/batch")
+    public ResponseEntity<Object> convertBatch(@RequestBody List<ConversionRequest> requests) {
+        try {
+            if (requests == null || requests.isEmpty() || requests.size() > MAX_BATCH_SIZE) {
+                throw new IllegalArgumentException("Invalid batch size");
+            }
+            for (ConversionRequest request : requests) {
+                if (!forexScraperService.isValidCurrencyCode(request.from()) || !forexScraperService.isValidCurrencyCode(request.to())
+                        || request.date() == null || request.amount() == null) {
+                    throw new IllegalArgumentException("Invalid conversion: " + request);
+                }
+            }
+            return ResponseEntity.ok(conversionService.convertAll(requests));
+        } catch (IllegalArgumentException e) {
+            String errorMessage = "Invalid input parameters";
+            LOGGER.error(errorMessage, e);
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(Map.of("msg", errorMessage));
+        } catch (Exception e) {
+            String errorMessage = "Failed to retrieve data";
+            LOGGER.error(errorMessage, e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(Map.of("msg", errorMessage));
+        }
+    }
+
+    /**
+     * Every pair a cross could be derived from, so that a newly stored direct pair also changes the tag.
+     */
+    private List<String> crossCandidates(String from, String to) {
+        String base = crossRateService.getBaseCurrency();
+        return List.of(
+                CurrencyPairs.symbol(from, to), CurrencyPairs.symbol(to, from),
+                CurrencyPairs.symbol(from, base), CurrencyPairs.symbol(base, from),
+                CurrencyPairs.symbol(base, to), CurrencyPairs.symbol(to, base));
+    }
+
+    /**
+     * The stored pairs behind a result's legs, without the marker of inverted legs.
+     */
+    private static List<String> storedSeries(List<String> legs) {
+        return legs.stream().map(leg -> leg.startsWith("1/") ? leg.substring(2) : leg).toList();
+    }
+
+    private List<String> toCurrencyPairs(List<String> pairs) {
+        List<String> currencyPairs = new ArrayList<>(pairs.size());
+        for (String pair : pairs) {
+            CurrencyPairRequest request = CurrencyPairRequest.parse(pair);
+            if (!forexScraperService.isValidCurrencyCode(request.from()) || !forexScraperService.isValidCurrencyCode(request.to())) {
+                throw new IllegalArgumentException("Invalid currency pair: " + pair);
+            }
+            currencyPairs.add(CurrencyPairs.symbol(request.from(), request.to()));
+        }
+        return currencyPairs;
+    }
+
+    private LocalDate resolveStartDate(LocalDate startDate, String period) {
+        if (startDate != null) {
+            return startDate;
+        }
+        if (period != null) {
+            return forexScraperService.calculateStartDate(Period.fromValue(period));
+        }
+        return LocalDate.EPOCH;
+    }
+}
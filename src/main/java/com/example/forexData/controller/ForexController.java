@@ -1,15 +1,48 @@
 package com.example.forexData.controller;
 
+import com.example.forexData.config.RateLimitInterceptor;
+import com.example.forexData.export.ExportCompression;
+import com.example.forexData.export.ExportFormat;
+import com.example.forexData.model.BackfillCheckpoint;
+import com.example.forexData.model.BackfillRequest;
+import com.example.forexData.model.BulkScrapeRequest;
+import com.example.forexData.model.CacheStats;
+import com.example.forexData.model.CurrencyPairRequest;
 import com.example.forexData.model.ForexData;
+import com.example.forexData.model.ForexDataPage;
+import com.example.forexData.model.OhlcBar;
+import com.example.forexData.model.ProviderStats;
+import com.example.forexData.model.ScrapeJobStatus;
+import com.example.forexData.model.ScrapeJobStatus.Priority;
+import com.example.forexData.provider.HedgedRateFetcher;
+import com.example.forexData.repository.BackfillCheckpointRepository;
 import com.example.forexData.repository.ForexDataRepository;
+import com.example.forexData.service.BackfillService;
+import com.example.forexData.service.ChangeFeedService;
+import com.example.forexData.service.DataVersionService;
+import com.example.forexData.service.ForexDataCacheService;
+import com.example.forexData.service.ForexDataExportService;
+import com.example.forexData.service.ForexScrapeEngine;
 import com.example.forexData.service.ForexScraperService;
+import com.example.forexData.service.ScrapeJobService;
+import com.example.forexData.store.ForexTimeSeriesStore;
+import com.example.forexData.util.CurrencyPairs;
 import com.example.forexData.util.Period;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -17,9 +50,17 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.RejectedExecutionException;
 
 @CrossOrigin(origins = "https://forex-historical-data-rest-api-1.onrender.com")
 @RestController
@@ -30,35 +71,71 @@ public class ForexController {
     @Autowired
     private ForexScraperService forexScraperService;
 
+    @Autowired
+    private ForexDataCacheService forexDataCacheService;
+
+    @Autowired
+    private ForexScrapeEngine forexScrapeEngine;
+
+    @Autowired
+    private HedgedRateFetcher hedgedRateFetcher;
+
+    @Autowired
+    private ChangeFeedService changeFeedService;
+
+    @Autowired
+    private ScrapeJobService scrapeJobService;
+
+    @Autowired
+    private ForexDataExportService forexDataExportService;
+
+    @Autowired
+    private BackfillService backfillService;
+
+    @Autowired
+    private DataVersionService dataVersionService;
+
+    @Autowired
+    private BackfillCheckpointRepository backfillCheckpointRepository;
+
     @Autowired
     private ForexDataRepository forexDataRepository;
 
+    @Autowired
+    private ForexTimeSeriesStore forexTimeSeriesStore;
+
+    @Autowired
+    private RateLimitInterceptor rateLimitInterceptor;
+
     private static final Logger LOGGER = LoggerFactory.getLogger(ForexController.class);
 
+    private static final int MAX_PAGE_SIZE = 5000;
+
     @Operation(
             summary = "Scrape historical exchange data and store it in the database",
-            description = "This endpoint scrapes historical exchange data from Yahoo Finance and stores it in an in-memory H2 database."
+            description = "This endpoint queues a job that scrapes historical exchange data from Yahoo Finance and stores it in a file-backed H2 database, " +
+                    "and returns immediately with the job. Poll GET /api/forex-data/jobs/{id} for its state and the scraped rows. " +
+                    "Repeat requests for the same pair and period are answered from a read-through cache, only dates missing from the database are scraped, " +
+                    "and a request identical to a queued or running job returns that job."
     )
     @ApiResponses(value = {
             @ApiResponse(
-                    responseCode = "200",
-                    description = "Data scraped and stored successfully",
+                    responseCode = "202",
+                    description = "Scrape job accepted",
                     content = @Content(
                             mediaType = "application/json",
                             schema = @Schema(
-                                    example = "[\n" +
-                                            "  {\n" +
-                                            "    \"id\": 1,\n" +
-                                            "    \"currencyPair\": \"INREUR=X\",\n" +
-                                            "    \"date\": \"2024-08-26\",\n" +
-                                            "    \"open\": 0.0107,\n" +
-                                            "    \"high\": 0.0107,\n" +
-                                            "    \"low\": 0.0107,\n" +
-                                            "    \"close\": 0.0107,\n" +
-                                            "    \"adjClose\": 0.0107,\n" +
-                                            "    \"volume\": 0\n" +
-                                            "  }\n" +
-                                            "]"
+                                    example = "{\n" +
+                                            "  \"id\": \"3f1c2a7e-5b0d-4a8e-9c61-0f2d9b7e4a10\",\n" +
+                                            "  \"description\": \"scrape INREUR=X 1W\",\n" +
+                                            "  \"priority\": \"NORMAL\",\n" +
+                                            "  \"state\": \"QUEUED\",\n" +
+                                            "  \"submittedAt\": \"2024-08-26T08:50:00Z\",\n" +
+                                            "  \"startedAt\": null,\n" +
+                                            "  \"finishedAt\": null,\n" +
+                                            "  \"result\": null,\n" +
+                                            "  \"error\": null\n" +
+                                            "}"
                             )
                     )
             ),
@@ -73,12 +150,12 @@ public class ForexController {
                     )
             ),
             @ApiResponse(
-                    responseCode = "500",
-                    description = "Internal server error",
+                    responseCode = "503",
+                    description = "Job queue is full",
                     content = @Content(
                             mediaType = "application/json",
                             schema = @Schema(
-                                    example = "{\n\"msg\": \"Failed to scrape data\"\n}"
+                                    example = "{\n\"msg\": \"Too many queued scrape jobs\"\n}"
                             )
                     )
             )
@@ -87,7 +164,8 @@ public class ForexController {
     public ResponseEntity<Object> scrapeAndSaveExchangeRates(
             @RequestParam @Parameter(description = "The currency code representing the source currency to be converted.", example = "GBP") String from,
             @RequestParam @Parameter(description = "The currency code representing the target currency for conversion.", example = "INR") String to,
-            @RequestParam @Parameter(description = "The timeframe for the historical data", schema = @Schema(allowableValues = {"1W", "1M", "3M", "6M", "9M", "1Y"}), example = "1W") String period) {
+            @RequestParam @Parameter(description = "The timeframe for the historical data", schema = @Schema(allowableValues = {"1W", "1M", "3M", "6M", "9M", "1Y"}), example = "1W") String period,
+            @RequestParam(defaultValue = "NORMAL") @Parameter(description = "Scheduling priority of the job") Priority priority) {
 
         LOGGER.info("Received request to scrape and save exchange rates from {} to {} for period {}", from, to, period);
 
@@ -102,21 +180,75 @@ public class ForexController {
                 return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(Map.of("msg", errorMessage));
             }
 
-            List<ForexData> forexData = forexScraperService.scrapeAndSaveExchangeRates(from, to, periodEnum);
+            String description = "scrape " + CurrencyPairs.symbol(from, to) + " " + periodEnum.getValue();
+            ScrapeJobStatus job = scrapeJobService.submit(description, description, priority, () -> {
+                List<ForexData> forexData = forexDataCacheService.getExchangeRates(from, to, periodEnum);
+                if (forexData.isEmpty()) {
+                    throw new IllegalStateException("Failed to scrape data: No data found for the provided parameters.");
+                }
+                LOGGER.info("Successfully scraped and saved exchange rates for {} to {} for period {}", from, to, period);
+                return forexData;
+            });
+            return accepted(job);
+
+        } catch (IllegalArgumentException e) {
+            String errorMessage = "Invalid input parameters";
+            LOGGER.error(errorMessage, e);
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(Map.of("msg", errorMessage));
+        } catch (RejectedExecutionException e) {
+            LOGGER.warn("Rejected scrape of {} to {} for period {}: {}", from, to, period, e.getMessage());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(Map.of("msg", "Too many queued scrape jobs"));
+        } catch (Exception e) {
+            String errorMessage = "Failed to scrape data";
+            LOGGER.error(errorMessage, e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(Map.of("msg", errorMessage));
+        }
+    }
+
+    @Operation(
+            summary = "Scrape many currency pairs in one call",
+            description = "Queues a job that scrapes every requested pair concurrently on virtual threads, bounded by the per-host concurrency limit. " +
+                    "The finished job's result is a per-pair report. When no pairs are given the configured pair list is scraped."
+    )
+    @PostMapping("/bulk")
+    public ResponseEntity<Object> bulkScrapeAndSaveExchangeRates(
+            @RequestBody BulkScrapeRequest request,
+            @RequestParam(defaultValue = "LOW") @Parameter(description = "Scheduling priority of the job") Priority priority,
+            HttpServletRequest httpRequest) {
+        try {
+            Period periodEnum = Period.fromValue(request.period());
+            if (tooManyPairs(request.pairs())) {
+                return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(Map.of("msg", "Too many pairs"));
+            }
+            List<CurrencyPairRequest> pairs = request.pairs() == null || request.pairs().isEmpty()
+                    ? forexScrapeEngine.getConfiguredPairs()
+                    : request.pairs();
+
+            for (CurrencyPairRequest pair : pairs) {
+                if (!forexScraperService.isValidCurrencyCode(pair.from()) || !forexScraperService.isValidCurrencyCode(pair.to())) {
+                    LOGGER.error("Invalid input parameters: from={}, to={}", pair.from(), pair.to());
+                    return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(Map.of("msg", "Invalid input parameters"));
+                }
+            }
 
-            if (forexData.isEmpty()) {
-                String errorMessage = "Failed to scrape data";
-                LOGGER.error("Failed to scrape data: No data found for the provided parameters.");
-                return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(Map.of("msg", errorMessage));
+            ResponseEntity<Object> limited = chargePairs(httpRequest, pairs);
+            if (limited != null) {
+                return limited;
             }
 
-            LOGGER.info("Successfully scraped and saved exchange rates for {} to {} for period {}", from, to, period);
-            return ResponseEntity.ok(forexData);
+            LOGGER.info("Received bulk scrape request for {} pairs for period {}", pairs.size(), request.period());
+            String key = "bulk " + pairs + " " + periodEnum.getValue() + (request.incremental() ? " incremental" : "");
+            ScrapeJobStatus job = scrapeJobService.submit(key, "bulk scrape of " + pairs.size() + " pairs " + periodEnum.getValue(),
+                    priority, () -> forexScrapeEngine.scrapeAll(pairs, periodEnum, request.incremental()));
+            return accepted(job);
 
         } catch (IllegalArgumentException e) {
             String errorMessage = "Invalid input parameters";
             LOGGER.error(errorMessage, e);
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(Map.of("msg", errorMessage));
+        } catch (RejectedExecutionException e) {
+            LOGGER.warn("Rejected bulk scrape: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(Map.of("msg", "Too many queued scrape jobs"));
         } catch (Exception e) {
             String errorMessage = "Failed to scrape data";
             LOGGER.error(errorMessage, e);
@@ -125,17 +257,380 @@ public class ForexController {
     }
 
     @Operation(
-            summary = "This API is only to access data from the in-memory database",
-            description = "This endpoint retrieves data from the database."
+            summary = "Load a long history in chunks",
+            description = "Queues a low priority job that splits the range into chunks, fetches them oldest first through a rate limiter with retries, " +
+                    "and stores each chunk before moving the pair's checkpoint past it. Rerunning with the same start date and the same or a later end resumes each pair from its checkpoint. " +
+                    "The finished job's result is a per-pair report. When no pairs are given the configured pair list is backfilled."
     )
-    @GetMapping("/retrieve") // This API is only to access data from the in-memory database
-    public ResponseEntity<Object> getForexData() {
+    @PostMapping("/backfill")
+    public ResponseEntity<Object> backfill(@RequestBody BackfillRequest request, HttpServletRequest httpRequest) {
         try {
-            List<ForexData> forexData = forexDataRepository.findAll();
-            return ResponseEntity.status(HttpStatus.OK).body(forexData);
+            if (tooManyPairs(request.pairs())) {
+                return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(Map.of("msg", "Too many pairs"));
+            }
+            List<CurrencyPairRequest> pairs = request.pairs() == null || request.pairs().isEmpty()
+                    ? forexScrapeEngine.getConfiguredPairs()
+                    : request.pairs();
+            LocalDate end = request.endDate() != null ? request.endDate() : LocalDate.now();
+            if (request.startDate() == null || request.startDate().isAfter(end)) {
+                LOGGER.error("Invalid backfill range: {} to {}", request.startDate(), end);
+                return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(Map.of("msg", "Invalid input parameters"));
+            }
+            for (CurrencyPairRequest pair : pairs) {
+                if (!forexScraperService.isValidCurrencyCode(pair.from()) || !forexScraperService.isValidCurrencyCode(pair.to())) {
+                    LOGGER.error("Invalid input parameters: from={}, to={}", pair.from(), pair.to());
+                    return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(Map.of("msg", "Invalid input parameters"));
+                }
+            }
+
+            ResponseEntity<Object> limited = chargePairs(httpRequest, pairs);
+            if (limited != null) {
+                return limited;
+            }
+
+            LOGGER.info("Received backfill request for {} pairs from {} to {}", pairs.size(), request.startDate(), end);
+            return accepted(backfillService.submit(pairs, request.startDate(), end));
+
+        } catch (RejectedExecutionException e) {
+            LOGGER.warn("Rejected backfill: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(Map.of("msg", "Too many queued scrape jobs"));
+        } catch (Exception e) {
+            String errorMessage = "Failed to scrape data";
+            LOGGER.error(errorMessage, e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(Map.of("msg", errorMessage));
+        }
+    }
+
+    @Operation(
+            summary = "Backfill checkpoints",
+            description = "Returns, per pair, the range of its latest backfill and the last date stored so far."
+    )
+    @GetMapping("/backfill/checkpoints")
+    public ResponseEntity<List<BackfillCheckpoint>> getBackfillCheckpoints() {
+        return ResponseEntity.ok(backfillCheckpointRepository.findAll());
+    }
+
+    @Operation(
+            summary = "Status of a scrape job",
+            description = "Returns the job's state and, once it has succeeded, its result: the scraped rows for a single scrape or the per-pair report for a bulk scrape."
+    )
+    @GetMapping("/jobs/{id}")
+    public ResponseEntity<Object> getJob(@PathVariable @Parameter(description = "Job identifier returned by the POST") String id) {
+        ScrapeJobStatus job = scrapeJobService.getJob(id);
+        if (job == null) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of("msg", "Job not found"));
+        }
+        return ResponseEntity.ok(job);
+    }
+
+    @Operation(
+            summary = "This API is only to access data from the database",
+            description = "This endpoint retrieves data from the database, one keyset page at a time ordered by id. " +
+                    "The id to resume after is returned in the X-Next-After-Id header until the last page. " +
+                    "Responses carry an ETag that changes whenever any data is saved; send it back in If-None-Match to get 304 Not Modified."
+    )
+    @GetMapping("/retrieve") // This API is only to access data from the database
+    public ResponseEntity<Object> getForexData(
+            @RequestParam(defaultValue = "0") @Parameter(description = "Return rows with an id greater than this value", example = "0") long afterId,
+            @RequestParam(defaultValue = "1000") @Parameter(description = "Maximum number of rows to return", example = "1000") int limit,
+            WebRequest webRequest) {
+        try {
+            if (limit < 1 || limit > MAX_PAGE_SIZE) {
+                return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(Map.of("msg", "Invalid input parameters"));
+            }
+            DataVersionService.DataTag tag = dataVersionService.tagAll();
+            if (webRequest.checkNotModified(tag.etag(), tag.lastModifiedMillis())) {
+                return null;
+            }
+            List<ForexData> forexData = forexDataRepository.findByIdGreaterThanOrderByIdAsc(afterId, Limit.of(limit));
+            ResponseEntity.BodyBuilder response = ResponseEntity.status(HttpStatus.OK).cacheControl(CacheControl.noCache());
+            if (forexData.size() == limit) {
+                response.header("X-Next-After-Id", String.valueOf(forexData.get(forexData.size() - 1).getId()));
+            }
+            return response.body(forexData);
         } catch (Exception e) {
             String errorMessage =  "Failed to retrieve data";
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(Map.of("msg", errorMessage));
         }
     }
-}
\ No newline at end of file
+
+    @Operation(
+            summary = "Query stored data for a currency pair and date range",
+            description = "Returns stored rows for one currency pair between startDate and endDate, ordered by date. " +
+                    "When startDate is omitted the window is derived from period, and without either the whole history is returned. " +
+                    "Results are keyset-paginated: pass nextAfterDate and nextAfterId from the previous page to continue. " +
+                    "Responses carry an ETag and Last-Modified derived from the pair's data version and answer If-None-Match with 304; " +
+                    "ranges ending before today may be cached."
+    )
+    @GetMapping("/range")
+    public ResponseEntity<Object> getForexDataRange(
+            @RequestParam @Parameter(description = "The currency code representing the source currency.", example = "USD") String from,
+            @RequestParam @Parameter(description = "The currency code representing the target currency.", example = "INR") String to,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) @Parameter(description = "First date of the range (inclusive)", example = "2024-08-01") LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) @Parameter(description = "Last date of the range (inclusive), defaults to today", example = "2024-08-26") LocalDate endDate,
+            @RequestParam(required = false) @Parameter(description = "The timeframe ending today, used when startDate is omitted", schema = @Schema(allowableValues = {"1W", "1M", "3M", "6M", "9M", "1Y"})) String period,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) @Parameter(description = "Cursor: date of the last row of the previous page") LocalDate afterDate,
+            @RequestParam(defaultValue = "0") @Parameter(description = "Cursor: id of the last row of the previous page") long afterId,
+            @RequestParam(defaultValue = "500") @Parameter(description = "Maximum number of rows to return", example = "500") int limit,
+            WebRequest webRequest) {
+        try {
+            if (!forexScraperService.isValidCurrencyCode(from) || !forexScraperService.isValidCurrencyCode(to)
+                    || limit < 1 || limit > MAX_PAGE_SIZE) {
+                LOGGER.error("Invalid input parameters: from={}, to={}, limit={}", from, to, limit);
+                return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(Map.of("msg", "Invalid input parameters"));
+            }
+
+            LocalDate end = endDate != null ? endDate : LocalDate.now();
+            LocalDate start = resolveStartDate(startDate, period);
+            if (start.isAfter(end)) {
+                return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(Map.of("msg", "Invalid input parameters"));
+            }
+
+            String currencyPair = CurrencyPairs.symbol(from, to);
+            DataVersionService.DataTag tag = dataVersionService.tag(List.of(currencyPair), start, end);
+            if (webRequest.checkNotModified(tag.etag(), tag.lastModifiedMillis())) {
+                return null;
+            }
+
+            LocalDate cursorDate = afterDate != null ? afterDate : start.minusDays(1);
+            List<ForexData> rows = forexDataRepository.findRangePage(currencyPair, start, end,
+                    cursorDate, afterId, Limit.of(limit));
+
+            ForexData last = rows.size() == limit ? rows.get(rows.size() - 1) : null;
+            return ResponseEntity.ok().cacheControl(dataVersionService.cacheControl(List.of(currencyPair), start, end)).body(new ForexDataPage(rows,
+                    last != null ? last.getDate() : null,
+                    last != null ? last.getId() : null));
+        } catch (IllegalArgumentException e) {
+            String errorMessage = "Invalid input parameters";
+            LOGGER.error(errorMessage, e);
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(Map.of("msg", errorMessage));
+        } catch (Exception e) {
+            String errorMessage = "Failed to retrieve data";
+            LOGGER.error(errorMessage, e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(Map.of("msg", errorMessage));
+        }
+    }
+
+    @Operation(
+            summary = "Read daily bars for a currency pair from the in-memory time-series store",
+            description = "Serves the same window as /range from the columnar in-memory store by binary search, without touching the database. " +
+                    "Bars carry no database id and prices are returned with five decimal places. Supports the same conditional requests as /range."
+    )
+    @GetMapping("/series")
+    public ResponseEntity<Object> getForexSeries(
+            @RequestParam @Parameter(description = "The currency code representing the source currency.", example = "USD") String from,
+            @RequestParam @Parameter(description = "The currency code representing the target currency.", example = "INR") String to,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) @Parameter(description = "First date of the range (inclusive)", example = "2024-08-01") LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) @Parameter(description = "Last date of the range (inclusive), defaults to today", example = "2024-08-26") LocalDate endDate,
+            @RequestParam(required = false) @Parameter(description = "The timeframe ending today, used when startDate is omitted", schema = @Schema(allowableValues = {"1W", "1M", "3M", "6M", "9M", "1Y"})) String period,
+            WebRequest webRequest) {
+        try {
+            if (!forexScraperService.isValidCurrencyCode(from) || !forexScraperService.isValidCurrencyCode(to)) {
+                LOGGER.error("Invalid input parameters: from={}, to={}", from, to);
+                return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(Map.of("msg", "Invalid input parameters"));
+            }
+            LocalDate end = endDate != null ? endDate : LocalDate.now();
+            LocalDate start = resolveStartDate(startDate, period);
+
+            String currencyPair = CurrencyPairs.symbol(from, to);
+            DataVersionService.DataTag tag = dataVersionService.tag(List.of(currencyPair), start, end);
+            if (webRequest.checkNotModified(tag.etag(), tag.lastModifiedMillis())) {
+                return null;
+            }
+            List<OhlcBar> bars = forexTimeSeriesStore.snapshot(currencyPair).range(start, end);
+            return ResponseEntity.ok().cacheControl(dataVersionService.cacheControl(List.of(currencyPair), start, end)).body(bars);
+        } catch (IllegalArgumentException e) {
+            String errorMessage = "Invalid input parameters";
+            LOGGER.error(errorMessage, e);
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(Map.of("msg", errorMessage));
+        } catch (Exception e) {
+            String errorMessage = "Failed to retrieve data";
+            LOGGER.error(errorMessage, e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(Map.of("msg", errorMessage));
+        }
+    }
+
+    @Operation(
+            summary = "Stream stored history as NDJSON, CSV or a binary columnar format",
+            description = "Streams rows ordered by pair and date straight from a database cursor to the response, optionally gzip or zstd compressed " +
+                    "(announced in Content-Encoding), so exports of any size use constant memory. " +
+                    "Omit pairs to export every pair; omit startDate and period to export the whole history."
+    )
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportForexData(
+            @RequestParam(required = false) @Parameter(description = "Six letter currency pairs, all pairs when omitted", example = "USDINR,EURUSD") List<String> pairs,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) @Parameter(description = "First date of the range (inclusive)", example = "2024-01-01") LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) @Parameter(description = "Last date of the range (inclusive), defaults to today") LocalDate endDate,
+            @RequestParam(required = false) @Parameter(description = "The timeframe ending today, used when startDate is omitted", schema = @Schema(allowableValues = {"1W", "1M", "3M", "6M", "9M", "1Y"})) String period,
+            @RequestParam(defaultValue = "ndjson") @Parameter(description = "Output format", schema = @Schema(allowableValues = {"ndjson", "csv", "binary"})) String format,
+            @RequestParam(defaultValue = "none") @Parameter(description = "Compression", schema = @Schema(allowableValues = {"none", "gzip", "zstd"})) String compression) {
+        ExportFormat exportFormat;
+        ExportCompression exportCompression;
+        List<String> currencyPairs;
+        LocalDate start;
+        LocalDate end;
+        try {
+            exportFormat = ExportFormat.fromValue(format);
+            exportCompression = ExportCompression.fromValue(compression);
+            currencyPairs = parseCurrencyPairs(pairs);
+            start = resolveStartDate(startDate, period);
+            end = endDate != null ? endDate : LocalDate.now();
+        } catch (IllegalArgumentException e) {
+            LOGGER.error("Invalid input parameters", e);
+            return jsonMessage(HttpStatus.BAD_REQUEST, "Invalid input parameters");
+        }
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"forex-data." + exportFormat.getExtension() + "\"");
+        if (exportCompression.getContentEncoding() != null) {
+            response.header(HttpHeaders.CONTENT_ENCODING, exportCompression.getContentEncoding());
+        }
+        return response.body(out -> {
+            try {
+                forexDataExportService.export(currencyPairs, start, end, exportFormat, exportCompression, out);
+            } catch (Exception e) {
+                // The status line has already been sent, so the client sees a truncated stream.
+                LOGGER.error("Failed to export data", e);
+                throw e;
+            }
+        });
+    }
+
+    @Operation(
+            summary = "Change feed of newly saved rates",
+            description = "Server-sent events: one \"rates\" event with the new or changed rows each time a subscribed pair is saved, " +
+                    "by a POST, a CRON job or a backfill. Idle connections get a comment line every forex.feed.heartbeat-millis. " +
+                    "A subscriber that falls more than forex.feed.buffer-size events behind receives a \"dropped\" event and is disconnected."
+    )
+    @GetMapping("/stream")
+    public ResponseEntity<ResponseBodyEmitter> streamChanges(
+            @RequestParam(required = false) @Parameter(description = "Six letter currency pairs, all pairs when omitted", example = "USDINR,EURUSD") List<String> pairs) {
+        try {
+            SseEmitter emitter = new SseEmitter(changeFeedService.getTimeoutMillis());
+            ChangeFeedService.Subscription subscription = changeFeedService.subscribe(Set.copyOf(parseCurrencyPairs(pairs)), new ChangeFeedService.Sink() {
+                @Override
+                public void send(String event, Object data) throws IOException {
+                    emitter.send(SseEmitter.event().name(event).data(data, MediaType.APPLICATION_JSON));
+                }
+
+                @Override
+                public void heartbeat() throws IOException {
+                    emitter.send(SseEmitter.event().comment("heartbeat"));
+                }
+
+                @Override
+                public void complete() {
+                    emitter.complete();
+                }
+            });
+            emitter.onCompletion(subscription::close);
+            emitter.onTimeout(subscription::close);
+            emitter.onError(e -> subscription.close());
+            // Stop reverse proxies from buffering the stream
+            return ResponseEntity.ok().header("X-Accel-Buffering", "no").body(emitter);
+        } catch (IllegalArgumentException e) {
+            LOGGER.error("Invalid input parameters", e);
+            return emitterMessage(HttpStatus.BAD_REQUEST, "Invalid input parameters");
+        } catch (RejectedExecutionException e) {
+            LOGGER.warn("Rejected change feed subscription: {}", e.getMessage());
+            return emitterMessage(HttpStatus.SERVICE_UNAVAILABLE, "Too many subscribers");
+        }
+    }
+
+    @Operation(
+            summary = "Read-through cache statistics",
+            description = "Returns hit, miss and load latency counters for the scrape cache."
+    )
+    @GetMapping("/cache/stats")
+    public ResponseEntity<CacheStats> getCacheStats() {
+        return ResponseEntity.ok(forexDataCacheService.getStats());
+    }
+
+    @Operation(
+            summary = "Rate provider health",
+            description = "Returns, per rate provider in fetch order, its circuit breaker state, current hedge delay and call outcome counters."
+    )
+    @GetMapping("/providers")
+    public ResponseEntity<List<ProviderStats>> getProviderStats() {
+        return ResponseEntity.ok(hedgedRateFetcher.getStats());
+    }
+
+    /**
+     * An explicit start date wins; otherwise the period's lookback from today; otherwise the whole history.
+     */
+    private LocalDate resolveStartDate(LocalDate startDate, String period) {
+        if (startDate != null) {
+            return startDate;
+        }
+        if (period != null) {
+            return forexScraperService.calculateStartDate(Period.fromValue(period));
+        }
+        return LocalDate.EPOCH;
+    }
+
+    /**
+     * Six letter pairs such as {@code USDINR} as symbols, empty when none are given.
+     */
+    private List<String> parseCurrencyPairs(List<String> pairs) {
+        List<String> currencyPairs = new ArrayList<>();
+        if (pairs != null) {
+            for (String pair : pairs) {
+                CurrencyPairRequest request = CurrencyPairRequest.parse(pair);
+                if (!forexScraperService.isValidCurrencyCode(request.from()) || !forexScraperService.isValidCurrencyCode(request.to())) {
+                    throw new IllegalArgumentException("Invalid currency pair: " + pair);
+                }
+                currencyPairs.add(CurrencyPairs.symbol(request.from(), request.to()));
+            }
+        }
+        return currencyPairs;
+    }
+
+    private boolean tooManyPairs(List<CurrencyPairRequest> pairs) {
+        if (pairs != null && pairs.size() > rateLimitInterceptor.getMaxPairsPerRequest()) {
+            LOGGER.error("Too many pairs: {}, at most {} per request", pairs.size(), rateLimitInterceptor.getMaxPairsPerRequest());
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Charges the client and pair rate limits once per pair named in the body, which the interceptor cannot see.
+     *
+     * @return a 429 response if a limit is exhausted, otherwise null
+     */
+    private ResponseEntity<Object> chargePairs(HttpServletRequest httpRequest, List<CurrencyPairRequest> pairs) {
+        long waitNanos = rateLimitInterceptor.tryAcquirePairs(httpRequest, pairs.stream()
+                .map(pair -> CurrencyPairs.symbol(pair.from().toUpperCase(), pair.to().toUpperCase()))
+                .toList());
+        if (waitNanos == 0) {
+            return null;
+        }
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, RateLimitInterceptor.retryAfterSeconds(waitNanos))
+                .body(Map.of("msg", "Too many requests"));
+    }
+
+    private static ResponseEntity<Object> accepted(ScrapeJobStatus job) {
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/forex-data/jobs/" + job.id()))
+                .body(job);
+    }
+
+    private static ResponseEntity<StreamingResponseBody> jsonMessage(HttpStatus status, String msg) {
+        return ResponseEntity.status(status)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(out -> out.write(("{\"msg\":\"" + msg + "\"}").getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static ResponseEntity<ResponseBodyEmitter> emitterMessage(HttpStatus status, String msg) {
+        ResponseBodyEmitter emitter = new ResponseBodyEmitter();
+        try {
+            emitter.send(Map.of("msg", msg), MediaType.APPLICATION_JSON);
+            emitter.complete();
+        } catch (IOException e) {
+            emitter.completeWithError(e);
+        }
+        return ResponseEntity.status(status).contentType(MediaType.APPLICATION_JSON).body(emitter);
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.forexData.event;
+
+import com.example.forexData.model.ForexData;
+
+import java.util.List;
+
+/**
+ * Published after scraped rows for a currency pair have been written to the database.
+ */
+public record ForexDataSavedEvent(String currencyPair, List<ForexData> rows) {
+}
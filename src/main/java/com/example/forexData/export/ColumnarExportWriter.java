@@ -0,0 +1,100 @@
+package com.example.forexData.export;
+
+import com.example.forexData.model.ForexData;
+import com.example.forexData.store.PairSeries;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.util.Arrays;
+
+/**
+ * Compact big-endian columnar format, written in blocks so that neither side has to hold a whole column.
+ * <pre>
+ * header:  "FXC2" magic, int scale (5)
+ * block:   UTF currency pair, int n,
+ *          n x int epoch day,
+ *          for open, high, low, close, adjClose and volume, one column after another:
+ *            (n + 7) / 8 bytes null bitmap, n x long value (fixed point at scale)
+ * trailer: a block with an empty pair and n = 0
+ * </pre>
+ * Bit {@code i % 8} of bitmap byte {@code i / 8} is set when row {@code i} has no value; its long is then 0.
+ * Values whose fixed-point form does not fit a long are written as missing too, rather than clamped.
+ * A block holds rows of one pair only and at most {@value #BLOCK_ROWS} of them. Ids are not exported.
+ */
+public class ColumnarExportWriter implements ExportWriter {
+
+    static final int MAGIC = 0x46584332; // "FXC2"
+    static final int BLOCK_ROWS = 4096;
+
+    private final DataOutputStream out;
+
+    private final int[] days = new int[BLOCK_ROWS];
+    private final long[][] columns = new long[6][BLOCK_ROWS];
+    private final byte[][] nulls = new byte[6][BLOCK_ROWS / 8];
+    private String blockPair;
+    private int size;
+
+    public ColumnarExportWriter(OutputStream out) throws IOException {
+        this.out = new DataOutputStream(new BufferedOutputStream(out, 64 * 1024));
+        this.out.writeInt(MAGIC);
+        this.out.writeInt(PairSeries.SCALE);
+    }
+
+    @Override
+    public void write(ForexData data) throws IOException {
+        if (size == BLOCK_ROWS || (size > 0 && !blockPair.equals(data.getCurrencyPair()))) {
+            flushBlock();
+        }
+        blockPair = data.getCurrencyPair();
+        days[size] = (int) data.getDate().toEpochDay();
+        set(0, data.getOpen());
+        set(1, data.getHigh());
+        set(2, data.getLow());
+        set(3, data.getClose());
+        set(4, data.getAdjClose());
+        set(5, data.getVolume());
+        size++;
+    }
+
+    @Override
+    public void finish() throws IOException {
+        if (size > 0) {
+            flushBlock();
+        }
+        out.writeUTF("");
+        out.writeInt(0);
+        out.flush();
+    }
+
+    private void flushBlock() throws IOException {
+        out.writeUTF(blockPair);
+        out.writeInt(size);
+        for (int i = 0; i < size; i++) {
+            out.writeInt(days[i]);
+        }
+        int bitmapBytes = (size + 7) / 8;
+        for (int c = 0; c < columns.length; c++) {
+            out.write(nulls[c], 0, bitmapBytes);
+            for (int i = 0; i < size; i++) {
+                out.writeLong(columns[c][i]);
+            }
+            Arrays.fill(nulls[c], 0, bitmapBytes, (byte) 0);
+        }
+        size = 0;
+    }
+
+    private void set(int column, BigDecimal value) {
+        BigInteger fixed = value != null ? value.setScale(PairSeries.SCALE, RoundingMode.HALF_UP).unscaledValue() : null;
+        if (fixed == null || fixed.bitLength() >= Long.SIZE) {
+            nulls[column][size >> 3] |= (byte) (1 << (size & 7));
+            columns[column][size] = 0;
+        } else {
+            columns[column][size] = fixed.longValue();
+        }
+    }
+}
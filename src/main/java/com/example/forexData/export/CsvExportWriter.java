@@ -0,0 +1,53 @@
+package com.example.forexData.export;
+
+import com.example.forexData.model.ForexData;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Comma separated values with a header line. Currency pairs and ISO dates never need quoting.
+ */
+public class CsvExportWriter implements ExportWriter {
+
+    static final String HEADER = "currencyPair,date,open,high,low,close,adjClose,volume";
+
+    private final Writer writer;
+
+    public CsvExportWriter(OutputStream out) throws IOException {
+        this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 16 * 1024);
+        writer.write(HEADER);
+        writer.write('\n');
+    }
+
+    @Override
+    public void write(ForexData data) throws IOException {
+        writer.write(data.getCurrencyPair());
+        writer.write(',');
+        writer.write(data.getDate().toString());
+        writeNumber(data.getOpen());
+        writeNumber(data.getHigh());
+        writeNumber(data.getLow());
+        writeNumber(data.getClose());
+        writeNumber(data.getAdjClose());
+        writeNumber(data.getVolume());
+        writer.write('\n');
+    }
+
+    @Override
+    public void finish() throws IOException {
+        writer.flush();
+    }
+
+    private void writeNumber(BigDecimal value) throws IOException {
+        writer.write(',');
+        if (value != null) {
+            writer.write(value.toPlainString());
+        }
+    }
+}
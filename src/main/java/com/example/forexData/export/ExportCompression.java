@@ -0,0 +1,49 @@
+package com.example.forexData.export;
+
+import com.github.luben.zstd.ZstdOutputStream;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.GZIPOutputStream;
+
+public enum ExportCompression {
+    NONE(null),
+    GZIP("gzip"),
+    ZSTD("zstd");
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final String contentEncoding;
+
+    ExportCompression(String contentEncoding) {
+        this.contentEncoding = contentEncoding;
+    }
+
+    /**
+     * @return the {@code Content-Encoding} header value, or {@code null} when uncompressed
+     */
+    public String getContentEncoding() {
+        return contentEncoding;
+    }
+
+    /**
+     * Wraps {@code out} in a compressing stream. Closing the returned stream finishes the compressed frame
+     * and closes {@code out}.
+     */
+    public OutputStream wrap(OutputStream out, int zstdLevel) throws IOException {
+        return switch (this) {
+            case NONE -> out;
+            case GZIP -> new GZIPOutputStream(out, BUFFER_SIZE);
+            case ZSTD -> new ZstdOutputStream(out, zstdLevel);
+        };
+    }
+
+    public static ExportCompression fromValue(String value) {
+        for (ExportCompression compression : values()) {
+            if (compression.name().equalsIgnoreCase(value)) {
+                return compression;
+            }
+        }
+        throw new IllegalArgumentException("Unknown compression: " + value);
+    }
+}
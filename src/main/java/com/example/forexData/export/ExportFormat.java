@@ -0,0 +1,45 @@
+package com.example.forexData.export;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public enum ExportFormat {
+    NDJSON("application/x-ndjson", "ndjson"),
+    CSV("text/csv", "csv"),
+    BINARY("application/octet-stream", "fxc");
+
+    private final String contentType;
+    private final String extension;
+
+    ExportFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    public ExportWriter newWriter(OutputStream out, ObjectMapper objectMapper) throws IOException {
+        return switch (this) {
+            case NDJSON -> new NdjsonExportWriter(out, objectMapper);
+            case CSV -> new CsvExportWriter(out);
+            case BINARY -> new ColumnarExportWriter(out);
+        };
+    }
+
+    public static ExportFormat fromValue(String value) {
+        for (ExportFormat format : values()) {
+            if (format.name().equalsIgnoreCase(value)) {
+                return format;
+            }
+        }
+        throw new IllegalArgumentException("Unknown export format: " + value);
+    }
+}
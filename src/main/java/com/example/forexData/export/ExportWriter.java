@@ -0,0 +1,18 @@
+package com.example.forexData.export;
+
+import com.example.forexData.model.ForexData;
+
+import java.io.IOException;
+
+/**
+ * Writes exported rows to an output stream one at a time, so an export of any size needs a fixed amount of memory.
+ */
+public interface ExportWriter {
+
+    void write(ForexData data) throws IOException;
+
+    /**
+     * Writes any trailer and flushes buffered output. Does not close the underlying stream.
+     */
+    void finish() throws IOException;
+}
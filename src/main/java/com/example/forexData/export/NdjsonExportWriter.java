@@ -0,0 +1,39 @@
+package com.example.forexData.export;
+
+import com.example.forexData.model.ForexData;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * One JSON object per line, with the same fields as {@code /retrieve}.
+ * <p>
+ * Rows are written without {@link SerializationFeature#FLUSH_AFTER_WRITE_VALUE}: a flush per row would send a
+ * servlet chunk per row and end a compressed block per row. The stream is flushed once, by {@link #finish()}.
+ */
+public class NdjsonExportWriter implements ExportWriter {
+
+    private final JsonGenerator generator;
+    private final ObjectWriter objectWriter;
+
+    public NdjsonExportWriter(OutputStream out, ObjectMapper objectMapper) throws IOException {
+        this.objectWriter = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.generator = objectMapper.getFactory().createGenerator(out);
+        this.generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    }
+
+    @Override
+    public void write(ForexData data) throws IOException {
+        objectWriter.writeValue(generator, data);
+        generator.writeRaw('\n');
+    }
+
+    @Override
+    public void finish() throws IOException {
+        generator.close();
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.forexData.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * Progress of the latest backfill of one pair. Chunks are fetched oldest first, so everything up to
+ * {@code completedThrough} is stored and a rerun of the same range continues from the day after.
+ */
+@Entity
+@Table(name = "backfill_checkpoint")
+public class BackfillCheckpoint {
+
+    @Id
+    @Schema(description = "The currency pair (e.g., USDINR=X)")
+    private String currencyPair;
+
+    @Schema(description = "First date of the backfilled range")
+    private LocalDate startDate;
+
+    @Schema(description = "Last date of the backfilled range")
+    private LocalDate endDate;
+
+    @Schema(description = "Last date of the last stored chunk, null before the first chunk")
+    private LocalDate completedThrough;
+
+    @Schema(description = "Rows stored by this backfill so far")
+    private long rowsSaved;
+
+    @Schema(description = "When the checkpoint last moved")
+    private Instant updatedAt;
+
+    public String getCurrencyPair() {
+        return currencyPair;
+    }
+
+    public void setCurrencyPair(String currencyPair) {
+        this.currencyPair = currencyPair;
+    }
+
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+
+    public void setStartDate(LocalDate startDate) {
+        this.startDate = startDate;
+    }
+
+    public LocalDate getEndDate() {
+        return endDate;
+    }
+
+    public void setEndDate(LocalDate endDate) {
+        this.endDate = endDate;
+    }
+
+    public LocalDate getCompletedThrough() {
+        return completedThrough;
+    }
+
+    public void setCompletedThrough(LocalDate completedThrough) {
+        this.completedThrough = completedThrough;
+    }
+
+    public long getRowsSaved() {
+        return rowsSaved;
+    }
+
+    public void setRowsSaved(long rowsSaved) {
+        this.rowsSaved = rowsSaved;
+    }
+
+    public Instant getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(Instant updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
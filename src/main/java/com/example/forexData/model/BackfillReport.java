@@ -0,0 +1,16 @@
+package com.example.forexData.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public record BackfillReport(
+        @Schema(description = "First date of the range") LocalDate startDate,
+        @Schema(description = "Last date of the range") LocalDate endDate,
+        @Schema(description = "Number of pairs requested") int requested,
+        @Schema(description = "Number of pairs loaded through the end of the range") int completed,
+        @Schema(description = "Number of pairs that stopped early; rerun the same range to resume them") int failed,
+        @Schema(description = "Wall-clock time of the whole run in milliseconds") long elapsedMillis,
+        @Schema(description = "Per-pair results, in request order") List<BackfillResult> results) {
+}
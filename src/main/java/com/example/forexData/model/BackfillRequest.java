@@ -0,0 +1,12 @@
+package com.example.forexData.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public record BackfillRequest(
+        @Schema(description = "Pairs to backfill; the configured pair list is used when empty") List<CurrencyPairRequest> pairs,
+        @Schema(description = "First date to load (inclusive)", example = "2004-01-01") LocalDate startDate,
+        @Schema(description = "Last date to load (inclusive), defaults to today") LocalDate endDate) {
+}
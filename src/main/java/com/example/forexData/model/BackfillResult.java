@@ -0,0 +1,21 @@
+package com.example.forexData.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDate;
+
+public record BackfillResult(
+        @Schema(description = "The currency pair (e.g., USDINR=X)") String currencyPair,
+        @Schema(description = "Outcome of the backfill") Status status,
+        @Schema(description = "First date fetched by this run; later than the range start when resuming from a checkpoint") LocalDate resumedFrom,
+        @Schema(description = "Last date stored so far") LocalDate completedThrough,
+        @Schema(description = "Number of chunks fetched by this run") int chunks,
+        @Schema(description = "Number of rows saved by this run") long rows,
+        @Schema(description = "Time spent on this pair in milliseconds") long elapsedMillis,
+        @Schema(description = "Failure detail, if any") String error) {
+
+    public enum Status {
+        COMPLETED,
+        FAILED
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.forexData.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+public record BulkScrapeRequest(
+        @Schema(description = "Pairs to scrape; the configured pair list is used when empty") List<CurrencyPairRequest> pairs,
+        @Schema(description = "The timeframe for the historical data", allowableValues = {"1W", "1M", "3M", "6M", "9M", "1Y"}, example = "1W") String period,
+        @Schema(description = "Only fetch dates newer than what is already stored for each pair") boolean incremental) {
+}
@@ -0,0 +1,15 @@
+package com.example.forexData.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+public record CacheStats(
+        @Schema(description = "Number of cached entries") int size,
+        @Schema(description = "Requests answered from the cache") long hits,
+        @Schema(description = "Requests that had to be loaded") long misses,
+        @Schema(description = "Requests that joined an identical in-flight load") long coalesced,
+        @Schema(description = "Loads answered entirely from the database") long databaseLoads,
+        @Schema(description = "Loads that had to scrape missing dates") long scrapeLoads,
+        @Schema(description = "Entries evicted to respect the size bound") long evictions,
+        @Schema(description = "Average load latency in milliseconds") double averageLoadMillis,
+        @Schema(description = "Slowest load latency in milliseconds") double maxLoadMillis) {
+}
@@ -0,0 +1,18 @@
+package com.example.forexData.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+public record Conversion(
+        @Schema(description = "The currency code representing the source currency", example = "USD") String from,
+        @Schema(description = "The currency code representing the target currency", example = "INR") String to,
+        @Schema(description = "The requested date") LocalDate date,
+        @Schema(description = "Trading day whose close was used, on or before the requested date; null when no rate is available") LocalDate rateDate,
+        @Schema(description = "Units of the target currency per unit of the source currency; null when no rate is available") BigDecimal rate,
+        @Schema(description = "The amount in the source currency") BigDecimal amount,
+        @Schema(description = "The amount in the target currency; null when no rate is available") BigDecimal convertedAmount,
+        @Schema(description = "Stored series the rate was taken from; a leading '1/' marks an inverted series") List<String> legs) {
+}
@@ -0,0 +1,13 @@
+package com.example.forexData.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public record ConversionRequest(
+        @Schema(description = "The currency code representing the source currency", example = "USD") String from,
+        @Schema(description = "The currency code representing the target currency", example = "INR") String to,
+        @Schema(description = "Date of the rate; weekends and holidays use the previous trading day", example = "2024-08-24") LocalDate date,
+        @Schema(description = "Amount in the source currency", example = "100") BigDecimal amount) {
+}
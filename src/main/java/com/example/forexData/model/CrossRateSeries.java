@@ -0,0 +1,11 @@
+package com.example.forexData.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+public record CrossRateSeries(
+        @Schema(description = "The requested currency pair (e.g., GBPINR=X)") String currencyPair,
+        @Schema(description = "Stored series the rates were derived from; a leading '1/' marks an inverted series") List<String> legs,
+        @Schema(description = "Derived daily bars on dates present in every leg; high and low are bounds, volume is zero") List<OhlcBar> bars) {
+}
@@ -0,0 +1,19 @@
+package com.example.forexData.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+public record CurrencyPairRequest(
+        @Schema(description = "The currency code representing the source currency", example = "GBP") String from,
+        @Schema(description = "The currency code representing the target currency", example = "INR") String to) {
+
+    /**
+     * Parses a six letter pair such as {@code USDINR}.
+     */
+    public static CurrencyPairRequest parse(String pair) {
+        String value = pair.trim().toUpperCase();
+        if (value.length() != 6) {
+            throw new IllegalArgumentException("Invalid currency pair: " + pair);
+        }
+        return new CurrencyPairRequest(value.substring(0, 3), value.substring(3));
+    }
+}
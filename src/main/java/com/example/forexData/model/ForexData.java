@@ -7,6 +7,13 @@ import java.math.BigDecimal;
 import java.time.LocalDate;
 
 @Entity
+@Table(name = "forex_data",
+        indexes = {
+                @Index(name = "idx_forex_data_pair_date", columnList = "currency_pair, date")
+        },
+        uniqueConstraints = {
+                @UniqueConstraint(name = "uk_forex_data_pair_date", columnNames = {"currency_pair", "date"})
+        })
 public class ForexData {
 
     @Id
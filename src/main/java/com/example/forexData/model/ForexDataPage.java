@@ -0,0 +1,12 @@
+package com.example.forexData.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public record ForexDataPage(
+        @Schema(description = "Rows of this page, ordered by date") List<ForexData> data,
+        @Schema(description = "Pass as afterDate to fetch the next page; null on the last page") LocalDate nextAfterDate,
+        @Schema(description = "Pass as afterId to fetch the next page; null on the last page") Long nextAfterId) {
+}
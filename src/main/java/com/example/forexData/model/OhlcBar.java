@@ -0,0 +1,16 @@
+package com.example.forexData.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public record OhlcBar(
+        @Schema(description = "The date of the bar (first trading day of the bucket when resampled)") LocalDate date,
+        @Schema(description = "The opening price") BigDecimal open,
+        @Schema(description = "The highest price") BigDecimal high,
+        @Schema(description = "The lowest price") BigDecimal low,
+        @Schema(description = "The closing price") BigDecimal close,
+        @Schema(description = "The adjusted closing price") BigDecimal adjClose,
+        @Schema(description = "The trading volume") BigDecimal volume) {
+}
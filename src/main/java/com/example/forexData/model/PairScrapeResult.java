@@ -0,0 +1,18 @@
+package com.example.forexData.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+public record PairScrapeResult(
+        @Schema(description = "The currency pair (e.g., USDINR=X)") String currencyPair,
+        @Schema(description = "Outcome of the scrape") Status status,
+        @Schema(description = "Number of rows saved") int rows,
+        @Schema(description = "Time spent on this pair in milliseconds, excluding queueing") long elapsedMillis,
+        @Schema(description = "Failure detail, if any") String error) {
+
+    public enum Status {
+        OK,
+        EMPTY,
+        TIMEOUT,
+        FAILED
+    }
+}
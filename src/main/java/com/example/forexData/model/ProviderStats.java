@@ -0,0 +1,15 @@
+package com.example.forexData.model;
+
+import com.example.forexData.util.CircuitBreaker;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+public record ProviderStats(
+        @Schema(description = "Provider name as used in forex.providers.order", example = "yahoo") String name,
+        @Schema(description = "Circuit breaker state") CircuitBreaker.State circuit,
+        @Schema(description = "Wait before the next provider is asked as well: the p95 of recent answers") double hedgeDelayMillis,
+        @Schema(description = "Calls that returned rows") long successes,
+        @Schema(description = "Calls that returned no rows") long empty,
+        @Schema(description = "Calls that failed") long failures,
+        @Schema(description = "Calls started as a hedge because an earlier provider was slow") long hedges,
+        @Schema(description = "Fetches this provider's answer won") long wins) {
+}
@@ -0,0 +1,15 @@
+package com.example.forexData.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDate;
+
+public record RollingPoint(
+        @Schema(description = "The date of the bar") LocalDate date,
+        @Schema(description = "The closing price") double close,
+        @Schema(description = "Simple moving average of the close over the window") double sma,
+        @Schema(description = "Exponential moving average of the close, alpha = 2 / (window + 1), seeded with the first SMA") double ema,
+        @Schema(description = "Population standard deviation of the close over the window") double stddev,
+        @Schema(description = "Lowest close in the window") double min,
+        @Schema(description = "Highest close in the window") double max) {
+}
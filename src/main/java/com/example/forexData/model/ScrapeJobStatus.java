@@ -0,0 +1,30 @@
+package com.example.forexData.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.Instant;
+
+public record ScrapeJobStatus(
+        @Schema(description = "Job identifier, used with GET /api/forex-data/jobs/{id}") String id,
+        @Schema(description = "What the job does, e.g. scrape USDINR=X 1W") String description,
+        @Schema(description = "Scheduling priority") Priority priority,
+        @Schema(description = "Current state") State state,
+        @Schema(description = "When the job was accepted") Instant submittedAt,
+        @Schema(description = "When a worker picked the job up") Instant startedAt,
+        @Schema(description = "When the job finished") Instant finishedAt,
+        @Schema(description = "Job output once succeeded") Object result,
+        @Schema(description = "Failure reason once failed") String error) {
+
+    public enum State {
+        QUEUED,
+        RUNNING,
+        SUCCEEDED,
+        FAILED
+    }
+
+    public enum Priority {
+        HIGH,
+        NORMAL,
+        LOW
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.forexData.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+public record ScrapeReport(
+        @Schema(description = "The timeframe that was scraped") String period,
+        @Schema(description = "Number of pairs requested") int requested,
+        @Schema(description = "Number of pairs that saved data") int succeeded,
+        @Schema(description = "Number of pairs that returned no data, failed or timed out") int failed,
+        @Schema(description = "Wall-clock time of the whole run in milliseconds") long elapsedMillis,
+        @Schema(description = "Per-pair results, in request order") List<PairScrapeResult> results) {
+}
@@ -0,0 +1,22 @@
+package com.example.forexData.parser;
+
+import com.example.forexData.model.ForexData;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Extracts daily rows from a Yahoo Finance history page.
+ */
+public interface HistoryPageParser {
+
+    /**
+     * Parses rows dated between {@code startDate} and {@code endDate}, both inclusive, in page order (newest first).
+     */
+    List<ForexData> parse(String html, String currencyPair, LocalDate startDate, LocalDate endDate);
+
+    /**
+     * Rows skipped as incomplete or unreadable since this parser was created.
+     */
+    long skippedRows();
+}
@@ -0,0 +1,115 @@
+package com.example.forexData.parser;
+
+import com.example.forexData.model.ForexData;
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+import org.jsoup.select.Elements;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Builds the full Jsoup DOM and reads each cell with a CSS selector. Kept as the reference implementation.
+ */
+public class JsoupHistoryPageParser implements HistoryPageParser {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(JsoupHistoryPageParser.class);
+
+    private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("MMM d, yyyy", Locale.ENGLISH);
+
+    private final LongAdder skippedRows = new LongAdder();
+
+    @Override
+    public List<ForexData> parse(String html, String currencyPair, LocalDate startDate, LocalDate endDate) {
+        List<ForexData> forexDataList = new ArrayList<>();
+        Document doc = Jsoup.parse(html);
+        Elements rows = doc.select("table tbody tr");
+
+        for (Element row : rows) {
+            String dateStr = row.select("td:nth-of-type(1)").text();
+            String openStr = row.select("td:nth-of-type(2)").text();
+            String highStr = row.select("td:nth-of-type(3)").text();
+            String lowStr = row.select("td:nth-of-type(4)").text();
+            String closeStr = row.select("td:nth-of-type(5)").text();
+            String adjCloseStr = row.select("td:nth-of-type(6)").text();
+            String volumeStr = row.select("td:nth-of-type(7)").text();
+
+            if (LOGGER.isDebugEnabled()) {
+                LOGGER.debug("Raw data: {}", row.text());
+            }
+
+            try {
+                if (!dateStr.isEmpty() && !dateStr.contains("=")) {
+                    LocalDate date = LocalDate.parse(dateStr, FORMATTER);
+                    if (date.isBefore(startDate)) {
+                        // Yahoo lists rows newest first, so everything after this is older still.
+                        break;
+                    }
+                    if (date.isAfter(endDate)) {
+                        continue;
+                    }
+
+                    BigDecimal open = parseBigDecimal(openStr);
+                    BigDecimal high = parseBigDecimal(highStr);
+                    BigDecimal low = parseBigDecimal(lowStr);
+                    BigDecimal close = parseBigDecimal(closeStr);
+                    BigDecimal adjClose = parseBigDecimal(adjCloseStr);
+                    BigDecimal volume = parseBigDecimal(volumeStr);
+
+                    if (open != null && high != null && low != null && close != null && adjClose != null && volume != null) {
+                        ForexData data = new ForexData();
+                        data.setCurrencyPair(currencyPair);
+                        data.setDate(date);
+                        data.setOpen(open);
+                        data.setHigh(high);
+                        data.setLow(low);
+                        data.setClose(close);
+                        data.setAdjClose(adjClose);
+                        data.setVolume(volume);
+                        forexDataList.add(data);
+                    } else {
+                        skippedRows.increment();
+                        LOGGER.warn("Skipping row with incomplete or invalid data: {}", row.text());
+                    }
+                } else {
+                    skippedRows.increment();
+                    LOGGER.warn("Skipping row with invalid date: {}", dateStr);
+                }
+            } catch (DateTimeParseException e) {
+                skippedRows.increment();
+                LOGGER.error("Failed to parse date: {}", dateStr, e);
+            } catch (NumberFormatException e) {
+                skippedRows.increment();
+                LOGGER.error("Failed to parse numeric values: {}", row.text(), e);
+            }
+        }
+        return forexDataList;
+    }
+
+    @Override
+    public long skippedRows() {
+        return skippedRows.sum();
+    }
+
+    static BigDecimal parseBigDecimal(String value) {
+        if (value == null || value.trim().isEmpty() || "-".equals(value)) {
+            return BigDecimal.ZERO;
+        }
+        try {
+            String sanitizedValue = value.replace(",", "").trim();
+            return new BigDecimal(sanitizedValue);
+        } catch (NumberFormatException e) {
+            LOGGER.error("Failed to parse value to BigDecimal: {}", value, e);
+            return BigDecimal.ZERO;
+        }
+    }
+}
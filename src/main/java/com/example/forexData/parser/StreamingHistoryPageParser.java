@@ -0,0 +1,265 @@
+package com.example.forexData.parser;
+
+import com.example.forexData.model.ForexData;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.math.BigDecimal;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Reads the history table in one forward pass over the raw HTML, without building a DOM.
+ * <p>
+ * Cells are located by index between {@code <td>} tags and decoded in place: dates are matched against
+ * month abbreviations and numbers are accumulated into an unscaled long, so no per-cell strings or
+ * selector evaluations are created. Markup nested inside a cell is skipped. Unlike the Jsoup parser,
+ * rows with fewer than seven cells (dividends, splits) or unreadable numbers are skipped rather than
+ * stored as zeros.
+ */
+public class StreamingHistoryPageParser implements HistoryPageParser {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(StreamingHistoryPageParser.class);
+
+    private static final int COLUMNS = 7;
+
+    private static final String[] MONTHS = {
+            "jan", "feb", "mar", "apr", "may", "jun", "jul", "aug", "sep", "oct", "nov", "dec"
+    };
+
+    // Longest unscaled value that cannot overflow a long while accumulating digits.
+    private static final int MAX_FAST_DIGITS = 18;
+
+    private final LongAdder skippedRows = new LongAdder();
+
+    @Override
+    public List<ForexData> parse(String html, String currencyPair, LocalDate startDate, LocalDate endDate) {
+        List<ForexData> forexDataList = new ArrayList<>();
+        int pos = html.indexOf("<tbody");
+        if (pos < 0) {
+            LOGGER.warn("No history table found for {}", currencyPair);
+            return forexDataList;
+        }
+        int tableEnd = html.indexOf("</tbody>", pos);
+        if (tableEnd < 0) {
+            tableEnd = html.length();
+        }
+
+        int[] cellStart = new int[COLUMNS];
+        int[] cellEnd = new int[COLUMNS];
+
+        while (true) {
+            int rowStart = html.indexOf("<tr", pos);
+            if (rowStart < 0 || rowStart >= tableEnd) {
+                break;
+            }
+            int rowEnd = html.indexOf("</tr>", rowStart);
+            if (rowEnd < 0 || rowEnd > tableEnd) {
+                rowEnd = tableEnd;
+            }
+            pos = rowEnd;
+
+            int cells = 0;
+            int cursor = rowStart + 3;
+            while (cells < COLUMNS) {
+                int td = html.indexOf("<td", cursor);
+                if (td < 0 || td >= rowEnd) {
+                    break;
+                }
+                int contentStart = html.indexOf('>', td) + 1;
+                int contentEnd = html.indexOf("</td>", contentStart);
+                if (contentEnd < 0 || contentEnd > rowEnd) {
+                    contentEnd = rowEnd;
+                }
+                cellStart[cells] = contentStart;
+                cellEnd[cells] = contentEnd;
+                cells++;
+                cursor = contentEnd;
+            }
+            if (cells < COLUMNS) {
+                skippedRows.increment();
+                LOGGER.debug("Skipping row with {} cells for {}", cells, currencyPair);
+                continue;
+            }
+
+            LocalDate date = parseDate(html, cellStart[0], cellEnd[0]);
+            if (date == null) {
+                skippedRows.increment();
+                LOGGER.warn("Skipping row with invalid date: {}", html.substring(cellStart[0], cellEnd[0]));
+                continue;
+            }
+            if (date.isBefore(startDate)) {
+                // Yahoo lists rows newest first, so everything after this is older still.
+                break;
+            }
+            if (date.isAfter(endDate)) {
+                continue;
+            }
+
+            BigDecimal open = parseNumber(html, cellStart[1], cellEnd[1]);
+            BigDecimal high = parseNumber(html, cellStart[2], cellEnd[2]);
+            BigDecimal low = parseNumber(html, cellStart[3], cellEnd[3]);
+            BigDecimal close = parseNumber(html, cellStart[4], cellEnd[4]);
+            BigDecimal adjClose = parseNumber(html, cellStart[5], cellEnd[5]);
+            BigDecimal volume = parseNumber(html, cellStart[6], cellEnd[6]);
+
+            if (open != null && high != null && low != null && close != null && adjClose != null && volume != null) {
+                ForexData data = new ForexData();
+                data.setCurrencyPair(currencyPair);
+                data.setDate(date);
+                data.setOpen(open);
+                data.setHigh(high);
+                data.setLow(low);
+                data.setClose(close);
+                data.setAdjClose(adjClose);
+                data.setVolume(volume);
+                forexDataList.add(data);
+            } else {
+                skippedRows.increment();
+                LOGGER.warn("Skipping row with incomplete or invalid data: {}", html.substring(rowStart, rowEnd));
+            }
+        }
+        return forexDataList;
+    }
+
+    @Override
+    public long skippedRows() {
+        return skippedRows.sum();
+    }
+
+    /**
+     * Parses dates such as {@code Aug 26, 2024}, ignoring any markup inside the cell.
+     *
+     * @return the date, or {@code null} if the cell does not hold one
+     */
+    static LocalDate parseDate(CharSequence html, int start, int end) {
+        int month = 0;
+        int monthLetters = 0;
+        int day = 0;
+        int year = 0;
+        int field = 0; // 0 = month, 1 = day, 2 = year
+
+        for (int i = start; i < end; i++) {
+            char c = html.charAt(i);
+            if (c == '<') {
+                i = skipTag(html, i, end);
+                continue;
+            }
+            if (field == 0) {
+                if (Character.isLetter(c)) {
+                    if (monthLetters == 3) {
+                        return null;
+                    }
+                    month = month * 32 + (Character.toLowerCase(c) - 'a');
+                    monthLetters++;
+                } else if (c == ' ' && monthLetters == 3) {
+                    field = 1;
+                } else if (!Character.isWhitespace(c) || monthLetters != 0) {
+                    return null;
+                }
+            } else if (c >= '0' && c <= '9') {
+                if (field == 1) {
+                    day = day * 10 + (c - '0');
+                } else {
+                    year = year * 10 + (c - '0');
+                }
+            } else if (c == ',' && field == 1 && day > 0) {
+                field = 2;
+            } else if (!Character.isWhitespace(c)) {
+                return null;
+            }
+        }
+
+        if (field != 2 || year == 0) {
+            return null;
+        }
+        for (int m = 0; m < MONTHS.length; m++) {
+            String name = MONTHS[m];
+            if (month == ((name.charAt(0) - 'a') * 32 + (name.charAt(1) - 'a')) * 32 + (name.charAt(2) - 'a')) {
+                try {
+                    return LocalDate.of(year, m + 1, day);
+                } catch (DateTimeException e) {
+                    return null;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Parses a decimal such as {@code 1,234.5678} straight from the page. An empty cell or {@code -} is zero.
+     *
+     * @return the value, or {@code null} if the cell is not a number
+     */
+    static BigDecimal parseNumber(CharSequence html, int start, int end) {
+        long unscaled = 0;
+        int digits = 0;
+        int scale = -1;
+        boolean negative = false;
+
+        for (int i = start; i < end; i++) {
+            char c = html.charAt(i);
+            if (c >= '0' && c <= '9') {
+                if (digits == MAX_FAST_DIGITS) {
+                    return parseSlow(html, start, end);
+                }
+                unscaled = unscaled * 10 + (c - '0');
+                if (unscaled != 0 || scale >= 0) {
+                    digits++;
+                }
+                if (scale >= 0) {
+                    scale++;
+                }
+            } else if (c == '.') {
+                if (scale >= 0) {
+                    return null;
+                }
+                scale = 0;
+            } else if (c == '-') {
+                if (negative || digits > 0 || scale >= 0) {
+                    return null;
+                }
+                negative = true;
+            } else if (c == '<') {
+                i = skipTag(html, i, end);
+            } else if (c != ',' && !Character.isWhitespace(c)) {
+                return null;
+            }
+        }
+
+        if (digits == 0 && scale < 0 && unscaled == 0) {
+            // Covers "", "-" and "0"
+            return BigDecimal.ZERO;
+        }
+        return BigDecimal.valueOf(negative ? -unscaled : unscaled, Math.max(scale, 0));
+    }
+
+    private static BigDecimal parseSlow(CharSequence html, int start, int end) {
+        StringBuilder value = new StringBuilder(end - start);
+        for (int i = start; i < end; i++) {
+            char c = html.charAt(i);
+            if (c == '<') {
+                i = skipTag(html, i, end);
+            } else if (c != ',' && !Character.isWhitespace(c)) {
+                value.append(c);
+            }
+        }
+        try {
+            return new BigDecimal(value.toString());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static int skipTag(CharSequence html, int tagStart, int end) {
+        for (int i = tagStart + 1; i < end; i++) {
+            if (html.charAt(i) == '>') {
+                return i;
+            }
+        }
+        return end;
+    }
+}
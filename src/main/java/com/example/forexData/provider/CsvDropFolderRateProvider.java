@@ -0,0 +1,90 @@
+package com.example.forexData.provider;
+
+import com.example.forexData.model.ForexData;
+import com.example.forexData.util.CurrencyPairs;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads bars from CSV files dropped into {@code forex.providers.csv.folder}, one file per pair named after its
+ * six letter code, e.g. {@code USDINR.csv}. The layout is Yahoo's download format: a header line, then
+ * {@code Date,Open,High,Low,Close,Adj Close,Volume} with ISO dates. Lines with {@code null} or unreadable values
+ * are skipped. A pair without a file has no data here.
+ */
+@Component
+public class CsvDropFolderRateProvider implements RateProvider {
+
+    @Value("${forex.providers.csv.folder:./data/drop}")
+    private Path folder;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(CsvDropFolderRateProvider.class);
+
+    @Override
+    public String name() {
+        return "csv";
+    }
+
+    @Override
+    public List<ForexData> fetch(String from, String to, LocalDate startDate, LocalDate endDate) throws IOException {
+        Path file = folder.resolve(from + to + ".csv");
+        if (!Files.isRegularFile(file)) {
+            return List.of();
+        }
+
+        String currencyPair = CurrencyPairs.symbol(from, to);
+        List<ForexData> rows = new ArrayList<>();
+        int skipped = 0;
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            reader.readLine();
+            for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                ForexData data = parseLine(line, currencyPair);
+                if (data == null) {
+                    skipped++;
+                } else if (!data.getDate().isBefore(startDate) && !data.getDate().isAfter(endDate)) {
+                    rows.add(data);
+                }
+            }
+        }
+        if (skipped > 0) {
+            LOGGER.warn("Skipped {} unreadable lines in {}", skipped, file);
+        }
+        return rows;
+    }
+
+    private static ForexData parseLine(String line, String currencyPair) {
+        String[] cells = line.split(",", -1);
+        if (cells.length < 7) {
+            return null;
+        }
+        try {
+            ForexData data = new ForexData();
+            data.setCurrencyPair(currencyPair);
+            data.setDate(LocalDate.parse(cells[0].trim()));
+            data.setOpen(new BigDecimal(cells[1].trim()));
+            data.setHigh(new BigDecimal(cells[2].trim()));
+            data.setLow(new BigDecimal(cells[3].trim()));
+            data.setClose(new BigDecimal(cells[4].trim()));
+            data.setAdjClose(new BigDecimal(cells[5].trim()));
+            data.setVolume(new BigDecimal(cells[6].trim()));
+            return data;
+        } catch (DateTimeParseException | NumberFormatException e) {
+            return null;
+        }
+    }
+}
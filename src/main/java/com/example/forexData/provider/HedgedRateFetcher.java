@@ -0,0 +1,328 @@
+package com.example.forexData.provider;
+
+import com.example.forexData.model.ForexData;
+import com.example.forexData.model.ProviderStats;
+import com.example.forexData.util.CircuitBreaker;
+import com.example.forexData.util.CurrencyPairs;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.jsoup.HttpStatusException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Fetches bars from the configured {@link RateProvider}s with hedged requests.
+ * <p>
+ * The first provider whose circuit is closed is asked. If it has not answered after its own recent p95 latency,
+ * the next provider is asked as well, and the first answer with rows wins. A provider that fails or has nothing
+ * hands over to the next one at once. Slower calls are not cancelled: they finish in the background so their
+ * latency still counts towards the p95 and their outcome towards the circuit breaker. Consecutive failures open
+ * a provider's circuit, so a dead source is skipped instead of eating the {@code forex.providers.timeout-millis}
+ * budget of every fetch.
+ * <p>
+ * At most {@link RateProvider#maxConcurrency()} calls run against a provider at once. A call waits for a free
+ * slot until the fetch's deadline; that wait is neither part of the provider's latency nor, if it runs out,
+ * one of its failures.
+ * <p>
+ * A 4xx answer other than 429 is a verdict about the request, e.g. a symbol the source does not know, not about
+ * the source. It is reported as a failure of the fetch but counts as a healthy answer for the circuit, so callers
+ * asking for unknown pairs cannot open it for everyone else.
+ */
+@Service
+public class HedgedRateFetcher {
+
+    @Autowired
+    private List<RateProvider> availableProviders;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${forex.providers.order:yahoo}")
+    private List<String> order;
+
+    @Value("${forex.providers.timeout-millis:30000}")
+    private long timeoutMillis;
+
+    @Value("${forex.providers.initial-hedge-delay-millis:2000}")
+    private long initialHedgeDelayMillis;
+
+    @Value("${forex.providers.circuit.failure-threshold:5}")
+    private int failureThreshold;
+
+    @Value("${forex.providers.circuit.open-millis:30000}")
+    private long openMillis;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(HedgedRateFetcher.class);
+
+    // Answers kept per provider for the p95, and how many are needed before it replaces the initial delay
+    private static final int LATENCY_WINDOW = 128;
+    private static final int MIN_LATENCY_SAMPLES = 20;
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    private List<ProviderState> providers;
+
+    @PostConstruct
+    public void init() {
+        List<ProviderState> states = new ArrayList<>(order.size());
+        for (String name : order) {
+            RateProvider provider = availableProviders.stream()
+                    .filter(candidate -> candidate.name().equals(name.trim()))
+                    .findFirst()
+                    .orElseThrow(() -> new IllegalArgumentException("Unknown rate provider: " + name));
+            ProviderState state = new ProviderState(provider, new CircuitBreaker(failureThreshold, openMillis));
+            Gauge.builder("forex.provider.circuit", state.breaker, breaker -> breaker.state().ordinal())
+                    .description("Circuit breaker state: 0 closed, 1 open, 2 half open")
+                    .tag("provider", provider.name())
+                    .register(meterRegistry);
+            Gauge.builder("forex.provider.waiting", state.permits, Semaphore::getQueueLength)
+                    .description("Calls waiting for a free slot under the provider's concurrency limit")
+                    .tag("provider", provider.name())
+                    .register(meterRegistry);
+            states.add(state);
+        }
+        providers = List.copyOf(states);
+        LOGGER.info("Rate providers in order: {}", order);
+    }
+
+    /**
+     * @return the first rows any provider answered with, empty if every provider that answered had none
+     * @throws RateProviderException if no provider returned rows and one failed, timed out or could not be asked
+     */
+    public List<ForexData> fetch(String from, String to, LocalDate startDate, LocalDate endDate) throws IOException {
+        String currencyPair = CurrencyPairs.symbol(from, to);
+        CompletionService<Attempt> completions = new ExecutorCompletionService<>(executor);
+        List<Future<Attempt>> launched = new ArrayList<>(providers.size());
+        List<Exception> failures = new ArrayList<>();
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+
+        int next = launchNext(0, false, deadline, completions, launched, failures, from, to, startDate, endDate);
+        if (launched.isEmpty()) {
+            throw failure("No rate provider available for " + currencyPair, failures);
+        }
+        long hedgeAt = System.nanoTime() + providers.get(next - 1).hedgeDelayNanos(initialHedgeDelayMillis);
+        int inFlight = 1;
+        try {
+            while (inFlight > 0) {
+                long waitUntil = next < providers.size() ? Math.min(hedgeAt, deadline) : deadline;
+                Future<Attempt> done = completions.poll(waitUntil - System.nanoTime(), TimeUnit.NANOSECONDS);
+                if (done == null) {
+                    if (System.nanoTime() - deadline >= 0) {
+                        break;
+                    }
+                    int launchedBefore = launched.size();
+                    next = launchNext(next, true, deadline, completions, launched, failures, from, to, startDate, endDate);
+                    if (launched.size() > launchedBefore) {
+                        inFlight++;
+                        hedgeAt = System.nanoTime() + providers.get(next - 1).hedgeDelayNanos(initialHedgeDelayMillis);
+                    }
+                    continue;
+                }
+
+                inFlight--;
+                Attempt attempt = done.get();
+                if (attempt.rows() != null && !attempt.rows().isEmpty()) {
+                    attempt.state().wins.increment();
+                    return attempt.rows();
+                }
+                if (attempt.failure() != null) {
+                    failures.add(attempt.failure());
+                }
+                if (next < providers.size()) {
+                    // Fail over at once instead of waiting for the hedge delay
+                    int launchedBefore = launched.size();
+                    next = launchNext(next, false, deadline, completions, launched, failures, from, to, startDate, endDate);
+                    if (launched.size() > launchedBefore) {
+                        inFlight++;
+                        hedgeAt = System.nanoTime() + providers.get(next - 1).hedgeDelayNanos(initialHedgeDelayMillis);
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            launched.forEach(future -> future.cancel(true));
+            throw new InterruptedIOException("Interrupted while fetching " + currencyPair);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Provider call failed unexpectedly", e.getCause());
+        }
+
+        if (inFlight > 0) {
+            throw failure("Rate providers timed out after " + timeoutMillis + " ms for " + currencyPair, failures);
+        }
+        if (failures.isEmpty()) {
+            return List.of();
+        }
+        throw failure("All rate providers failed for " + currencyPair, failures);
+    }
+
+    public List<ProviderStats> getStats() {
+        return providers.stream()
+                .map(state -> new ProviderStats(state.provider.name(), state.breaker.state(),
+                        state.hedgeDelayNanos(initialHedgeDelayMillis) / 1_000_000.0, state.successes.sum(),
+                        state.empty.sum(), state.failures.sum(), state.hedges.sum(), state.wins.sum()))
+                .toList();
+    }
+
+    /**
+     * Starts the first provider from {@code index} on whose circuit lets the call through. Providers skipped for
+     * an open circuit count as failures, so an outage is not mistaken for a pair without data.
+     *
+     * @return the index after the started provider, or the provider count if none could be started
+     */
+    private int launchNext(int index, boolean hedge, long deadline, CompletionService<Attempt> completions,
+                           List<Future<Attempt>> launched, List<Exception> failures, String from, String to,
+                           LocalDate startDate, LocalDate endDate) {
+        for (int i = index; i < providers.size(); i++) {
+            ProviderState state = providers.get(i);
+            if (!state.breaker.tryAcquire()) {
+                failures.add(new IOException(state.provider.name() + ": circuit open"));
+                continue;
+            }
+            if (hedge) {
+                state.hedges.increment();
+                LOGGER.info("Hedging {}{} with {}", from, to, state.provider.name());
+            }
+            launched.add(completions.submit(() -> call(state, deadline, from, to, startDate, endDate)));
+            return i + 1;
+        }
+        return providers.size();
+    }
+
+    private Attempt call(ProviderState state, long deadline, String from, String to, LocalDate startDate, LocalDate endDate) {
+        long start = System.nanoTime();
+        String outcome = "error";
+        boolean permitted = false;
+        try {
+            permitted = state.permits.tryAcquire(deadline - start, TimeUnit.NANOSECONDS);
+            if (!permitted) {
+                throw new ProviderBusyException("all " + state.provider.maxConcurrency() + " concurrent calls in use");
+            }
+            start = System.nanoTime();
+            List<ForexData> rows = state.provider.fetch(from, to, startDate, endDate);
+            state.breaker.onSuccess();
+            state.recordLatency(System.nanoTime() - start);
+            outcome = rows.isEmpty() ? "empty" : "success";
+            (rows.isEmpty() ? state.empty : state.successes).increment();
+            return new Attempt(state, rows, null);
+        } catch (Exception e) {
+            if (e instanceof ProviderBusyException) {
+                outcome = "busy";
+                state.breaker.release();
+                LOGGER.warn("Rate provider {} busy for {}{}: {}", state.provider.name(), from, to, e.getMessage());
+            } else if (isRejection(e)) {
+                outcome = "rejected";
+                state.breaker.onSuccess();
+                state.recordLatency(System.nanoTime() - start);
+                LOGGER.warn("Rate provider {} rejected {}{}: {}", state.provider.name(), from, to, e.getMessage());
+            } else if (e instanceof InterruptedException || e instanceof InterruptedIOException
+                    || Thread.currentThread().isInterrupted()) {
+                outcome = "cancelled";
+                state.breaker.release();
+                Thread.currentThread().interrupt();
+            } else {
+                state.breaker.onFailure();
+                state.failures.increment();
+                LOGGER.warn("Rate provider {} failed for {}{}: {}", state.provider.name(), from, to, e.toString());
+            }
+            IOException failure = new IOException(state.provider.name() + ": " + e, e);
+            return new Attempt(state, null, failure);
+        } finally {
+            if (permitted) {
+                state.permits.release();
+            }
+            Timer.builder("forex.provider.fetch")
+                    .description("Duration of a rate provider call")
+                    .tag("provider", state.provider.name())
+                    .tag("outcome", outcome)
+                    .register(meterRegistry)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private static boolean isRejection(Exception e) {
+        return e instanceof HttpStatusException status
+                && status.getStatusCode() >= 400 && status.getStatusCode() < 500 && status.getStatusCode() != 429;
+    }
+
+    private static RateProviderException failure(String message, List<Exception> failures) {
+        StringBuilder text = new StringBuilder(message);
+        for (int i = 0; i < failures.size(); i++) {
+            text.append(i == 0 ? ": " : "; ").append(failures.get(i).getMessage());
+        }
+        RateProviderException exception = new RateProviderException(text.toString());
+        failures.forEach(exception::addSuppressed);
+        return exception;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private record Attempt(ProviderState state, List<ForexData> rows, Exception failure) {
+    }
+
+    private static final class ProviderState {
+
+        private final RateProvider provider;
+        private final CircuitBreaker breaker;
+        private final Semaphore permits;
+        private final long[] latencies = new long[LATENCY_WINDOW];
+        private int recorded;
+        private int nextSlot;
+        private final LongAdder successes = new LongAdder();
+        private final LongAdder empty = new LongAdder();
+        private final LongAdder failures = new LongAdder();
+        private final LongAdder hedges = new LongAdder();
+        private final LongAdder wins = new LongAdder();
+
+        private ProviderState(RateProvider provider, CircuitBreaker breaker) {
+            this.provider = provider;
+            this.breaker = breaker;
+            this.permits = new Semaphore(provider.maxConcurrency(), true);
+        }
+
+        private synchronized void recordLatency(long nanos) {
+            latencies[nextSlot] = nanos;
+            nextSlot = (nextSlot + 1) % LATENCY_WINDOW;
+            recorded = Math.min(recorded + 1, LATENCY_WINDOW);
+        }
+
+        /**
+         * p95 of the recent answers, or the initial delay until enough have been seen.
+         */
+        private long hedgeDelayNanos(long initialDelayMillis) {
+            long[] window;
+            synchronized (this) {
+                if (recorded < MIN_LATENCY_SAMPLES) {
+                    return TimeUnit.MILLISECONDS.toNanos(initialDelayMillis);
+                }
+                window = Arrays.copyOf(latencies, recorded);
+            }
+            Arrays.sort(window);
+            return window[(int) Math.ceil(window.length * 0.95) - 1];
+        }
+    }
+}
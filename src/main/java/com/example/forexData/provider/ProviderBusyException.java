@@ -0,0 +1,14 @@
+package com.example.forexData.provider;
+
+import java.io.IOException;
+
+/**
+ * Every concurrent call a provider allows stayed in use until the fetch's deadline. This is our own back-pressure,
+ * not a failure of the source, so it does not count against the provider's circuit breaker.
+ */
+public class ProviderBusyException extends IOException {
+
+    public ProviderBusyException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.forexData.provider;
+
+import com.example.forexData.model.ForexData;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * A source of daily bars. Implementations are Spring beans; {@code forex.providers.order} lists, by
+ * {@link #name()}, which of them are used and in which order {@link HedgedRateFetcher} tries them.
+ */
+public interface RateProvider {
+
+    /**
+     * Short identifier used in configuration, metrics and error messages, e.g. {@code yahoo}.
+     */
+    String name();
+
+    /**
+     * Fetches the pair's bars dated between {@code startDate} and {@code endDate}, both inclusive, in any order.
+     *
+     * @return the bars, empty if this source has nothing for the pair or the dates
+     * @throws IOException if the source could not be read; failures count against the provider's circuit breaker
+     */
+    List<ForexData> fetch(String from, String to, LocalDate startDate, LocalDate endDate) throws IOException;
+
+    /**
+     * Calls {@link HedgedRateFetcher} lets run against this source at once; further calls wait for a free slot.
+     */
+    default int maxConcurrency() {
+        return Integer.MAX_VALUE;
+    }
+}
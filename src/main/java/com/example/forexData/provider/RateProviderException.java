@@ -0,0 +1,14 @@
+package com.example.forexData.provider;
+
+import java.io.IOException;
+
+/**
+ * No provider returned rows and at least one failed, or none could be asked. The individual provider failures
+ * are attached as suppressed exceptions.
+ */
+public class RateProviderException extends IOException {
+
+    public RateProviderException(String message) {
+        super(message);
+    }
+}
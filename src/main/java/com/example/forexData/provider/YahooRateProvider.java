@@ -0,0 +1,150 @@
+package com.example.forexData.provider;
+
+import com.example.forexData.model.CurrencyPairRequest;
+import com.example.forexData.model.ForexData;
+import com.example.forexData.parser.HistoryPageParser;
+import com.example.forexData.parser.JsoupHistoryPageParser;
+import com.example.forexData.parser.StreamingHistoryPageParser;
+import com.example.forexData.store.ForexTimeSeriesStore;
+import com.example.forexData.util.CurrencyPairs;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import org.jsoup.Jsoup;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Scrapes the Yahoo Finance history page, restricted to the dates through its period1/period2 parameters.
+ * <p>
+ * At most {@code forex.scrape.max-outbound-concurrency} requests are open at once, whatever started them: API
+ * scrapes, scheduled jobs, backfills and the warm-up all queue in {@link HedgedRateFetcher} for the same slots.
+ */
+@Component
+public class YahooRateProvider implements RateProvider {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${forex.scrape.base-url:https://finance.yahoo.com}")
+    private String baseUrl;
+
+    @Value("${forex.scrape.timeout-millis:30000}")
+    private int timeoutMillis;
+
+    @Value("${forex.scrape.max-outbound-concurrency:8}")
+    private int maxOutboundConcurrency;
+
+    @Value("${forex.scrape.pairs:USDINR}")
+    private List<String> configuredPairs;
+
+    @Autowired
+    private ForexTimeSeriesStore forexTimeSeriesStore;
+
+    private Set<String> configuredSymbols;
+
+    private HistoryPageParser historyPageParser;
+
+    private String parserName;
+
+    @Value("${forex.scrape.parser:streaming}")
+    public void setParser(String parser) {
+        this.historyPageParser = switch (parser) {
+            case "streaming" -> new StreamingHistoryPageParser();
+            case "jsoup" -> new JsoupHistoryPageParser();
+            default -> throw new IllegalArgumentException("Invalid parser: " + parser);
+        };
+        this.parserName = parser;
+    }
+
+    @PostConstruct
+    public void registerMetrics() {
+        configuredSymbols = configuredPairs.stream()
+                .map(CurrencyPairRequest::parse)
+                .map(pair -> CurrencyPairs.symbol(pair.from(), pair.to()))
+                .collect(Collectors.toUnmodifiableSet());
+        FunctionCounter.builder("forex.parse.rows.skipped", historyPageParser, HistoryPageParser::skippedRows)
+                .description("History rows skipped as incomplete or unreadable")
+                .tag("parser", parserName)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public String name() {
+        return "yahoo";
+    }
+
+    @Override
+    public List<ForexData> fetch(String from, String to, LocalDate startDate, LocalDate endDate) throws IOException {
+        String currencyPair = CurrencyPairs.symbol(from, to);
+        String url = baseUrl + "/quote/" + currencyPair + "/history?period1=" + epochSecond(startDate)
+                + "&period2=" + epochSecond(endDate.plusDays(1));
+        String html = fetchPage(currencyPair, url);
+        return parsePage(html, currencyPair, startDate, endDate);
+    }
+
+    @Override
+    public int maxConcurrency() {
+        return maxOutboundConcurrency;
+    }
+
+    public String getBaseUrl() {
+        return baseUrl;
+    }
+
+    private String fetchPage(String currencyPair, String url) throws IOException {
+        long start = System.nanoTime();
+        String outcome = "error";
+        try {
+            String html = Jsoup.connect(url).timeout(timeoutMillis).execute().body();
+            outcome = "success";
+            return html;
+        } finally {
+            Timer.builder("forex.scrape.fetch")
+                    .description("Round-trip time of a Yahoo history page request")
+                    .tag("pair", pairTag(currencyPair))
+                    .tag("outcome", outcome)
+                    .register(meterRegistry)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Any caller can ask for any pair of valid codes, so only configured and stored pairs get their own timer
+     * series; the rest share {@code other} to keep the number of series bounded.
+     */
+    private String pairTag(String currencyPair) {
+        return configuredSymbols.contains(currencyPair) || forexTimeSeriesStore.contains(currencyPair) ? currencyPair : "other";
+    }
+
+    private List<ForexData> parsePage(String html, String currencyPair, LocalDate startDate, LocalDate endDate) {
+        long start = System.nanoTime();
+        List<ForexData> rows = historyPageParser.parse(html, currencyPair, startDate, endDate);
+        Timer.builder("forex.parse")
+                .description("Time to extract rows from a history page")
+                .tag("parser", parserName)
+                .register(meterRegistry)
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        Counter.builder("forex.parse.rows")
+                .description("History rows parsed")
+                .tag("parser", parserName)
+                .register(meterRegistry)
+                .increment(rows.size());
+        return rows;
+    }
+
+    private static long epochSecond(LocalDate date) {
+        return date.atStartOfDay(ZoneOffset.UTC).toEpochSecond();
+    }
+}
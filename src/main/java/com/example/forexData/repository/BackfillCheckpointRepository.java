@@ -0,0 +1,7 @@
+package com.example.forexData.repository;
+
+import com.example.forexData.model.BackfillCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface BackfillCheckpointRepository extends JpaRepository<BackfillCheckpoint, String> {
+}
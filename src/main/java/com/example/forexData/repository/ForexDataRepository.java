@@ -1,9 +1,37 @@
 package com.example.forexData.repository;
 
 import com.example.forexData.model.ForexData;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.util.List;
+
 @Repository
-public interface ForexDataRepository extends JpaRepository<ForexData, Long> {
+public interface ForexDataRepository extends JpaRepository<ForexData, Long>, ForexDataRepositoryCustom {
+
+    List<ForexData> findByCurrencyPairAndDateBetweenOrderByDateAsc(String currencyPair, LocalDate startDate, LocalDate endDate);
+
+    /**
+     * Keyset page over one pair's rows, ordered by (date, id) and starting strictly after the given cursor.
+     * Served by the (currency_pair, date) index; no OFFSET scan.
+     */
+    @Query("select f from ForexData f " +
+            "where f.currencyPair = :currencyPair and f.date between :startDate and :endDate " +
+            "and (f.date > :afterDate or (f.date = :afterDate and f.id > :afterId)) " +
+            "order by f.date asc, f.id asc")
+    List<ForexData> findRangePage(@Param("currencyPair") String currencyPair,
+                                  @Param("startDate") LocalDate startDate,
+                                  @Param("endDate") LocalDate endDate,
+                                  @Param("afterDate") LocalDate afterDate,
+                                  @Param("afterId") Long afterId,
+                                  Limit limit);
+
+    List<ForexData> findByIdGreaterThanOrderByIdAsc(Long afterId, Limit limit);
+
+    @Query("select max(f.date) from ForexData f where f.currencyPair = :currencyPair")
+    LocalDate findLatestDate(@Param("currencyPair") String currencyPair);
 }
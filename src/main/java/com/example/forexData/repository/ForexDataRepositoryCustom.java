@@ -0,0 +1,30 @@
+package com.example.forexData.repository;
+
+import com.example.forexData.model.ForexData;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
+
+public interface ForexDataRepositoryCustom {
+
+    /**
+     * Inserts or updates rows keyed by (currency_pair, date) using JDBC batches, so overlapping scrapes
+     * never duplicate a day and N rows cost N / batch-size round-trips.
+     *
+     * @return the number of rows written
+     */
+    int upsertAll(List<ForexData> dataList);
+
+    /**
+     * Streams every row ordered by pair and date through a JDBC cursor, without keeping entities in a persistence context.
+     */
+    void forEachOrderedByPairAndDate(Consumer<ForexData> consumer);
+
+    /**
+     * Streams rows of the given pairs (all pairs when empty) dated between {@code startDate} and {@code endDate},
+     * both inclusive, ordered by pair and date through a JDBC cursor.
+     */
+    void forEachInRange(Collection<String> currencyPairs, LocalDate startDate, LocalDate endDate, Consumer<ForexData> consumer);
+}
@@ -0,0 +1,127 @@
+package com.example.forexData.repository;
+
+import com.example.forexData.model.ForexData;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+public class ForexDataRepositoryCustomImpl implements ForexDataRepositoryCustom {
+
+    // Standard SQL MERGE, understood by both H2 and PostgreSQL 15+.
+    private static final String UPSERT_SQL =
+            "MERGE INTO forex_data t " +
+            "USING (VALUES (CAST(? AS VARCHAR(255)), CAST(? AS DATE), CAST(? AS DECIMAL(10, 5)), CAST(? AS DECIMAL(10, 5)), " +
+            "CAST(? AS DECIMAL(10, 5)), CAST(? AS DECIMAL(10, 5)), CAST(? AS DECIMAL(10, 5)), CAST(? AS DECIMAL(20, 5)))) " +
+            "AS s (currency_pair, date, open, high, low, close, adj_close, volume) " +
+            "ON t.currency_pair = s.currency_pair AND t.date = s.date " +
+            "WHEN MATCHED THEN UPDATE SET open = s.open, high = s.high, low = s.low, close = s.close, " +
+            "adj_close = s.adj_close, volume = s.volume " +
+            "WHEN NOT MATCHED THEN INSERT (currency_pair, date, open, high, low, close, adj_close, volume) " +
+            "VALUES (s.currency_pair, s.date, s.open, s.high, s.low, s.close, s.adj_close, s.volume)";
+
+    private static final String SCAN_SQL =
+            "SELECT id, currency_pair, date, open, high, low, close, adj_close, volume FROM forex_data ";
+
+    private static final String SCAN_ORDER = "ORDER BY currency_pair, date";
+
+    private static final int SCAN_FETCH_SIZE = 1000;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${forex.persistence.batch-size:500}")
+    private int batchSize;
+
+    @Override
+    @Transactional
+    public int upsertAll(List<ForexData> dataList) {
+        if (dataList.isEmpty()) {
+            return 0;
+        }
+        long start = System.nanoTime();
+        jdbcTemplate.batchUpdate(UPSERT_SQL, dataList, batchSize, (ps, data) -> {
+            ps.setString(1, data.getCurrencyPair());
+            ps.setDate(2, Date.valueOf(data.getDate()));
+            ps.setBigDecimal(3, data.getOpen());
+            ps.setBigDecimal(4, data.getHigh());
+            ps.setBigDecimal(5, data.getLow());
+            ps.setBigDecimal(6, data.getClose());
+            ps.setBigDecimal(7, data.getAdjClose());
+            ps.setBigDecimal(8, data.getVolume());
+        });
+        Timer.builder("forex.persistence.upsert")
+                .description("Time to upsert one list of rows in JDBC batches")
+                .register(meterRegistry)
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        DistributionSummary.builder("forex.persistence.upsert.rows")
+                .description("Rows per upsert call")
+                .register(meterRegistry)
+                .record(dataList.size());
+        return dataList.size();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void forEachOrderedByPairAndDate(Consumer<ForexData> consumer) {
+        scan(SCAN_SQL + SCAN_ORDER, List.of(), consumer);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void forEachInRange(Collection<String> currencyPairs, LocalDate startDate, LocalDate endDate, Consumer<ForexData> consumer) {
+        List<Object> args = new ArrayList<>(currencyPairs.size() + 2);
+        StringBuilder sql = new StringBuilder(SCAN_SQL).append("WHERE date BETWEEN ? AND ? ");
+        args.add(Date.valueOf(startDate));
+        args.add(Date.valueOf(endDate));
+        if (!currencyPairs.isEmpty()) {
+            sql.append("AND currency_pair IN (").append(String.join(", ", Collections.nCopies(currencyPairs.size(), "?"))).append(") ");
+            args.addAll(currencyPairs);
+        }
+        scan(sql.append(SCAN_ORDER).toString(), args, consumer);
+    }
+
+    private void scan(String sql, List<Object> args, Consumer<ForexData> consumer) {
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(sql);
+            statement.setFetchSize(SCAN_FETCH_SIZE);
+            for (int i = 0; i < args.size(); i++) {
+                statement.setObject(i + 1, args.get(i));
+            }
+            return statement;
+        }, (RowCallbackHandler) rs -> consumer.accept(mapRow(rs)));
+    }
+
+    private static ForexData mapRow(ResultSet rs) throws SQLException {
+        ForexData data = new ForexData();
+        data.setId(rs.getLong("id"));
+        data.setCurrencyPair(rs.getString("currency_pair"));
+        data.setDate(rs.getDate("date").toLocalDate());
+        data.setOpen(rs.getBigDecimal("open"));
+        data.setHigh(rs.getBigDecimal("high"));
+        data.setLow(rs.getBigDecimal("low"));
+        data.setClose(rs.getBigDecimal("close"));
+        data.setAdjClose(rs.getBigDecimal("adj_close"));
+        data.setVolume(rs.getBigDecimal("volume"));
+        return data;
+    }
+}
@@ -0,0 +1,227 @@
+package com.example.forexData.service;
+
+import com.example.forexData.model.BackfillCheckpoint;
+import com.example.forexData.model.BackfillReport;
+import com.example.forexData.model.BackfillResult;
+import com.example.forexData.model.CurrencyPairRequest;
+import com.example.forexData.model.ForexData;
+import com.example.forexData.model.ScrapeJobStatus;
+import com.example.forexData.model.ScrapeJobStatus.Priority;
+import com.example.forexData.provider.RateProviderException;
+import com.example.forexData.repository.BackfillCheckpointRepository;
+import com.example.forexData.util.CurrencyPairs;
+import com.example.forexData.util.TokenBucket;
+import jakarta.annotation.PostConstruct;
+import org.jsoup.HttpStatusException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Loads long histories that the default history page cannot reach.
+ * <p>
+ * The range is split into chunks of {@code forex.backfill.chunk-days}, fetched oldest first. Every request
+ * takes a permit from a token bucket shared by all pairs, and failed requests are retried with exponential
+ * backoff. Each chunk is upserted in JDBC batches before the pair's checkpoint moves past it, so a backfill
+ * that crashes or gives up can be rerun with the same start date and continues from the first missing chunk.
+ * The rerun may end later, as an open-ended backfill does when it is rerun on a later day.
+ */
+@Service
+public class BackfillService {
+
+    @Autowired
+    private ForexScraperService forexScraperService;
+
+    @Autowired
+    private BackfillCheckpointRepository backfillCheckpointRepository;
+
+    @Autowired
+    private ScrapeJobService scrapeJobService;
+
+    @Value("${forex.backfill.chunk-days:90}")
+    private int chunkDays;
+
+    @Value("${forex.backfill.requests-per-second:1}")
+    private double requestsPerSecond;
+
+    @Value("${forex.backfill.burst:2}")
+    private int burst;
+
+    @Value("${forex.backfill.max-attempts:4}")
+    private int maxAttempts;
+
+    @Value("${forex.backfill.initial-backoff-millis:1000}")
+    private long initialBackoffMillis;
+
+    @Value("${forex.backfill.max-backoff-millis:30000}")
+    private long maxBackoffMillis;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(BackfillService.class);
+
+    private TokenBucket rateLimiter;
+
+    @PostConstruct
+    public void start() {
+        rateLimiter = new TokenBucket(requestsPerSecond, burst);
+    }
+
+    /**
+     * Queues the backfill as a low priority job whose result is a {@link BackfillReport}.
+     */
+    public ScrapeJobStatus submit(List<CurrencyPairRequest> pairs, LocalDate startDate, LocalDate endDate) {
+        String description = "backfill of " + pairs.size() + " pairs " + startDate + ".." + endDate;
+        return scrapeJobService.submit("backfill " + pairs + " " + startDate + " " + endDate, description,
+                Priority.LOW, () -> backfillAll(pairs, startDate, endDate));
+    }
+
+    public BackfillReport backfillAll(List<CurrencyPairRequest> pairs, LocalDate startDate, LocalDate endDate) {
+        long start = System.nanoTime();
+        List<BackfillResult> results = new ArrayList<>(pairs.size());
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<BackfillResult>> futures = new ArrayList<>(pairs.size());
+            for (CurrencyPairRequest pair : pairs) {
+                futures.add(executor.submit(() -> backfill(pair.from(), pair.to(), startDate, endDate)));
+            }
+            for (int i = 0; i < futures.size(); i++) {
+                try {
+                    results.add(futures.get(i).get());
+                } catch (ExecutionException e) {
+                    String currencyPair = CurrencyPairs.symbol(pairs.get(i).from(), pairs.get(i).to());
+                    results.add(new BackfillResult(currencyPair, BackfillResult.Status.FAILED, null, null, 0, 0, 0,
+                            e.getCause().toString()));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    executor.shutdownNow();
+                    throw new IllegalStateException("Interrupted while waiting for backfill results", e);
+                }
+            }
+        }
+
+        int completed = (int) results.stream().filter(result -> result.status() == BackfillResult.Status.COMPLETED).count();
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        LOGGER.info("Backfilled {} pairs from {} to {} in {} ms: {} completed, {} failed",
+                pairs.size(), startDate, endDate, elapsedMillis, completed, pairs.size() - completed);
+        return new BackfillReport(startDate, endDate, pairs.size(), completed, pairs.size() - completed, elapsedMillis, results);
+    }
+
+    /**
+     * Backfills one pair, resuming from its checkpoint when the previous run started on the same day and has not
+     * got past {@code endDate}. The checkpoint's end then moves to {@code endDate}.
+     */
+    public BackfillResult backfill(String from, String to, LocalDate startDate, LocalDate endDate) {
+        String currencyPair = CurrencyPairs.symbol(from, to);
+        long start = System.nanoTime();
+
+        BackfillCheckpoint checkpoint = backfillCheckpointRepository.findById(currencyPair)
+                .filter(existing -> startDate.equals(existing.getStartDate())
+                        && (existing.getCompletedThrough() == null || !existing.getCompletedThrough().isAfter(endDate)))
+                .orElseGet(() -> newCheckpoint(currencyPair, startDate, endDate));
+        checkpoint.setEndDate(endDate);
+        LocalDate resumedFrom = checkpoint.getCompletedThrough() != null
+                ? checkpoint.getCompletedThrough().plusDays(1)
+                : startDate;
+        if (resumedFrom.isAfter(startDate)) {
+            LOGGER.info("Resuming backfill of {} from {}", currencyPair, resumedFrom);
+        }
+
+        int chunks = 0;
+        long rows = 0;
+        try {
+            for (LocalDate chunkStart = resumedFrom; !chunkStart.isAfter(endDate); chunkStart = chunkStart.plusDays(chunkDays)) {
+                LocalDate chunkEnd = min(chunkStart.plusDays(chunkDays - 1L), endDate);
+                List<ForexData> chunk = fetchWithRetry(from, to, chunkStart, chunkEnd);
+                int saved = chunk.isEmpty() ? 0 : forexScraperService.saveExchangeRates(currencyPair, chunk).size();
+                rows += saved;
+                chunks++;
+
+                checkpoint.setCompletedThrough(chunkEnd);
+                checkpoint.setRowsSaved(checkpoint.getRowsSaved() + saved);
+                checkpoint.setUpdatedAt(Instant.now());
+                checkpoint = backfillCheckpointRepository.save(checkpoint);
+            }
+        } catch (IOException | RuntimeException e) {
+            LOGGER.error("Backfill of {} stopped after {}", currencyPair, checkpoint.getCompletedThrough(), e);
+            return new BackfillResult(currencyPair, BackfillResult.Status.FAILED, resumedFrom, checkpoint.getCompletedThrough(),
+                    chunks, rows, elapsedMillis(start), e.toString());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return new BackfillResult(currencyPair, BackfillResult.Status.FAILED, resumedFrom, checkpoint.getCompletedThrough(),
+                    chunks, rows, elapsedMillis(start), "Interrupted");
+        }
+
+        LOGGER.info("Backfilled {} from {} to {}: {} chunks, {} rows", currencyPair, resumedFrom, endDate, chunks, rows);
+        return new BackfillResult(currencyPair, BackfillResult.Status.COMPLETED, resumedFrom, checkpoint.getCompletedThrough(),
+                chunks, rows, elapsedMillis(start), null);
+    }
+
+    private List<ForexData> fetchWithRetry(String from, String to, LocalDate startDate, LocalDate endDate)
+            throws IOException, InterruptedException {
+        long backoffMillis = initialBackoffMillis;
+        for (int attempt = 1; ; attempt++) {
+            rateLimiter.acquire();
+            try {
+                return forexScraperService.fetchHistoryChunk(from, to, startDate, endDate);
+            } catch (IOException e) {
+                if (attempt >= maxAttempts || !isRetryable(e)) {
+                    throw e;
+                }
+                // Equal jitter: half the backoff plus a random share of the other half.
+                long sleepMillis = backoffMillis / 2 + ThreadLocalRandom.current().nextLong(backoffMillis / 2 + 1);
+                LOGGER.warn("Attempt {} for {}{} {}..{} failed ({}), retrying in {} ms",
+                        attempt, from, to, startDate, endDate, e.getMessage(), sleepMillis);
+                Thread.sleep(sleepMillis);
+                backoffMillis = Math.min(backoffMillis * 2, maxBackoffMillis);
+            }
+        }
+    }
+
+    /**
+     * Client errors other than 429 will not go away on their own. When every provider failed, the chunk is
+     * retried if any of them might answer next time.
+     */
+    private static boolean isRetryable(IOException e) {
+        if (e instanceof RateProviderException) {
+            for (Throwable failure : e.getSuppressed()) {
+                if (!(failure.getCause() instanceof IOException cause) || isRetryable(cause)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        if (e instanceof HttpStatusException status) {
+            return status.getStatusCode() == 429 || status.getStatusCode() >= 500;
+        }
+        return true;
+    }
+
+    private static BackfillCheckpoint newCheckpoint(String currencyPair, LocalDate startDate, LocalDate endDate) {
+        BackfillCheckpoint checkpoint = new BackfillCheckpoint();
+        checkpoint.setCurrencyPair(currencyPair);
+        checkpoint.setStartDate(startDate);
+        checkpoint.setEndDate(endDate);
+        checkpoint.setUpdatedAt(Instant.now());
+        return checkpoint;
+    }
+
+    private static LocalDate min(LocalDate a, LocalDate b) {
+        return a.isBefore(b) ? a : b;
+    }
+
+    private static long elapsedMillis(long startNanos) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+    }
+}
@@ -0,0 +1,275 @@
+package com.example.forexData.service;
+
+import com.example.forexData.event.ForexDataSavedEvent;
+import com.example.forexData.model.ForexData;
+import com.example.forexData.store.ForexTimeSeriesStore;
+import com.example.forexData.store.PairSeries;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pushes newly saved bars to subscribers of the change feed.
+ * <p>
+ * Publishing never blocks and takes no lock. Each subscriber has its own queue, bounded at
+ * {@code forex.feed.buffer-size} events, which a virtual thread drains into the subscriber's connection only
+ * while there is something to send. A subscriber whose queue is full is dropped rather than slowing down the
+ * scrape or the other subscribers. It is told so if it is still reading, and catches up through
+ * {@code /range} after reconnecting.
+ * <p>
+ * Only rows that are new or whose values changed are sent. The listener runs before the time-series store
+ * merges the rows, so it can compare them with the bars stored so far.
+ */
+@Service
+public class ChangeFeedService {
+
+    @Autowired
+    private ForexTimeSeriesStore forexTimeSeriesStore;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${forex.feed.buffer-size:256}")
+    private int bufferSize;
+
+    @Value("${forex.feed.max-subscribers:10000}")
+    private int maxSubscribers;
+
+    @Value("${forex.feed.heartbeat-millis:15000}")
+    private long heartbeatMillis;
+
+    @Value("${forex.feed.timeout-millis:1800000}")
+    private long timeoutMillis;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ChangeFeedService.class);
+
+    private static final Object HEARTBEAT = new Object();
+
+    private final Set<Subscription> subscriptions = ConcurrentHashMap.newKeySet();
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    private final ScheduledExecutorService heartbeats = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().daemon().name("feed-heartbeat").factory());
+
+    private Counter sentEvents;
+
+    private Counter droppedSubscribers;
+
+    /**
+     * Where a subscription's events are written, e.g. an SSE connection. Calls for one subscription never overlap.
+     */
+    public interface Sink {
+
+        void send(String event, Object data) throws IOException;
+
+        /**
+         * Keeps idle connections open through proxies and detects clients that went away.
+         */
+        void heartbeat() throws IOException;
+
+        void complete();
+    }
+
+    @PostConstruct
+    public void start() {
+        Gauge.builder("forex.feed.subscribers", subscriptions, Set::size)
+                .description("Open change feed subscriptions")
+                .register(meterRegistry);
+        sentEvents = Counter.builder("forex.feed.events")
+                .description("Change feed events written to subscribers")
+                .register(meterRegistry);
+        droppedSubscribers = Counter.builder("forex.feed.dropped")
+                .description("Subscribers dropped because their buffer was full")
+                .register(meterRegistry);
+        heartbeats.scheduleAtFixedRate(this::sendHeartbeats, heartbeatMillis, heartbeatMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * @param currencyPairs symbols such as {@code USDINR=X} to receive, every pair when empty
+     * @throws RejectedExecutionException if {@code forex.feed.max-subscribers} are already subscribed
+     */
+    public Subscription subscribe(Set<String> currencyPairs, Sink sink) {
+        if (subscriptions.size() >= maxSubscribers) {
+            throw new RejectedExecutionException("Change feed is at its limit of " + maxSubscribers + " subscribers");
+        }
+        Subscription subscription = new Subscription(Set.copyOf(currencyPairs), sink);
+        subscriptions.add(subscription);
+        return subscription;
+    }
+
+    /**
+     * How long a connection stays open before the client has to reconnect.
+     */
+    public long getTimeoutMillis() {
+        return timeoutMillis;
+    }
+
+    public int getSubscriberCount() {
+        return subscriptions.size();
+    }
+
+    @EventListener
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onForexDataSaved(ForexDataSavedEvent event) {
+        if (subscriptions.isEmpty()) {
+            return;
+        }
+        List<ForexData> changed = changedRows(event);
+        if (changed.isEmpty()) {
+            return;
+        }
+        for (Subscription subscription : subscriptions) {
+            if (subscription.currencyPairs.isEmpty() || subscription.currencyPairs.contains(event.currencyPair())) {
+                subscription.offer(changed);
+            }
+        }
+    }
+
+    private List<ForexData> changedRows(ForexDataSavedEvent event) {
+        PairSeries.Snapshot stored = forexTimeSeriesStore.snapshot(event.currencyPair());
+        List<ForexData> changed = new ArrayList<>();
+        for (ForexData data : event.rows()) {
+            int day = (int) data.getDate().toEpochDay();
+            int index = stored.floorIndex(day);
+            if (index < 0 || stored.day(index) != day
+                    || stored.open(index) != PairSeries.toFixed(data.getOpen())
+                    || stored.high(index) != PairSeries.toFixed(data.getHigh())
+                    || stored.low(index) != PairSeries.toFixed(data.getLow())
+                    || stored.close(index) != PairSeries.toFixed(data.getClose())
+                    || stored.adjClose(index) != PairSeries.toFixed(data.getAdjClose())
+                    || stored.volume(index) != PairSeries.toFixed(data.getVolume())) {
+                changed.add(data);
+            }
+        }
+        return changed;
+    }
+
+    private void sendHeartbeats() {
+        for (Subscription subscription : subscriptions) {
+            if (subscription.queued.get() == 0) {
+                subscription.offer(HEARTBEAT);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        heartbeats.shutdownNow();
+        subscriptions.forEach(Subscription::close);
+        executor.shutdownNow();
+    }
+
+    public final class Subscription {
+
+        private final Set<String> currencyPairs;
+        private final Sink sink;
+        private final Queue<Object> queue = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger queued = new AtomicInteger();
+        // Work-in-progress counter: the thread that moves it from zero starts the drain
+        private final AtomicInteger wip = new AtomicInteger();
+        private volatile boolean dropped;
+        private volatile boolean closed;
+
+        private Subscription(Set<String> currencyPairs, Sink sink) {
+            this.currencyPairs = currencyPairs;
+            this.sink = sink;
+        }
+
+        /**
+         * Stops delivery, e.g. once the client has disconnected.
+         */
+        public void close() {
+            closed = true;
+            subscriptions.remove(this);
+        }
+
+        private void offer(Object item) {
+            if (closed || dropped) {
+                return;
+            }
+            if (queued.incrementAndGet() > bufferSize) {
+                queued.decrementAndGet();
+                dropped = true;
+                subscriptions.remove(this);
+                droppedSubscribers.increment();
+                LOGGER.warn("Dropped change feed subscriber for {}: {} events buffered", currencyPairs, bufferSize);
+            } else {
+                queue.offer(item);
+            }
+            if (wip.getAndIncrement() == 0) {
+                try {
+                    executor.execute(this::drain);
+                } catch (RejectedExecutionException e) {
+                    close();
+                }
+            }
+        }
+
+        private void drain() {
+            int missed = 1;
+            do {
+                if (dropped) {
+                    queue.clear();
+                    finish("dropped", Map.of("msg", "Subscriber too slow, reconnect and catch up through /range"));
+                    return;
+                }
+                for (Object item = queue.poll(); item != null && !closed; item = queue.poll()) {
+                    queued.decrementAndGet();
+                    try {
+                        if (item == HEARTBEAT) {
+                            sink.heartbeat();
+                        } else {
+                            sink.send("rates", item);
+                            sentEvents.increment();
+                        }
+                    } catch (IOException | RuntimeException e) {
+                        // The client went away
+                        close();
+                        sink.complete();
+                        return;
+                    }
+                }
+                if (closed) {
+                    return;
+                }
+                missed = wip.addAndGet(-missed);
+            } while (missed != 0);
+        }
+
+        private void finish(String event, Object data) {
+            close();
+            try {
+                sink.send(event, data);
+            } catch (IOException | RuntimeException e) {
+                LOGGER.debug("Could not notify dropped subscriber", e);
+            }
+            sink.complete();
+        }
+    }
+}
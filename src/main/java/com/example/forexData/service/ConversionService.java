@@ -0,0 +1,89 @@
+package com.example.forexData.service;
+
+import com.example.forexData.model.Conversion;
+import com.example.forexData.model.ConversionRequest;
+import com.example.forexData.store.PairSeries;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Converts amounts at the close of a given day. Rates come from the time-series store: each leg of the pair,
+ * as resolved by {@link CrossRateService}, is a binary search over the leg's epoch days, so a lookup neither
+ * queries the database nor allocates.
+ * <p>
+ * A day without a bar (weekend, holiday), or whose bar has no close, uses the last trading day before it, up to
+ * {@code forex.convert.max-fallback-days} back. Legs fall back independently and the earliest day used is reported.
+ */
+@Service
+public class ConversionService {
+
+    @Autowired
+    private CrossRateService crossRateService;
+
+    @Value("${forex.convert.max-fallback-days:7}")
+    private int maxFallbackDays;
+
+    private static final MathContext PRECISION = new MathContext(10);
+
+    public Conversion convert(String from, String to, LocalDate date, BigDecimal amount) {
+        return convert(from.equals(to) ? List.of() : resolveLegs(from, to), from, to, date, amount);
+    }
+
+    /**
+     * Converts every request, resolving each distinct pair's legs once.
+     */
+    public List<Conversion> convertAll(List<ConversionRequest> requests) {
+        Map<String, List<CrossRateService.Leg>> legsByPair = new HashMap<>();
+        List<Conversion> conversions = new ArrayList<>(requests.size());
+        for (ConversionRequest request : requests) {
+            List<CrossRateService.Leg> legs = request.from().equals(request.to()) ? List.of()
+                    : legsByPair.computeIfAbsent(request.from() + request.to(), pair -> resolveLegs(request.from(), request.to()));
+            conversions.add(convert(legs, request.from(), request.to(), request.date(), request.amount()));
+        }
+        return conversions;
+    }
+
+    private List<CrossRateService.Leg> resolveLegs(String from, String to) {
+        try {
+            return crossRateService.resolveLegs(from, to);
+        } catch (IllegalArgumentException e) {
+            return List.of();
+        }
+    }
+
+    private Conversion convert(List<CrossRateService.Leg> legs, String from, String to, LocalDate date, BigDecimal amount) {
+        if (from.equals(to)) {
+            return new Conversion(from, to, date, date, BigDecimal.ONE, amount, amount, List.of());
+        }
+        int day = (int) date.toEpochDay();
+        int rateDay = day;
+        double rate = legs.isEmpty() ? Double.NaN : 1;
+        for (CrossRateService.Leg leg : legs) {
+            int index = leg.series().floorCloseIndex(day);
+            if (index < 0 || day - leg.series().day(index) > maxFallbackDays) {
+                rate = Double.NaN;
+                break;
+            }
+            rate *= leg.close(index);
+            rateDay = Math.min(rateDay, leg.series().day(index));
+        }
+        if (!Double.isFinite(rate)) {
+            return new Conversion(from, to, date, null, null, amount, null, List.of());
+        }
+
+        BigDecimal rateValue = BigDecimal.valueOf(rate).round(PRECISION);
+        return new Conversion(from, to, date, LocalDate.ofEpochDay(rateDay), rateValue, amount,
+                amount.multiply(rateValue).setScale(PairSeries.SCALE, RoundingMode.HALF_UP),
+                legs.stream().map(CrossRateService.Leg::name).toList());
+    }
+}
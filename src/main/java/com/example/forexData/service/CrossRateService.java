@@ -0,0 +1,263 @@
+package com.example.forexData.service;
+
+import com.example.forexData.event.ForexDataSavedEvent;
+import com.example.forexData.model.CrossRateSeries;
+import com.example.forexData.model.OhlcBar;
+import com.example.forexData.store.ForexTimeSeriesStore;
+import com.example.forexData.store.PairSeries;
+import com.example.forexData.util.CurrencyPairs;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Derives any pair from series stored against a base currency, e.g. GBPINR = GBPUSD x USDINR.
+ * <p>
+ * Only pairs involving the base currency need to be scraped, so storage grows linearly with the number of
+ * currencies. Each leg is used as stored or inverted, the legs are joined on their common dates, and the
+ * derived series is cached until one of its legs, or the pair itself, is saved.
+ */
+@Service
+public class CrossRateService {
+
+    @Autowired
+    private ForexTimeSeriesStore forexTimeSeriesStore;
+
+    @Value("${forex.cross.base-currency:USD}")
+    private String baseCurrency;
+
+    @Value("${forex.cross.cache-max-entries:256}")
+    private int maxEntries;
+
+    private static final MathContext PRECISION = new MathContext(10);
+
+    private final Map<String, DerivedSeries> derived = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, DerivedSeries> eldest) {
+            return size() > maxEntries;
+        }
+    };
+
+    public String getBaseCurrency() {
+        return baseCurrency;
+    }
+
+    /**
+     * @throws IllegalArgumentException if neither the pair nor the legs through the base currency are stored
+     */
+    public CrossRateSeries getCrossRates(String from, String to, LocalDate startDate, LocalDate endDate) {
+        String currencyPair = CurrencyPairs.symbol(from, to);
+        DerivedSeries series;
+        synchronized (derived) {
+            series = derived.get(currencyPair);
+        }
+        if (series == null) {
+            List<Leg> legs = resolveLegs(from, to);
+            if (legs.size() == 1 && !legs.get(0).inverted()) {
+                // Stored as requested: nothing to derive or cache
+                return new CrossRateSeries(currencyPair, List.of(currencyPair), legs.get(0).series().range(startDate, endDate));
+            }
+            series = derive(legs);
+            synchronized (derived) {
+                // A leg saved since its snapshot was taken may have been invalidated already; caching the series
+                // derived from the old snapshot would then outlive the invalidation
+                if (isCurrent(legs)) {
+                    derived.put(currencyPair, series);
+                }
+            }
+        }
+        return new CrossRateSeries(currencyPair, series.legNames(), series.range(startDate, endDate));
+    }
+
+    /**
+     * Runs after the time-series store has merged the rows, so a series derived again once this returns is built
+     * from them. Drops series built from the saved pair, and a series derived for the saved pair or its inverse,
+     * which is now read from the stored pair instead.
+     */
+    @EventListener
+    @Order(1)
+    public void onForexDataSaved(ForexDataSavedEvent event) {
+        String currencyPair = event.currencyPair();
+        String inversePair = CurrencyPairs.symbol(currencyPair.substring(3, 6), currencyPair.substring(0, 3));
+        synchronized (derived) {
+            derived.entrySet().removeIf(entry -> entry.getKey().equals(currencyPair) || entry.getKey().equals(inversePair)
+                    || entry.getValue().dependsOn(currencyPair));
+        }
+    }
+
+    /**
+     * Resolves the stored series that make up {@code from -> to}: the pair itself, its inverse, or one leg
+     * into the base currency and one leg out of it.
+     */
+    public List<Leg> resolveLegs(String from, String to) {
+        Leg direct = leg(from, to);
+        if (direct != null) {
+            return List.of(direct);
+        }
+        if (!from.equals(baseCurrency) && !to.equals(baseCurrency)) {
+            Leg toBase = leg(from, baseCurrency);
+            Leg fromBase = leg(baseCurrency, to);
+            if (toBase != null && fromBase != null) {
+                return List.of(toBase, fromBase);
+            }
+        }
+        throw new IllegalArgumentException("No stored series to derive " + from + to + " through " + baseCurrency);
+    }
+
+    private Leg leg(String from, String to) {
+        String currencyPair = CurrencyPairs.symbol(from, to);
+        if (forexTimeSeriesStore.contains(currencyPair)) {
+            return new Leg(currencyPair, forexTimeSeriesStore.snapshot(currencyPair), false);
+        }
+        String inversePair = CurrencyPairs.symbol(to, from);
+        if (forexTimeSeriesStore.contains(inversePair)) {
+            return new Leg(inversePair, forexTimeSeriesStore.snapshot(inversePair), true);
+        }
+        return null;
+    }
+
+    /**
+     * Whether every leg's snapshot is still the stored one. The store swaps in a new snapshot on every merge, so
+     * a snapshot serves as the version of its pair.
+     */
+    private boolean isCurrent(List<Leg> legs) {
+        for (Leg leg : legs) {
+            if (forexTimeSeriesStore.snapshot(leg.currencyPair()) != leg.series()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private DerivedSeries derive(List<Leg> legs) {
+        Leg first = legs.get(0);
+        Leg second = legs.size() > 1 ? legs.get(1) : null;
+        int capacity = first.series().size();
+
+        int[] days = new int[capacity];
+        double[][] columns = new double[5][capacity];
+        double[] a = new double[5];
+        double[] b = new double[5];
+        int size = 0;
+
+        // Merge join on epoch day; a single leg is just copied (and inverted if needed).
+        int j = 0;
+        for (int i = 0; i < first.series().size(); i++) {
+            int day = first.series().day(i);
+            first.values(i, a);
+            if (second != null) {
+                while (j < second.series().size() && second.series().day(j) < day) {
+                    j++;
+                }
+                if (j == second.series().size()) {
+                    break;
+                }
+                if (second.series().day(j) != day) {
+                    continue;
+                }
+                second.values(j, b);
+                for (int c = 0; c < 5; c++) {
+                    a[c] *= b[c];
+                }
+            }
+            days[size] = day;
+            for (int c = 0; c < 5; c++) {
+                columns[c][size] = a[c];
+            }
+            size++;
+        }
+        return new DerivedSeries(legs.stream().map(Leg::name).toList(), Arrays.copyOf(days, size), columns, size);
+    }
+
+    /**
+     * One stored series used as-is or inverted. For an inverted leg the high is 1 / low and the low is 1 / high.
+     */
+    public record Leg(String currencyPair, PairSeries.Snapshot series, boolean inverted) {
+
+        String name() {
+            return inverted ? "1/" + currencyPair : currencyPair;
+        }
+
+        /**
+         * Writes open, high, low, close and adjusted close of bar {@code index} into {@code out}.
+         */
+        void values(int index, double[] out) {
+            double open = PairSeries.toDouble(series.open(index));
+            double high = PairSeries.toDouble(series.high(index));
+            double low = PairSeries.toDouble(series.low(index));
+            double close = PairSeries.toDouble(series.close(index));
+            double adjClose = PairSeries.toDouble(series.adjClose(index));
+            if (inverted) {
+                out[0] = 1 / open;
+                out[1] = 1 / low;
+                out[2] = 1 / high;
+                out[3] = 1 / close;
+                out[4] = 1 / adjClose;
+            } else {
+                out[0] = open;
+                out[1] = high;
+                out[2] = low;
+                out[3] = close;
+                out[4] = adjClose;
+            }
+        }
+
+        /**
+         * Close on {@code epochDay}, or on the last trading day before it with a close; {@link Double#NaN} if
+         * there is none.
+         */
+        public double closeOnOrBefore(int epochDay) {
+            int index = series.floorCloseIndex(epochDay);
+            return index >= 0 ? close(index) : Double.NaN;
+        }
+
+        /**
+         * Close of bar {@code index}, inverted if the leg is.
+         */
+        public double close(int index) {
+            double close = PairSeries.toDouble(series.close(index));
+            return inverted ? 1 / close : close;
+        }
+    }
+
+    private record DerivedSeries(List<String> legNames, int[] days, double[][] columns, int size) {
+
+        boolean dependsOn(String currencyPair) {
+            for (String leg : legNames) {
+                if (leg.endsWith(currencyPair)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        List<OhlcBar> range(LocalDate startDate, LocalDate endDate) {
+            int from = Arrays.binarySearch(days, 0, size, (int) startDate.toEpochDay());
+            from = from >= 0 ? from : -from - 1;
+            int to = Arrays.binarySearch(days, 0, size, (int) endDate.toEpochDay());
+            to = to >= 0 ? to : -to - 2;
+
+            List<OhlcBar> bars = new ArrayList<>(Math.max(0, to - from + 1));
+            for (int i = from; i <= to; i++) {
+                bars.add(new OhlcBar(LocalDate.ofEpochDay(days[i]), decimal(columns[0][i]), decimal(columns[1][i]),
+                        decimal(columns[2][i]), decimal(columns[3][i]), decimal(columns[4][i]), BigDecimal.ZERO));
+            }
+            return bars;
+        }
+
+        private static BigDecimal decimal(double value) {
+            return Double.isFinite(value) ? new BigDecimal(value, PRECISION) : null;
+        }
+    }
+}
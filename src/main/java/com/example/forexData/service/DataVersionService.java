@@ -0,0 +1,125 @@
+package com.example.forexData.service;
+
+import com.example.forexData.event.ForexDataSavedEvent;
+import com.example.forexData.store.ForexTimeSeriesStore;
+import com.example.forexData.store.PairSeries;
+import com.example.forexData.util.TradingDays;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.CacheControl;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Per-pair data versions for HTTP validators.
+ * <p>
+ * Every {@link ForexDataSavedEvent} bumps the saved pair's version and the global one. ETags combine a
+ * process epoch with the versions, so a tag issued before a restart never matches one issued after it.
+ * A conditional GET can then be answered with 304 from a map lookup, before any query runs.
+ */
+@Service
+public class DataVersionService {
+
+    @Autowired
+    private ForexTimeSeriesStore forexTimeSeriesStore;
+
+    @Value("${forex.http.closed-range-max-age-seconds:86400}")
+    private long closedRangeMaxAgeSeconds;
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+
+    private final Instant started = Instant.now();
+
+    private final Map<String, Version> versions = new ConcurrentHashMap<>();
+
+    private final AtomicReference<Version> global = new AtomicReference<>(new Version(0, started));
+
+    /**
+     * Validators for a response built from the given pairs' data over a resolved window.
+     * <p>
+     * The window's dates are part of the tag, since a relative window ({@code period}, or an end date defaulting to
+     * today) moves at midnight while the URL stays the same. For the same reason a window reaching today is never
+     * older than today's midnight.
+     */
+    public DataTag tag(Collection<String> currencyPairs, LocalDate startDate, LocalDate endDate) {
+        StringBuilder etag = new StringBuilder("\"").append(epoch)
+                .append('-').append(startDate).append('-').append(endDate);
+        LocalDate today = LocalDate.now();
+        Instant midnight = today.atStartOfDay(ZoneId.systemDefault()).toInstant();
+        Instant lastModified = endDate.isBefore(today) || started.isAfter(midnight) ? started : midnight;
+        for (String currencyPair : currencyPairs) {
+            Version version = versions.getOrDefault(currencyPair, new Version(0, started));
+            etag.append('-').append(version.version());
+            if (version.lastModified().isAfter(lastModified)) {
+                lastModified = version.lastModified();
+            }
+        }
+        return new DataTag(etag.append('"').toString(), lastModified.toEpochMilli());
+    }
+
+    /**
+     * Validators for a response that may include any pair's data.
+     */
+    public DataTag tagAll() {
+        Version version = global.get();
+        return new DataTag("\"" + epoch + "-all-" + version.version() + "\"", version.lastModified().toEpochMilli());
+    }
+
+    /**
+     * A range ending before today whose days every given pair has stored is final and may be cached, unless it
+     * reaches the pair's latest stored day: the next scrape fetches that day again, because its bar may have been
+     * captured before the close. Anything else can still change, through a late scrape or a backfill, and must be
+     * revalidated.
+     *
+     * @param currencyPairs the stored series the response was built from
+     */
+    public CacheControl cacheControl(Collection<String> currencyPairs, LocalDate startDate, LocalDate endDate) {
+        if (endDate.isBefore(LocalDate.now()) && !currencyPairs.isEmpty()
+                && currencyPairs.stream().allMatch(currencyPair -> isStored(currencyPair, startDate, endDate))) {
+            return CacheControl.maxAge(closedRangeMaxAgeSeconds, TimeUnit.SECONDS).cachePublic();
+        }
+        return CacheControl.noCache();
+    }
+
+    private boolean isStored(String currencyPair, LocalDate startDate, LocalDate endDate) {
+        PairSeries.Snapshot snapshot = forexTimeSeriesStore.snapshot(currencyPair);
+        if (snapshot.size() == 0 || snapshot.day(snapshot.size() - 1) <= endDate.toEpochDay()) {
+            return false;
+        }
+        return TradingDays.covers(startDate, endDate, snapshot.dates(
+                startDate.minusDays(TradingDays.BRACKET_DAYS), endDate.plusDays(TradingDays.BRACKET_DAYS)));
+    }
+
+    /**
+     * Runs after the time-series store has merged the rows, so a request that sees the new version also reads the
+     * new bars. Otherwise a body built from the old bars could be tagged with the new version and then be
+     * answered with 304 until the pair is saved again.
+     */
+    @EventListener
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    public void onForexDataSaved(ForexDataSavedEvent event) {
+        versions.compute(event.currencyPair(), (pair, version) -> version == null ? new Version(1, Instant.now()) : version.next());
+        global.updateAndGet(Version::next);
+    }
+
+    public record DataTag(String etag, long lastModifiedMillis) {
+    }
+
+    private record Version(long version, Instant lastModified) {
+
+        Version next() {
+            return new Version(version + 1, Instant.now());
+        }
+    }
+}
@@ -0,0 +1,222 @@
+package com.example.forexData.service;
+
+import com.example.forexData.model.OhlcBar;
+import com.example.forexData.model.RollingPoint;
+import com.example.forexData.store.ForexTimeSeriesStore;
+import com.example.forexData.store.PairSeries;
+import com.example.forexData.util.Period;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Resampling and rolling statistics computed in one pass over the date-ordered bars of the time-series store.
+ */
+@Service
+public class ForexAnalyticsService {
+
+    @Autowired
+    private ForexTimeSeriesStore forexTimeSeriesStore;
+
+    /**
+     * Parses a resample interval. {@code 9M} is rejected: nine months do not divide the year, so its buckets
+     * would have to be anchored to an arbitrary origin and would start in a different month each year.
+     *
+     * @throws IllegalArgumentException if {@code interval} is not a period or is {@code 9M}
+     */
+    public static Period bucket(String interval) {
+        Period bucket = Period.fromValue(interval);
+        if (bucket == Period.NINE_MONTHS) {
+            throw new IllegalArgumentException("Cannot resample into " + interval + " buckets");
+        }
+        return bucket;
+    }
+
+    /**
+     * Resamples daily bars into one bar per bucket: weeks start on Monday, and month-based periods are aligned
+     * to calendar months (3M = quarters, 6M = halves, 1Y = years). Each bar is dated by its first trading day.
+     * Missing values are left out of the high, low and volume, and the close is the last one the bucket has.
+     *
+     * @throws IllegalArgumentException for {@link Period#NINE_MONTHS}, see {@link #bucket(String)}
+     */
+    public List<OhlcBar> resample(String currencyPair, LocalDate startDate, LocalDate endDate, Period bucket) {
+        bucket(bucket.getValue());
+        PairSeries.Snapshot series = forexTimeSeriesStore.snapshot(currencyPair);
+        int from = series.ceilingIndex((int) startDate.toEpochDay());
+        int to = series.floorIndex((int) endDate.toEpochDay());
+
+        List<OhlcBar> bars = new ArrayList<>();
+        int bucketStart = from;
+        long bucketEnd = Long.MIN_VALUE;
+        long high = 0;
+        long low = 0;
+        long volume = 0;
+
+        for (int i = from; i <= to; i++) {
+            int day = series.day(i);
+            if (day >= bucketEnd) {
+                if (i > from) {
+                    bars.add(bucketBar(series, bucketStart, i - 1, high, low, volume));
+                }
+                bucketStart = i;
+                bucketEnd = nextBucketStart(LocalDate.ofEpochDay(day), bucket).toEpochDay();
+                high = PairSeries.MISSING;
+                low = PairSeries.MISSING;
+                volume = 0;
+            }
+            if (series.high(i) != PairSeries.MISSING && (high == PairSeries.MISSING || series.high(i) > high)) {
+                high = series.high(i);
+            }
+            if (series.low(i) != PairSeries.MISSING && (low == PairSeries.MISSING || series.low(i) < low)) {
+                low = series.low(i);
+            }
+            if (series.volume(i) != PairSeries.MISSING) {
+                volume += series.volume(i);
+            }
+        }
+        if (to >= from) {
+            bars.add(bucketBar(series, bucketStart, to, high, low, volume));
+        }
+        return bars;
+    }
+
+    /**
+     * Rolling statistics over the last {@code window} closes. Bars before {@code startDate} are used to fill the
+     * first window, so the first point returned is the first one with a full window. Bars without a close are
+     * skipped.
+     */
+    public List<RollingPoint> rolling(String currencyPair, LocalDate startDate, LocalDate endDate, int window) {
+        PairSeries.Snapshot snapshot = forexTimeSeriesStore.snapshot(currencyPair);
+        int firstBar = snapshot.ceilingIndex((int) startDate.toEpochDay());
+        int lastBar = snapshot.floorIndex((int) endDate.toEpochDay());
+        int fromBar = firstBar;
+        for (int needed = window - 1; needed > 0 && fromBar > 0; ) {
+            if (snapshot.hasClose(--fromBar)) {
+                needed--;
+            }
+        }
+        // Closes of the bars that have one; first is the index of the first close inside the range
+        int capacity = Math.max(0, lastBar - fromBar + 1);
+        int[] days = new int[capacity];
+        long[] closes = new long[capacity];
+        int size = 0;
+        int first = 0;
+        for (int bar = fromBar; bar <= lastBar; bar++) {
+            if (snapshot.hasClose(bar)) {
+                days[size] = snapshot.day(bar);
+                closes[size++] = snapshot.close(bar);
+                first += bar < firstBar ? 1 : 0;
+            }
+        }
+        int to = size - 1;
+
+        List<RollingPoint> points = new ArrayList<>(Math.max(0, to - first + 1));
+        double alpha = 2.0 / (window + 1);
+        long sum = 0;
+        double sumOfSquares = 0;
+        double ema = 0;
+        // Monotonic deques of indexes, as ring buffers, for the window minimum and maximum
+        int[] minQueue = new int[window];
+        int[] maxQueue = new int[window];
+        int minHead = 0, minSize = 0, maxHead = 0, maxSize = 0;
+
+        for (int i = 0; i <= to; i++) {
+            long close = closes[i];
+            double value = PairSeries.toDouble(close);
+            sum += close;
+            sumOfSquares += value * value;
+
+            if (minSize > 0 && minQueue[minHead] <= i - window) {
+                minHead = (minHead + 1) % window;
+                minSize--;
+            }
+            if (maxSize > 0 && maxQueue[maxHead] <= i - window) {
+                maxHead = (maxHead + 1) % window;
+                maxSize--;
+            }
+            while (minSize > 0 && closes[minQueue[(minHead + minSize - 1) % window]] >= close) {
+                minSize--;
+            }
+            minQueue[(minHead + minSize++) % window] = i;
+            while (maxSize > 0 && closes[maxQueue[(maxHead + maxSize - 1) % window]] <= close) {
+                maxSize--;
+            }
+            maxQueue[(maxHead + maxSize++) % window] = i;
+
+            int count = i + 1;
+            if (count > window) {
+                long evicted = closes[i - window];
+                double evictedValue = PairSeries.toDouble(evicted);
+                sum -= evicted;
+                sumOfSquares -= evictedValue * evictedValue;
+                count = window;
+            }
+            if (count < window) {
+                continue;
+            }
+
+            double mean = PairSeries.toDouble(sum) / window;
+            ema = i + 1 == window ? mean : alpha * value + (1 - alpha) * ema;
+            if (i < first) {
+                continue;
+            }
+            double variance = Math.max(0, sumOfSquares / window - mean * mean);
+            points.add(new RollingPoint(LocalDate.ofEpochDay(days[i]), value, mean, ema, Math.sqrt(variance),
+                    PairSeries.toDouble(closes[minQueue[minHead]]), PairSeries.toDouble(closes[maxQueue[maxHead]])));
+        }
+        return points;
+    }
+
+    /**
+     * Runs {@code computation} for each pair, in parallel when there is more than one, keeping request order.
+     */
+    public <T> Map<String, T> forEachPair(List<String> currencyPairs, Function<String, T> computation) {
+        List<T> results = (currencyPairs.size() > 1 ? currencyPairs.parallelStream() : currencyPairs.stream())
+                .map(computation)
+                .toList();
+        Map<String, T> byPair = new LinkedHashMap<>();
+        for (int i = 0; i < currencyPairs.size(); i++) {
+            byPair.put(currencyPairs.get(i), results.get(i));
+        }
+        return byPair;
+    }
+
+    private static OhlcBar bucketBar(PairSeries.Snapshot series, int first, int last, long high, long low, long volume) {
+        int closing = series.floorCloseIndex(series.day(last));
+        if (closing < first) {
+            closing = last;
+        }
+        return new OhlcBar(LocalDate.ofEpochDay(series.day(first)),
+                PairSeries.toBigDecimal(series.open(first)),
+                PairSeries.toBigDecimal(high),
+                PairSeries.toBigDecimal(low),
+                PairSeries.toBigDecimal(series.close(closing)),
+                PairSeries.toBigDecimal(series.adjClose(closing)),
+                PairSeries.toBigDecimal(volume));
+    }
+
+    private static LocalDate nextBucketStart(LocalDate date, Period bucket) {
+        int months = switch (bucket) {
+            case ONE_WEEK -> 0;
+            case ONE_MONTH -> 1;
+            case THREE_MONTHS -> 3;
+            case SIX_MONTHS -> 6;
+            case ONE_YEAR -> 12;
+            case NINE_MONTHS -> throw new IllegalArgumentException("Cannot resample into 9M buckets");
+        };
+        if (months == 0) {
+            return date.with(TemporalAdjusters.next(DayOfWeek.MONDAY));
+        }
+        int monthIndex = date.getYear() * 12 + date.getMonthValue() - 1;
+        int nextBucket = (monthIndex / months + 1) * months;
+        return LocalDate.of(nextBucket / 12, nextBucket % 12 + 1, 1);
+    }
+}
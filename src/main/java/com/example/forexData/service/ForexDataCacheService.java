@@ -0,0 +1,247 @@
+package com.example.forexData.service;
+
+import com.example.forexData.event.ForexDataSavedEvent;
+import com.example.forexData.model.CacheStats;
+import com.example.forexData.model.ForexData;
+import com.example.forexData.repository.ForexDataRepository;
+import com.example.forexData.util.CurrencyPairs;
+import com.example.forexData.util.Period;
+import com.example.forexData.util.TradingDays;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Read-through cache in front of {@link ForexScraperService}.
+ * <p>
+ * Entries are keyed by pair, period and trading date, so yesterday's entries simply stop being hit and
+ * age out of the LRU bound. A miss is answered from the database when the stored rows already cover the
+ * window, market holidays included (see {@link TradingDays}). Otherwise the span from the first to the last
+ * missing trading day is fetched by date range through the rate providers, and only rows for dates not yet
+ * stored are saved. Identical concurrent misses share one load.
+ */
+@Service
+public class ForexDataCacheService {
+
+    @Autowired
+    private ForexScraperService forexScraperService;
+
+    @Autowired
+    private ForexDataRepository forexDataRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${forex.cache.max-entries:256}")
+    private int maxEntries;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ForexDataCacheService.class);
+
+    private final Map<CacheKey, List<ForexData>> entries = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<CacheKey, List<ForexData>> eldest) {
+            if (size() > maxEntries) {
+                evictions.increment();
+                return true;
+            }
+            return false;
+        }
+    };
+
+    private final Map<CacheKey, CompletableFuture<List<ForexData>>> inFlight = new ConcurrentHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder databaseLoads = new LongAdder();
+    private final LongAdder scrapeLoads = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder loadCount = new LongAdder();
+    private final LongAdder loadNanos = new LongAdder();
+    private final LongAccumulator maxLoadNanos = new LongAccumulator(Math::max, 0);
+
+    private Timer loadTimer;
+
+    @PostConstruct
+    public void registerMetrics() {
+        registerCounter("forex.cache.requests", "Cache lookups by result", hits, "result", "hit");
+        registerCounter("forex.cache.requests", "Cache lookups by result", misses, "result", "miss");
+        registerCounter("forex.cache.requests", "Cache lookups by result", coalesced, "result", "coalesced");
+        registerCounter("forex.cache.loads", "Cache misses by where the data came from", databaseLoads, "source", "database");
+        registerCounter("forex.cache.loads", "Cache misses by where the data came from", scrapeLoads, "source", "scrape");
+        registerCounter("forex.cache.evictions", "Entries evicted by the LRU bound", evictions);
+        Gauge.builder("forex.cache.size", entries, map -> {
+                    synchronized (entries) {
+                        return map.size();
+                    }
+                })
+                .description("Cached pair, period and trading date entries")
+                .register(meterRegistry);
+        loadTimer = Timer.builder("forex.cache.load")
+                .description("Time to answer a cache miss from the database and Yahoo")
+                .register(meterRegistry);
+    }
+
+    public List<ForexData> getExchangeRates(String from, String to, Period period) {
+        CacheKey key = new CacheKey(from, to, period, LocalDate.now());
+
+        List<ForexData> cached = lookup(key);
+        if (cached != null) {
+            hits.increment();
+            return cached;
+        }
+        misses.increment();
+
+        CompletableFuture<List<ForexData>> future = new CompletableFuture<>();
+        CompletableFuture<List<ForexData>> existing = inFlight.putIfAbsent(key, future);
+        if (existing != null) {
+            coalesced.increment();
+            return await(existing);
+        }
+
+        try {
+            List<ForexData> data = lookup(key);
+            if (data == null) {
+                data = load(key);
+                if (!data.isEmpty()) {
+                    synchronized (entries) {
+                        entries.put(key, data);
+                    }
+                }
+            }
+            future.complete(data);
+            return data;
+        } catch (RuntimeException e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, future);
+        }
+    }
+
+    public CacheStats getStats() {
+        int size;
+        synchronized (entries) {
+            size = entries.size();
+        }
+        long loads = loadCount.sum();
+        double averageLoadMillis = loads == 0 ? 0 : loadNanos.sum() / 1_000_000.0 / loads;
+        return new CacheStats(size, hits.sum(), misses.sum(), coalesced.sum(), databaseLoads.sum(),
+                scrapeLoads.sum(), evictions.sum(), averageLoadMillis, maxLoadNanos.get() / 1_000_000.0);
+    }
+
+    @EventListener
+    public void onForexDataSaved(ForexDataSavedEvent event) {
+        synchronized (entries) {
+            entries.keySet().removeIf(key -> key.currencyPair().equals(event.currencyPair()));
+        }
+    }
+
+    private List<ForexData> lookup(CacheKey key) {
+        synchronized (entries) {
+            return entries.get(key);
+        }
+    }
+
+    private List<ForexData> load(CacheKey key) {
+        long start = System.nanoTime();
+        try {
+            LocalDate endDate = key.tradingDate();
+            LocalDate startDate = forexScraperService.calculateStartDate(key.period());
+            String currencyPair = key.currencyPair();
+
+            // Read a few days past both ends so the bars bracketing a holiday at the edge of the window are seen
+            List<ForexData> bracketed = forexDataRepository.findByCurrencyPairAndDateBetweenOrderByDateAsc(currencyPair,
+                    startDate.minusDays(TradingDays.BRACKET_DAYS), endDate.plusDays(TradingDays.BRACKET_DAYS));
+            List<ForexData> stored = new ArrayList<>(bracketed.size());
+            NavigableSet<LocalDate> storedDates = new TreeSet<>();
+            for (ForexData data : bracketed) {
+                storedDates.add(data.getDate());
+                if (!data.getDate().isBefore(startDate) && !data.getDate().isAfter(endDate)) {
+                    stored.add(data);
+                }
+            }
+
+            List<LocalDate> missingDates = TradingDays.missingDays(startDate, endDate, storedDates);
+            if (missingDates.isEmpty()) {
+                databaseLoads.increment();
+                return stored;
+            }
+
+            scrapeLoads.increment();
+            LOGGER.info("Cache miss for {} {}: scraping {} missing dates", currencyPair, key.period().getValue(), missingDates.size());
+            List<ForexData> scraped = forexScraperService.fetchExchangeRates(key.from(), key.to(),
+                    missingDates.get(0), missingDates.get(missingDates.size() - 1));
+
+            List<ForexData> newRows = new ArrayList<>();
+            for (ForexData data : scraped) {
+                if (storedDates.add(data.getDate())) {
+                    newRows.add(data);
+                }
+            }
+            if (!newRows.isEmpty()) {
+                newRows = forexScraperService.saveExchangeRates(currencyPair, newRows);
+            }
+
+            List<ForexData> merged = new ArrayList<>(stored.size() + newRows.size());
+            merged.addAll(stored);
+            merged.addAll(newRows);
+            merged.sort(Comparator.comparing(ForexData::getDate));
+            return merged;
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            loadTimer.record(elapsed, TimeUnit.NANOSECONDS);
+            loadCount.increment();
+            loadNanos.add(elapsed);
+            maxLoadNanos.accumulate(elapsed);
+        }
+    }
+
+    private void registerCounter(String name, String description, LongAdder adder, String... tags) {
+        FunctionCounter.builder(name, adder, LongAdder::sum)
+                .description(description)
+                .tags(tags)
+                .register(meterRegistry);
+    }
+
+    private static List<ForexData> await(CompletableFuture<List<ForexData>> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private record CacheKey(String from, String to, Period period, LocalDate tradingDate) {
+
+        String currencyPair() {
+            return CurrencyPairs.symbol(from, to);
+        }
+    }
+}
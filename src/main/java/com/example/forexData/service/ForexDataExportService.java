@@ -0,0 +1,67 @@
+package com.example.forexData.service;
+
+import com.example.forexData.export.ExportCompression;
+import com.example.forexData.export.ExportFormat;
+import com.example.forexData.export.ExportWriter;
+import com.example.forexData.repository.ForexDataRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Streams stored rows from a database cursor straight into an encoder and compressor on the response stream.
+ * Only one row and the writers' buffers are held at a time, whatever the size of the export.
+ */
+@Service
+public class ForexDataExportService {
+
+    @Autowired
+    private ForexDataRepository forexDataRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${forex.export.zstd-level:3}")
+    private int zstdLevel;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ForexDataExportService.class);
+
+    /**
+     * Writes rows of {@code currencyPairs} (all pairs when empty) between the dates, ordered by pair and date,
+     * and closes {@code out}.
+     *
+     * @return the number of rows written
+     */
+    public long export(List<String> currencyPairs, LocalDate startDate, LocalDate endDate,
+                       ExportFormat format, ExportCompression compression, OutputStream out) throws IOException {
+        long start = System.nanoTime();
+        long[] rows = new long[1];
+        try (OutputStream encoded = compression.wrap(out, zstdLevel)) {
+            ExportWriter writer = format.newWriter(encoded, objectMapper);
+            forexDataRepository.forEachInRange(currencyPairs, startDate, endDate, data -> {
+                try {
+                    writer.write(data);
+                    rows[0]++;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            writer.finish();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        LOGGER.info("Exported {} rows as {} ({}) in {} ms", rows[0], format, compression,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        return rows[0];
+    }
+}
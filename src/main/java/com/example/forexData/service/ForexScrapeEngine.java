@@ -0,0 +1,151 @@
+package com.example.forexData.service;
+
+import com.example.forexData.model.CurrencyPairRequest;
+import com.example.forexData.model.ForexData;
+import com.example.forexData.model.PairScrapeResult;
+import com.example.forexData.model.ScrapeReport;
+import com.example.forexData.util.CurrencyPairs;
+import com.example.forexData.util.Period;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Fans scrapes for many pairs out over virtual threads.
+ * <p>
+ * Every pair gets its own virtual thread, but at most {@code forex.scrape.max-concurrency-per-host} of them
+ * talk to the same host at once, so a full refresh takes roughly pairs / limit round-trips. A pair that runs
+ * longer than {@code forex.scrape.pair-timeout-millis} is interrupted, which aborts its blocking socket read.
+ */
+@Service
+public class ForexScrapeEngine {
+
+    @Autowired
+    private ForexScraperService forexScraperService;
+
+    @Value("${forex.scrape.pairs:USDINR}")
+    private List<String> configuredPairs;
+
+    @Value("${forex.scrape.max-concurrency-per-host:8}")
+    private int maxConcurrencyPerHost;
+
+    @Value("${forex.scrape.pair-timeout-millis:30000}")
+    private long pairTimeoutMillis;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ForexScrapeEngine.class);
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    private final ScheduledExecutorService watchdog = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().daemon().name("scrape-watchdog").factory());
+
+    private final Map<String, Semaphore> hostPermits = new ConcurrentHashMap<>();
+
+    public List<CurrencyPairRequest> getConfiguredPairs() {
+        return configuredPairs.stream().map(CurrencyPairRequest::parse).toList();
+    }
+
+    public ScrapeReport scrapeConfiguredPairs(Period period, boolean incremental) {
+        return scrapeAll(getConfiguredPairs(), period, incremental);
+    }
+
+    public ScrapeReport scrapeAll(List<CurrencyPairRequest> pairs, Period period) {
+        return scrapeAll(pairs, period, false);
+    }
+
+    /**
+     * @param incremental when set, each pair only fetches dates from its high-water mark onwards
+     */
+    public ScrapeReport scrapeAll(List<CurrencyPairRequest> pairs, Period period, boolean incremental) {
+        long start = System.nanoTime();
+        Semaphore permits = hostPermits.computeIfAbsent(host(), host -> new Semaphore(maxConcurrencyPerHost));
+
+        List<Future<PairScrapeResult>> futures = new ArrayList<>(pairs.size());
+        for (CurrencyPairRequest pair : pairs) {
+            futures.add(executor.submit(() -> scrapePair(pair, period, incremental, permits)));
+        }
+
+        List<PairScrapeResult> results = new ArrayList<>(pairs.size());
+        for (int i = 0; i < futures.size(); i++) {
+            String currencyPair = CurrencyPairs.symbol(pairs.get(i).from(), pairs.get(i).to());
+            try {
+                results.add(futures.get(i).get());
+            } catch (ExecutionException e) {
+                results.add(new PairScrapeResult(currencyPair, PairScrapeResult.Status.FAILED, 0, 0, e.getCause().toString()));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                futures.forEach(future -> future.cancel(true));
+                throw new IllegalStateException("Interrupted while waiting for scrape results", e);
+            }
+        }
+
+        int succeeded = (int) results.stream().filter(result -> result.status() == PairScrapeResult.Status.OK).count();
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        LOGGER.info("Scraped {} pairs for period {} in {} ms: {} succeeded, {} failed",
+                pairs.size(), period.getValue(), elapsedMillis, succeeded, pairs.size() - succeeded);
+        return new ScrapeReport(period.getValue(), pairs.size(), succeeded, pairs.size() - succeeded, elapsedMillis, results);
+    }
+
+    private PairScrapeResult scrapePair(CurrencyPairRequest pair, Period period, boolean incremental, Semaphore permits)
+            throws InterruptedException {
+        String currencyPair = CurrencyPairs.symbol(pair.from(), pair.to());
+        permits.acquire();
+        long start = System.nanoTime();
+        Thread worker = Thread.currentThread();
+        AtomicBoolean timedOut = new AtomicBoolean();
+        ScheduledFuture<?> timeout = watchdog.schedule(() -> {
+            timedOut.set(true);
+            worker.interrupt();
+        }, pairTimeoutMillis, TimeUnit.MILLISECONDS);
+
+        try {
+            List<ForexData> rows = incremental
+                    ? forexScraperService.scrapeAndSaveNewExchangeRates(pair.from(), pair.to(), period)
+                    : forexScraperService.scrapeAndSaveExchangeRates(pair.from(), pair.to(), period);
+            long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            if (timedOut.get()) {
+                return new PairScrapeResult(currencyPair, PairScrapeResult.Status.TIMEOUT, 0, elapsedMillis,
+                        "Timed out after " + pairTimeoutMillis + " ms");
+            }
+            PairScrapeResult.Status status = rows.isEmpty() ? PairScrapeResult.Status.EMPTY : PairScrapeResult.Status.OK;
+            return new PairScrapeResult(currencyPair, status, rows.size(), elapsedMillis, null);
+        } catch (RuntimeException e) {
+            LOGGER.error("Failed to scrape {}", currencyPair, e);
+            return new PairScrapeResult(currencyPair, PairScrapeResult.Status.FAILED, 0,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), e.toString());
+        } finally {
+            timeout.cancel(false);
+            Thread.interrupted();
+            permits.release();
+        }
+    }
+
+    private String host() {
+        String host = URI.create(forexScraperService.getBaseUrl()).getHost();
+        return host != null ? host : forexScraperService.getBaseUrl();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        watchdog.shutdownNow();
+        executor.shutdownNow();
+    }
+}
@@ -1,25 +1,27 @@
 package com.example.forexData.service;
 
+import com.example.forexData.event.ForexDataSavedEvent;
 import com.example.forexData.model.ForexData;
+import com.example.forexData.provider.HedgedRateFetcher;
+import com.example.forexData.provider.YahooRateProvider;
 import com.example.forexData.repository.ForexDataRepository;
+import com.example.forexData.util.CurrencyPairs;
 import com.example.forexData.util.Period;
-import org.jsoup.Jsoup;
-import org.jsoup.nodes.Document;
-import org.jsoup.nodes.Element;
-import org.jsoup.select.Elements;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
-import java.math.BigDecimal;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
-import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
-import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Service
 public class ForexScraperService {
@@ -27,42 +29,27 @@ public class ForexScraperService {
     @Autowired
     private ForexDataRepository forexDataRepository;
 
-    private static final Logger LOGGER = LoggerFactory.getLogger(ForexScraperService.class);
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
 
-    @Scheduled(cron = "0 20 14 * * *", zone = "Asia/Kolkata")
-    public void scrapeAndSaveWeeklyData() {
-        LOGGER.info("Scheduled task: Scraping and saving weekly data for USD to INR");
-        scrapeAndSaveExchangeRates("USD", "INR", Period.ONE_WEEK);
-    }
+    @Autowired
+    private HedgedRateFetcher hedgedRateFetcher;
 
-    @Scheduled(cron = "0 20 14 * * 6", zone = "Asia/Kolkata")
-    public void scrapeAndSaveMonthlyData() {
-        LOGGER.info("Scheduled task: Scraping and saving monthly data for USD to INR");
-        scrapeAndSaveExchangeRates("USD", "INR", Period.ONE_MONTH);
-    }
+    @Autowired
+    private YahooRateProvider yahooRateProvider;
 
-    @Scheduled(cron = "0 20 14 1 * *", zone = "Asia/Kolkata")
-    public void scrapeAndSaveQuarterlyData() {
-        LOGGER.info("Scheduled task: Scraping and saving quarterly data for USD to INR");
-        scrapeAndSaveExchangeRates("USD", "INR", Period.THREE_MONTHS);
-        scrapeAndSaveExchangeRates("USD", "INR", Period.SIX_MONTHS);
-        scrapeAndSaveExchangeRates("USD", "INR", Period.NINE_MONTHS);
-    }
+    private static final Logger LOGGER = LoggerFactory.getLogger(ForexScraperService.class);
 
-    @Scheduled(cron = "0 20 14 1 1 *", zone = "Asia/Kolkata")
-    public void scrapeAndSaveYearlyData() {
-        LOGGER.info("Scheduled task: Scraping and saving yearly data for USD to INR");
-        scrapeAndSaveExchangeRates("USD", "INR", Period.ONE_YEAR);
-    }
+    private final Map<String, LocalDate> highWaterMarks = new ConcurrentHashMap<>();
 
     public List<ForexData> scrapeAndSaveExchangeRates(String from, String to, Period period) {
 
         LocalDate endDate = LocalDate.now();
         LocalDate startDate = calculateStartDate(period);
 
-        List<ForexData> dataList = fetchDataFromUrl(from, to, startDate, endDate);
+        List<ForexData> dataList = fetchRates(from, to, startDate, endDate);
         if (!dataList.isEmpty()) {
-            forexDataRepository.saveAll(dataList);
+            dataList = saveExchangeRates(CurrencyPairs.symbol(from, to), dataList);
             LOGGER.info("Successfully saved {} records for period {}", dataList.size(), period.getValue());
 
         } else {
@@ -71,117 +58,111 @@ public class ForexScraperService {
         return dataList;
     }
 
-    private LocalDate calculateStartDate(Period period) {
-        int value;
-        return switch (period) {
-            case ONE_WEEK -> {
-                value = 1;
-                yield LocalDate.now().minusWeeks(value);
-            }
-            case ONE_MONTH -> {
-                value = 1;
-                yield LocalDate.now().minusMonths(value);
-            }
-            case THREE_MONTHS -> {
-                value = 3;
-                yield LocalDate.now().minusMonths(value);
-            }
-            case SIX_MONTHS -> {
-                value = 6;
-                yield LocalDate.now().minusMonths(value);
-            }
-            case NINE_MONTHS -> {
-                value = 9;
-                yield LocalDate.now().minusMonths(value);
-            }
-            case ONE_YEAR -> {
-                value = 1;
-                yield LocalDate.now().minusYears(value);
+    /**
+     * Scrapes only what is newer than the pair's high-water mark, bounded by the period's lookback window.
+     * The latest stored day is fetched again because its bar may have been captured before the close.
+     */
+    public List<ForexData> scrapeAndSaveNewExchangeRates(String from, String to, Period period) {
+        String currencyPair = CurrencyPairs.symbol(from, to);
+        LocalDate endDate = LocalDate.now();
+        LocalDate startDate = calculateStartDate(period);
+
+        LocalDate highWaterMark = getHighWaterMark(currencyPair);
+        if (highWaterMark != null && highWaterMark.isAfter(startDate)) {
+            startDate = highWaterMark;
+        }
+        if (startDate.isAfter(endDate)) {
+            LOGGER.info("{} is already up to date as of {}", currencyPair, highWaterMark);
+            return List.of();
+        }
+
+        List<ForexData> dataList = fetchRates(from, to, startDate, endDate);
+        if (!dataList.isEmpty()) {
+            dataList = saveExchangeRates(currencyPair, dataList);
+            LOGGER.info("Incrementally saved {} records for {} from {}", dataList.size(), currencyPair, startDate);
+        } else {
+            LOGGER.warn("No new data found for {} from {}", currencyPair, startDate);
+        }
+        return dataList;
+    }
+
+    /**
+     * Latest stored date for the pair, seeded from the database on first use and advanced on every save.
+     */
+    public LocalDate getHighWaterMark(String currencyPair) {
+        LocalDate highWaterMark = highWaterMarks.get(currencyPair);
+        if (highWaterMark == null) {
+            highWaterMark = forexDataRepository.findLatestDate(currencyPair);
+            if (highWaterMark != null) {
+                highWaterMarks.merge(currencyPair, highWaterMark, ForexScraperService::later);
             }
-            default -> throw new IllegalArgumentException("Invalid period: " + period);
-        };
+        }
+        return highWaterMark;
     }
 
-    private List<ForexData> fetchDataFromUrl(String from, String to, LocalDate startDate, LocalDate endDate) {
-        List<ForexData> forexDataList = new ArrayList<>();
-        String currencyPair = from + to + "=X";
-        String url = "https://finance.yahoo.com/quote/" + currencyPair + "/history?p=" + currencyPair;
+    /**
+     * @throws UncheckedIOException if no rate provider returned rows and one of them failed
+     */
+    public List<ForexData> fetchExchangeRates(String from, String to, LocalDate startDate, LocalDate endDate) {
+        return fetchRates(from, to, startDate, endDate);
+    }
 
-        try {
-            Document doc = Jsoup.connect(url).get();
-            Elements rows = doc.select("table tbody tr");
-
-            DateTimeFormatter formatter = DateTimeFormatter.ofPattern("MMM d, yyyy", Locale.ENGLISH);
-
-            for (Element row : rows) {
-                String dateStr = row.select("td:nth-of-type(1)").text();
-                String openStr = row.select("td:nth-of-type(2)").text();
-                String highStr = row.select("td:nth-of-type(3)").text();
-                String lowStr = row.select("td:nth-of-type(4)").text();
-                String closeStr = row.select("td:nth-of-type(5)").text();
-                String adjCloseStr = row.select("td:nth-of-type(6)").text();
-                String volumeStr = row.select("td:nth-of-type(7)").text();
-
-                LOGGER.debug("Raw data: " + row.text());
-
-                try {
-                    if (!dateStr.isEmpty() && !dateStr.contains("=")) {
-                        LocalDate date = LocalDate.parse(dateStr, formatter);
-                        if (date.isBefore(startDate) || date.isAfter(endDate)) {
-                            continue;
-                        }
-
-                        BigDecimal open = parseBigDecimal(openStr);
-                        BigDecimal high = parseBigDecimal(highStr);
-                        BigDecimal low = parseBigDecimal(lowStr);
-                        BigDecimal close = parseBigDecimal(closeStr);
-                        BigDecimal adjClose = parseBigDecimal(adjCloseStr);
-                        BigDecimal volume = parseBigDecimal(volumeStr);
-
-                        System.out.println("Parsed values: Date: " + date + ", Open: " + open + ", High: " + high + ", Low: " + low + ", Close: " + close + ", AdjClose: " + adjClose + ", Volume: " + volume);
-                        if (open != null && high != null && low != null && close != null && adjClose != null && volume != null) {
-                            ForexData data = new ForexData();
-                            data.setCurrencyPair(currencyPair);
-                            data.setDate(date);
-                            data.setOpen(open);
-                            data.setHigh(high);
-                            data.setLow(low);
-                            data.setClose(close);
-                            data.setAdjClose(adjClose);
-                            data.setVolume(volume);
-                            forexDataList.add(data);
-                        } else {
-                            LOGGER.warn("Skipping row with incomplete or invalid data: {}", row.text());
-                        }
-                    } else {
-                        LOGGER.warn("Skipping row with invalid date: {}", dateStr);
-                    }
-                } catch (DateTimeParseException e) {
-                    LOGGER.error("Failed to parse date: {}", dateStr, e);
-                } catch (NumberFormatException e) {
-                    LOGGER.error("Failed to parse numeric values: {}", row.text(), e);
-                }
+    /**
+     * Fetches one chunk of a long range from the rate providers. Unlike the other fetches, failures are
+     * thrown as checked exceptions so the caller can retry.
+     */
+    public List<ForexData> fetchHistoryChunk(String from, String to, LocalDate startDate, LocalDate endDate) throws IOException {
+        return hedgedRateFetcher.fetch(from, to, startDate, endDate);
+    }
+
+    /**
+     * Upserts the rows and returns them as stored, with their database ids, ordered by date.
+     */
+    public List<ForexData> saveExchangeRates(String currencyPair, List<ForexData> dataList) {
+        forexDataRepository.upsertAll(dataList);
+
+        Set<LocalDate> dates = new HashSet<>();
+        LocalDate first = LocalDate.MAX;
+        LocalDate last = LocalDate.MIN;
+        for (ForexData data : dataList) {
+            dates.add(data.getDate());
+            first = data.getDate().isBefore(first) ? data.getDate() : first;
+            last = data.getDate().isAfter(last) ? data.getDate() : last;
+        }
+        List<ForexData> saved = new ArrayList<>(dates.size());
+        for (ForexData data : forexDataRepository.findByCurrencyPairAndDateBetweenOrderByDateAsc(currencyPair, first, last)) {
+            if (dates.contains(data.getDate())) {
+                saved.add(data);
             }
-        } catch (Exception e) {
-            LOGGER.error("Error fetching data from URL: {}", url, e);
         }
 
-        return forexDataList;
+        if (!saved.isEmpty()) {
+            highWaterMarks.merge(currencyPair, saved.get(saved.size() - 1).getDate(), ForexScraperService::later);
+        }
+        eventPublisher.publishEvent(new ForexDataSavedEvent(currencyPair, saved));
+        return saved;
     }
 
-    private BigDecimal parseBigDecimal(String value) {
-        if (value == null || value.trim().isEmpty() || "-".equals(value)) {
-            return BigDecimal.ZERO;
-        }
+    public LocalDate calculateStartDate(Period period) {
+        return period.startDate(LocalDate.now());
+    }
+
+    private List<ForexData> fetchRates(String from, String to, LocalDate startDate, LocalDate endDate) {
         try {
-            String sanitizedValue = value.replace(",", "").trim();
-            return new BigDecimal(sanitizedValue);
-        } catch (NumberFormatException e) {
-            LOGGER.error("Failed to parse value to BigDecimal: {}", value, e);
-            return BigDecimal.ZERO;
+            return hedgedRateFetcher.fetch(from, to, startDate, endDate);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e.getMessage(), e);
         }
     }
 
+    private static LocalDate later(LocalDate a, LocalDate b) {
+        return a.isAfter(b) ? a : b;
+    }
+
+    public String getBaseUrl() {
+        return yahooRateProvider.getBaseUrl();
+    }
+
     public boolean isValidCurrencyCode(String code) {
         return code != null && code.matches("[A-Z]{3}");
     }
@@ -0,0 +1,75 @@
+package com.example.forexData.service;
+
+import com.example.forexData.model.PairScrapeResult;
+import com.example.forexData.model.ScrapeReport;
+import com.example.forexData.util.Period;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+@Service
+public class ScheduledScrapeJobs {
+
+    @Autowired
+    private ForexScrapeEngine forexScrapeEngine;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${forex.scrape.incremental:true}")
+    private boolean incremental;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ScheduledScrapeJobs.class);
+
+    @Scheduled(cron = "0 20 14 * * *", zone = "Asia/Kolkata")
+    public void scrapeAndSaveWeeklyData() {
+        LOGGER.info("Scheduled task: Scraping and saving weekly data for {}", forexScrapeEngine.getConfiguredPairs());
+        runJob("weekly", Period.ONE_WEEK);
+    }
+
+    @Scheduled(cron = "0 20 14 * * 6", zone = "Asia/Kolkata")
+    public void scrapeAndSaveMonthlyData() {
+        LOGGER.info("Scheduled task: Scraping and saving monthly data for {}", forexScrapeEngine.getConfiguredPairs());
+        runJob("monthly", Period.ONE_MONTH);
+    }
+
+    @Scheduled(cron = "0 20 14 1 * *", zone = "Asia/Kolkata")
+    public void scrapeAndSaveQuarterlyData() {
+        LOGGER.info("Scheduled task: Scraping and saving quarterly data for {}", forexScrapeEngine.getConfiguredPairs());
+        runJob("quarterly", Period.THREE_MONTHS, Period.SIX_MONTHS, Period.NINE_MONTHS);
+    }
+
+    @Scheduled(cron = "0 20 14 1 1 *", zone = "Asia/Kolkata")
+    public void scrapeAndSaveYearlyData() {
+        LOGGER.info("Scheduled task: Scraping and saving yearly data for {}", forexScrapeEngine.getConfiguredPairs());
+        runJob("yearly", Period.ONE_YEAR);
+    }
+
+    /**
+     * Scrapes the configured pairs for each period, recording the run time and every pair's outcome.
+     */
+    private void runJob(String job, Period... periods) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "error";
+        try {
+            for (Period period : periods) {
+                ScrapeReport report = forexScrapeEngine.scrapeConfiguredPairs(period, incremental);
+                for (PairScrapeResult result : report.results()) {
+                    meterRegistry.counter("forex.scheduler.pairs", "job", job, "status", result.status().name()).increment();
+                }
+            }
+            outcome = "success";
+        } finally {
+            sample.stop(Timer.builder("forex.scheduler.run")
+                    .description("Duration of a scheduled scrape job")
+                    .tag("job", job)
+                    .tag("outcome", outcome)
+                    .register(meterRegistry));
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package com.example.forexData.service;
+
+import com.example.forexData.model.ScrapeJobStatus;
+import com.example.forexData.model.ScrapeJobStatus.Priority;
+import com.example.forexData.model.ScrapeJobStatus.State;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Runs scrapes off the request thread on a fixed pool of workers fed by a bounded priority queue.
+ * <p>
+ * Submitting a job whose key matches one that is still queued or running returns the existing job instead
+ * of scheduling the same work twice. Finished jobs are kept for status lookups up to a fixed count; queued and
+ * running jobs are always kept, and the oldest finished jobs make room for them.
+ */
+@Service
+public class ScrapeJobService {
+
+    @Value("${forex.jobs.workers:4}")
+    private int workers;
+
+    @Value("${forex.jobs.queue-capacity:1000}")
+    private int queueCapacity;
+
+    @Value("${forex.jobs.retained:1000}")
+    private int retained;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ScrapeJobService.class);
+
+    private final Map<String, Job> activeByKey = new ConcurrentHashMap<>();
+
+    // In submission order; guarded by itself
+    private final Map<String, Job> jobs = new LinkedHashMap<>();
+
+    private final AtomicLong sequence = new AtomicLong();
+    private final AtomicInteger queued = new AtomicInteger();
+
+    private ThreadPoolExecutor executor;
+
+    @PostConstruct
+    public void start() {
+        executor = new ThreadPoolExecutor(workers, workers, 0, TimeUnit.MILLISECONDS, new PriorityBlockingQueue<>(),
+                Thread.ofVirtual().name("scrape-job-", 0).factory());
+        // Start workers up front so every job goes through the queue and is ordered by priority.
+        executor.prestartAllCoreThreads();
+    }
+
+    /**
+     * @param key identifies identical work; a queued or running job with the same key is returned instead
+     * @throws RejectedExecutionException if the queue is full
+     */
+    public ScrapeJobStatus submit(String key, String description, Priority priority, Supplier<Object> work) {
+        Job job = new Job(UUID.randomUUID().toString(), key, description, priority, sequence.incrementAndGet(), work);
+        Job existing = activeByKey.putIfAbsent(key, job);
+        if (existing != null) {
+            LOGGER.info("Job {} already covers {}", existing.id, description);
+            return existing.status();
+        }
+
+        if (queued.incrementAndGet() > queueCapacity) {
+            queued.decrementAndGet();
+            activeByKey.remove(key, job);
+            throw new RejectedExecutionException("Scrape job queue is full");
+        }
+        synchronized (jobs) {
+            jobs.put(job.id, job);
+            evictFinished();
+        }
+        executor.execute(job);
+        LOGGER.info("Queued job {}: {} ({})", job.id, description, priority);
+        return job.status();
+    }
+
+    /**
+     * @return the job, or {@code null} if it is unknown or no longer retained
+     */
+    public ScrapeJobStatus getJob(String id) {
+        Job job;
+        synchronized (jobs) {
+            job = jobs.get(id);
+        }
+        return job != null ? job.status() : null;
+    }
+
+    /**
+     * Drops the oldest finished jobs while more than {@code retained} are kept. A long job submitted early does not
+     * hold back the eviction of the finished jobs behind it. Callers hold the lock on {@code jobs}.
+     */
+    private void evictFinished() {
+        Iterator<Job> iterator = jobs.values().iterator();
+        while (jobs.size() > retained && iterator.hasNext()) {
+            if (iterator.next().isFinished()) {
+                iterator.remove();
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private final class Job implements Runnable, Comparable<Job> {
+
+        private final String id;
+        private final String key;
+        private final String description;
+        private final Priority priority;
+        private final long sequence;
+        private final Supplier<Object> work;
+        private final Instant submittedAt = Instant.now();
+
+        private volatile State state = State.QUEUED;
+        private volatile Instant startedAt;
+        private volatile Instant finishedAt;
+        private volatile Object result;
+        private volatile String error;
+
+        private Job(String id, String key, String description, Priority priority, long sequence, Supplier<Object> work) {
+            this.id = id;
+            this.key = key;
+            this.description = description;
+            this.priority = priority;
+            this.sequence = sequence;
+            this.work = work;
+        }
+
+        @Override
+        public void run() {
+            queued.decrementAndGet();
+            startedAt = Instant.now();
+            state = State.RUNNING;
+            State outcome = State.FAILED;
+            try {
+                result = work.get();
+                outcome = State.SUCCEEDED;
+            } catch (RuntimeException e) {
+                LOGGER.error("Job {} failed: {}", id, description, e);
+                error = e.getMessage() != null ? e.getMessage() : e.toString();
+            } catch (Error e) {
+                // Finish the job before the error reaches the worker, so it neither stays RUNNING nor blocks its key
+                error = e.toString();
+                throw e;
+            } finally {
+                finishedAt = Instant.now();
+                state = outcome;
+                activeByKey.remove(key, this);
+                synchronized (jobs) {
+                    evictFinished();
+                }
+            }
+        }
+
+        private boolean isFinished() {
+            return state == State.SUCCEEDED || state == State.FAILED;
+        }
+
+        private ScrapeJobStatus status() {
+            return new ScrapeJobStatus(id, description, priority, state, submittedAt, startedAt, finishedAt, result, error);
+        }
+
+        @Override
+        public int compareTo(Job other) {
+            int byPriority = priority.compareTo(other.priority);
+            return byPriority != 0 ? byPriority : Long.compare(sequence, other.sequence);
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package com.example.forexData.service;
+
+import com.example.forexData.model.CurrencyPairRequest;
+import com.example.forexData.util.Period;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Loads the hot pairs into the read-side caches before the node takes traffic.
+ * <p>
+ * Runs inside the {@link ApplicationReadyEvent}, after the time-series store has loaded. Spring Boot only moves
+ * readiness to {@code ACCEPTING_TRAFFIC} once every ready listener has returned, so
+ * {@code /actuator/health/readiness} stays down until the warm-up is over. Pairs are warmed in parallel, at most
+ * {@code forex.scrape.max-concurrency-per-host} at a time. Each pair goes through its periods longest first,
+ * so at most one scrape fills a cold pair and the shorter periods are answered from the database. After
+ * {@code forex.warmup.timeout-millis} the remaining loads are cancelled and the node reports ready anyway.
+ */
+@Service
+public class WarmUpService {
+
+    @Autowired
+    private ForexDataCacheService forexDataCacheService;
+
+    @Autowired
+    private CrossRateService crossRateService;
+
+    @Autowired
+    private ForexScrapeEngine forexScrapeEngine;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${forex.warmup.enabled:false}")
+    private boolean enabled;
+
+    @Value("${forex.warmup.pairs:}")
+    private List<String> pairs;
+
+    @Value("${forex.warmup.periods:1W,1M}")
+    private List<String> periods;
+
+    @Value("${forex.warmup.cross-pairs:}")
+    private List<String> crossPairs;
+
+    @Value("${forex.warmup.timeout-millis:120000}")
+    private long timeoutMillis;
+
+    @Value("${forex.scrape.max-concurrency-per-host:8}")
+    private int maxConcurrency;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(WarmUpService.class);
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (!enabled) {
+            return;
+        }
+        List<CurrencyPairRequest> warmPairs = pairs.isEmpty()
+                ? forexScrapeEngine.getConfiguredPairs()
+                : pairs.stream().map(CurrencyPairRequest::parse).toList();
+        List<Period> warmPeriods = periods.stream()
+                .map(value -> Period.fromValue(value.trim()))
+                .sorted(Comparator.comparing((Period period) -> period.startDate(LocalDate.now())))
+                .toList();
+
+        Timer.Sample sample = Timer.start(meterRegistry);
+        long start = System.nanoTime();
+        Semaphore permits = new Semaphore(maxConcurrency);
+        List<Future<?>> futures = new ArrayList<>(warmPairs.size());
+        for (CurrencyPairRequest pair : warmPairs) {
+            futures.add(executor.submit(() -> warmPair(pair, warmPeriods, permits)));
+        }
+
+        String outcome = "complete";
+        int failed = 0;
+        long deadline = start + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        for (int i = 0; i < futures.size(); i++) {
+            try {
+                futures.get(i).get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            } catch (ExecutionException e) {
+                failed++;
+                LOGGER.warn("Warm-up of {} failed", warmPairs.get(i), e.getCause());
+            } catch (TimeoutException e) {
+                outcome = "timeout";
+                futures.forEach(future -> future.cancel(true));
+                LOGGER.warn("Warm-up timed out after {} ms, reporting ready with cold pairs", timeoutMillis);
+                break;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                futures.forEach(future -> future.cancel(true));
+                return;
+            }
+        }
+
+        if (!warmPeriods.isEmpty()) {
+            LocalDate today = LocalDate.now();
+            for (String crossPair : crossPairs) {
+                CurrencyPairRequest pair = CurrencyPairRequest.parse(crossPair);
+                try {
+                    crossRateService.getCrossRates(pair.from(), pair.to(), warmPeriods.get(0).startDate(today), today);
+                } catch (IllegalArgumentException e) {
+                    LOGGER.warn("Cannot warm cross rates for {}: {}", crossPair, e.getMessage());
+                }
+            }
+        }
+
+        sample.stop(Timer.builder("forex.warmup")
+                .description("Duration of the startup warm-up")
+                .tag("outcome", outcome)
+                .register(meterRegistry));
+        LOGGER.info("Warm-up of {} pairs for periods {} finished in {} ms: {} failed, outcome {}",
+                warmPairs.size(), periods, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), failed, outcome);
+    }
+
+    private Void warmPair(CurrencyPairRequest pair, List<Period> warmPeriods, Semaphore permits) throws InterruptedException {
+        permits.acquire();
+        try {
+            for (Period period : warmPeriods) {
+                forexDataCacheService.getExchangeRates(pair.from(), pair.to(), period);
+            }
+            return null;
+        } finally {
+            permits.release();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
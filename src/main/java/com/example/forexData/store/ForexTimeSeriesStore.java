@@ -0,0 +1,97 @@
+package com.example.forexData.store;
+
+import com.example.forexData.event.ForexDataSavedEvent;
+import com.example.forexData.model.ForexData;
+import com.example.forexData.repository.ForexDataRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Read-side copy of all stored bars, one {@link PairSeries} per currency pair.
+ * <p>
+ * Loaded from the database once the application is ready and kept current from {@link ForexDataSavedEvent}s,
+ * so range reads are a binary search over primitive arrays instead of a query materializing entities.
+ */
+@Component
+public class ForexTimeSeriesStore {
+
+    @Autowired
+    private ForexDataRepository forexDataRepository;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ForexTimeSeriesStore.class);
+
+    private static final int LOAD_CHUNK = 4096;
+
+    private final Map<String, PairSeries> series = new ConcurrentHashMap<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void load() {
+        long start = System.nanoTime();
+        List<ForexData> chunk = new ArrayList<>(LOAD_CHUNK);
+        int[] rows = new int[1];
+
+        forexDataRepository.forEachOrderedByPairAndDate(data -> {
+            if (!chunk.isEmpty() && (chunk.size() == LOAD_CHUNK
+                    || !chunk.get(0).getCurrencyPair().equals(data.getCurrencyPair()))) {
+                flush(chunk);
+            }
+            chunk.add(data);
+            rows[0]++;
+        });
+        flush(chunk);
+
+        LOGGER.info("Loaded {} bars for {} pairs into the time-series store in {} ms",
+                rows[0], series.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Runs after the change feed, which compares saved rows with the bars stored so far, and before listeners that
+     * publish the new data, such as the data version behind ETags.
+     */
+    @EventListener
+    @Order(0)
+    public void onForexDataSaved(ForexDataSavedEvent event) {
+        seriesFor(event.currencyPair()).merge(event.rows());
+    }
+
+    /**
+     * @return the pair's bars, empty if nothing is stored for it
+     */
+    public PairSeries.Snapshot snapshot(String currencyPair) {
+        PairSeries pairSeries = series.get(currencyPair);
+        return pairSeries != null ? pairSeries.snapshot() : new PairSeries(currencyPair).snapshot();
+    }
+
+    public boolean contains(String currencyPair) {
+        PairSeries pairSeries = series.get(currencyPair);
+        return pairSeries != null && pairSeries.snapshot().size() > 0;
+    }
+
+    public Set<String> currencyPairs() {
+        return Set.copyOf(series.keySet());
+    }
+
+    private void flush(List<ForexData> chunk) {
+        if (!chunk.isEmpty()) {
+            seriesFor(chunk.get(0).getCurrencyPair()).merge(chunk);
+            chunk.clear();
+        }
+    }
+
+    private PairSeries seriesFor(String currencyPair) {
+        return series.computeIfAbsent(currencyPair, PairSeries::new);
+    }
+}
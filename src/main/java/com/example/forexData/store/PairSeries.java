@@ -0,0 +1,276 @@
+package com.example.forexData.store;
+
+import com.example.forexData.model.ForexData;
+import com.example.forexData.model.OhlcBar;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+
+/**
+ * Columnar daily bars for one currency pair: an {@code int} epoch day plus six fixed-point {@code long}
+ * columns per bar, about 52 bytes instead of a JPA entity with six BigDecimals.
+ * <p>
+ * A missing value, or one outside the fixed-point range, is stored as {@link #MISSING} and read back as
+ * {@code null}, so it is never mistaken for a price of 0.
+ * <p>
+ * Readers take an immutable {@link Snapshot} without locking. Writers are serialized; appends fill spare
+ * capacity past the published size, while inserts and in-place updates publish fresh arrays.
+ */
+public class PairSeries {
+
+    /**
+     * Decimal places kept by the fixed-point columns, matching the database column scale.
+     */
+    public static final int SCALE = 5;
+
+    /**
+     * Column value of a missing or unrepresentable value. No price reaches it, since {@link #toFixed} maps the
+     * whole out-of-range side to it.
+     */
+    public static final long MISSING = Long.MIN_VALUE;
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    private final String currencyPair;
+
+    private volatile Snapshot snapshot = new Snapshot(0, new int[0], new long[0], new long[0], new long[0],
+            new long[0], new long[0], new long[0]);
+
+    public PairSeries(String currencyPair) {
+        this.currencyPair = currencyPair;
+    }
+
+    public String getCurrencyPair() {
+        return currencyPair;
+    }
+
+    public Snapshot snapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Adds bars from the database or a scrape. Bars for days already present replace the stored values.
+     */
+    public synchronized void merge(List<ForexData> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        List<ForexData> sorted = new ArrayList<>(rows);
+        sorted.sort(Comparator.comparing(ForexData::getDate));
+
+        Snapshot current = snapshot;
+        int firstDay = (int) sorted.get(0).getDate().toEpochDay();
+        boolean appendOnly = current.size == 0 || firstDay > current.days[current.size - 1];
+
+        if (appendOnly) {
+            int required = current.size + sorted.size();
+            Snapshot target = required <= current.days.length ? current : current.grow(Math.max(required, Math.max(INITIAL_CAPACITY, current.days.length * 2)));
+            int size = current.size;
+            for (ForexData row : sorted) {
+                int day = (int) row.getDate().toEpochDay();
+                if (size > current.size && target.days[size - 1] == day) {
+                    size--;
+                }
+                target.set(size++, day, row);
+            }
+            snapshot = new Snapshot(size, target.days, target.open, target.high, target.low, target.close,
+                    target.adjClose, target.volume);
+            return;
+        }
+
+        Snapshot copy = current.grow(Math.max(current.days.length, current.size + sorted.size()));
+        int size = current.size;
+        for (ForexData row : sorted) {
+            int day = (int) row.getDate().toEpochDay();
+            int index = Arrays.binarySearch(copy.days, 0, size, day);
+            if (index >= 0) {
+                copy.set(index, day, row);
+            } else {
+                int insertAt = -index - 1;
+                copy.shiftRight(insertAt, size);
+                copy.set(insertAt, day, row);
+                size++;
+            }
+        }
+        snapshot = new Snapshot(size, copy.days, copy.open, copy.high, copy.low, copy.close, copy.adjClose, copy.volume);
+    }
+
+    /**
+     * @return the value in fixed point, or {@link #MISSING} if it is null or does not fit
+     */
+    public static long toFixed(BigDecimal value) {
+        if (value == null) {
+            return MISSING;
+        }
+        BigDecimal scaled = value.setScale(SCALE, RoundingMode.HALF_UP);
+        if (scaled.unscaledValue().bitLength() >= Long.SIZE) {
+            return MISSING;
+        }
+        return scaled.unscaledValue().longValue();
+    }
+
+    /**
+     * @return the value, or {@code null} for {@link #MISSING}
+     */
+    public static BigDecimal toBigDecimal(long fixed) {
+        return fixed == MISSING ? null : BigDecimal.valueOf(fixed, SCALE);
+    }
+
+    /**
+     * @return the value, or {@link Double#NaN} for {@link #MISSING}
+     */
+    public static double toDouble(long fixed) {
+        return fixed == MISSING ? Double.NaN : fixed / 100_000.0;
+    }
+
+    /**
+     * Immutable view of the first {@code size} bars. Columns must not be modified.
+     */
+    public static final class Snapshot {
+
+        private final int size;
+        private final int[] days;
+        private final long[] open;
+        private final long[] high;
+        private final long[] low;
+        private final long[] close;
+        private final long[] adjClose;
+        private final long[] volume;
+
+        private Snapshot(int size, int[] days, long[] open, long[] high, long[] low, long[] close, long[] adjClose, long[] volume) {
+            this.size = size;
+            this.days = days;
+            this.open = open;
+            this.high = high;
+            this.low = low;
+            this.close = close;
+            this.adjClose = adjClose;
+            this.volume = volume;
+        }
+
+        public int size() {
+            return size;
+        }
+
+        public int day(int index) {
+            return days[index];
+        }
+
+        public long open(int index) {
+            return open[index];
+        }
+
+        public long high(int index) {
+            return high[index];
+        }
+
+        public long low(int index) {
+            return low[index];
+        }
+
+        public long close(int index) {
+            return close[index];
+        }
+
+        public boolean hasClose(int index) {
+            return close[index] != MISSING;
+        }
+
+        public long adjClose(int index) {
+            return adjClose[index];
+        }
+
+        public long volume(int index) {
+            return volume[index];
+        }
+
+        /**
+         * @return index of the first bar on or after {@code epochDay}; {@link #size()} if there is none
+         */
+        public int ceilingIndex(int epochDay) {
+            int index = Arrays.binarySearch(days, 0, size, epochDay);
+            return index >= 0 ? index : -index - 1;
+        }
+
+        /**
+         * @return index of the last bar on or before {@code epochDay}; -1 if there is none
+         */
+        public int floorIndex(int epochDay) {
+            int index = Arrays.binarySearch(days, 0, size, epochDay);
+            return index >= 0 ? index : -index - 2;
+        }
+
+        /**
+         * @return index of the last bar on or before {@code epochDay} that has a close; -1 if there is none
+         */
+        public int floorCloseIndex(int epochDay) {
+            int index = floorIndex(epochDay);
+            while (index >= 0 && close[index] == MISSING) {
+                index--;
+            }
+            return index;
+        }
+
+        public OhlcBar bar(int index) {
+            return new OhlcBar(LocalDate.ofEpochDay(days[index]), toBigDecimal(open[index]), toBigDecimal(high[index]),
+                    toBigDecimal(low[index]), toBigDecimal(close[index]), toBigDecimal(adjClose[index]),
+                    toBigDecimal(volume[index]));
+        }
+
+        public List<OhlcBar> range(LocalDate startDate, LocalDate endDate) {
+            int from = ceilingIndex((int) startDate.toEpochDay());
+            int to = floorIndex((int) endDate.toEpochDay());
+            List<OhlcBar> bars = new ArrayList<>(Math.max(0, to - from + 1));
+            for (int i = from; i <= to; i++) {
+                bars.add(bar(i));
+            }
+            return bars;
+        }
+
+        /**
+         * Dates that have a bar between the given dates (inclusive).
+         */
+        public NavigableSet<LocalDate> dates(LocalDate startDate, LocalDate endDate) {
+            NavigableSet<LocalDate> dates = new TreeSet<>();
+            int to = floorIndex((int) endDate.toEpochDay());
+            for (int i = ceilingIndex((int) startDate.toEpochDay()); i <= to; i++) {
+                dates.add(LocalDate.ofEpochDay(days[i]));
+            }
+            return dates;
+        }
+
+        private Snapshot grow(int capacity) {
+            return new Snapshot(size, Arrays.copyOf(days, capacity), Arrays.copyOf(open, capacity),
+                    Arrays.copyOf(high, capacity), Arrays.copyOf(low, capacity), Arrays.copyOf(close, capacity),
+                    Arrays.copyOf(adjClose, capacity), Arrays.copyOf(volume, capacity));
+        }
+
+        private void set(int index, int day, ForexData row) {
+            days[index] = day;
+            open[index] = toFixed(row.getOpen());
+            high[index] = toFixed(row.getHigh());
+            low[index] = toFixed(row.getLow());
+            close[index] = toFixed(row.getClose());
+            adjClose[index] = toFixed(row.getAdjClose());
+            volume[index] = toFixed(row.getVolume());
+        }
+
+        private void shiftRight(int from, int size) {
+            int length = size - from;
+            System.arraycopy(days, from, days, from + 1, length);
+            System.arraycopy(open, from, open, from + 1, length);
+            System.arraycopy(high, from, high, from + 1, length);
+            System.arraycopy(low, from, low, from + 1, length);
+            System.arraycopy(close, from, close, from + 1, length);
+            System.arraycopy(adjClose, from, adjClose, from + 1, length);
+            System.arraycopy(volume, from, volume, from + 1, length);
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.forexData.util;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongSupplier;
+
+/**
+ * Consecutive-failure circuit breaker.
+ * <p>
+ * After {@code failureThreshold} failures in a row the circuit opens and calls are refused for {@code openMillis}.
+ * Then a single trial call is let through: its success closes the circuit, its failure opens it again. A call
+ * that ends without a verdict, e.g. because it was cancelled, must {@link #release()} its permit.
+ */
+public final class CircuitBreaker {
+
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    private record Status(State state, long openedAt) {
+    }
+
+    private final int failureThreshold;
+    private final long openNanos;
+    private final LongSupplier nanoClock;
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private final AtomicReference<Status> status = new AtomicReference<>(new Status(State.CLOSED, 0));
+
+    public CircuitBreaker(int failureThreshold, long openMillis) {
+        this(failureThreshold, openMillis, System::nanoTime);
+    }
+
+    CircuitBreaker(int failureThreshold, long openMillis, LongSupplier nanoClock) {
+        if (failureThreshold < 1 || openMillis < 0) {
+            throw new IllegalArgumentException("Invalid threshold " + failureThreshold + " or open time " + openMillis);
+        }
+        this.failureThreshold = failureThreshold;
+        this.openNanos = TimeUnit.MILLISECONDS.toNanos(openMillis);
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * @return whether a call may proceed; a true answer must be followed by exactly one of
+     * {@link #onSuccess()}, {@link #onFailure()} or {@link #release()}
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            Status current = status.get();
+            switch (current.state()) {
+                case CLOSED:
+                    return true;
+                case HALF_OPEN:
+                    return false;
+                default:
+                    if (nanoClock.getAsLong() - current.openedAt() < openNanos) {
+                        return false;
+                    }
+                    if (status.compareAndSet(current, new Status(State.HALF_OPEN, current.openedAt()))) {
+                        return true;
+                    }
+            }
+        }
+    }
+
+    public void onSuccess() {
+        consecutiveFailures.set(0);
+        status.set(new Status(State.CLOSED, 0));
+    }
+
+    public void onFailure() {
+        int failures = consecutiveFailures.incrementAndGet();
+        Status current = status.get();
+        if (current.state() == State.HALF_OPEN || (current.state() == State.CLOSED && failures >= failureThreshold)) {
+            status.compareAndSet(current, new Status(State.OPEN, nanoClock.getAsLong()));
+        }
+    }
+
+    /**
+     * Gives back a permit without a verdict. A cancelled trial call leaves the circuit open but due for another trial.
+     */
+    public void release() {
+        Status current = status.get();
+        if (current.state() == State.HALF_OPEN) {
+            status.compareAndSet(current, new Status(State.OPEN, current.openedAt()));
+        }
+    }
+
+    public State state() {
+        return status.get().state();
+    }
+}
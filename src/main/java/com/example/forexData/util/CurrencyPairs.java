@@ -0,0 +1,14 @@
+package com.example.forexData.util;
+
+public final class CurrencyPairs {
+
+    private CurrencyPairs() {
+    }
+
+    /**
+     * Builds the Yahoo Finance symbol for a pair, e.g. USD + INR -> USDINR=X.
+     */
+    public static String symbol(String from, String to) {
+        return from + to + "=X";
+    }
+}
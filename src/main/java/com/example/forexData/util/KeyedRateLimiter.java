@@ -0,0 +1,86 @@
+package com.example.forexData.util;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * One {@link TokenBucket} per key, such as a client address or a currency pair.
+ * <p>
+ * Buckets live in a {@link ConcurrentHashMap}, so callers with different keys touch different bins and a
+ * permit costs one CAS on the caller's own bucket. Memory is bounded two ways: {@link #evictIdle()} removes
+ * buckets that have refilled completely, which loses no state since a new bucket starts full, and once
+ * {@code maxKeys} buckets exist, new keys share a single overflow bucket until eviction makes room.
+ */
+public final class KeyedRateLimiter {
+
+    private final double permitsPerSecond;
+    private final int burst;
+    private final int maxKeys;
+    private final LongSupplier nanoClock;
+    private final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+    private final TokenBucket overflow;
+
+    /**
+     * @param permitsPerSecond sustained rate per key
+     * @param burst            permits a key may take at once after being idle
+     * @param maxKeys          buckets kept before new keys share the overflow bucket
+     */
+    public KeyedRateLimiter(double permitsPerSecond, int burst, int maxKeys) {
+        this(permitsPerSecond, burst, maxKeys, System::nanoTime);
+    }
+
+    KeyedRateLimiter(double permitsPerSecond, int burst, int maxKeys, LongSupplier nanoClock) {
+        if (maxKeys < 1) {
+            throw new IllegalArgumentException("Invalid key limit " + maxKeys);
+        }
+        this.permitsPerSecond = permitsPerSecond;
+        this.burst = burst;
+        this.maxKeys = maxKeys;
+        this.nanoClock = nanoClock;
+        this.overflow = new TokenBucket(permitsPerSecond, burst, nanoClock);
+    }
+
+    /**
+     * Takes a permit for {@code key} if one is available now.
+     *
+     * @return zero if a permit was taken, otherwise nanoseconds until one is available
+     */
+    public long tryAcquire(String key) {
+        TokenBucket bucket = bucket(key);
+        return bucket.tryAcquire() ? 0 : Math.max(1, bucket.nanosUntilAvailable());
+    }
+
+    /**
+     * Gives back a permit taken for {@code key} that went unused.
+     */
+    public void release(String key) {
+        bucket(key).release();
+    }
+
+    /**
+     * Removes the buckets of keys that have been idle long enough to refill.
+     *
+     * @return the number of buckets removed
+     */
+    public int evictIdle() {
+        int before = buckets.size();
+        buckets.values().removeIf(TokenBucket::isFull);
+        return before - buckets.size();
+    }
+
+    public int size() {
+        return buckets.size();
+    }
+
+    private TokenBucket bucket(String key) {
+        TokenBucket bucket = buckets.get(key);
+        if (bucket != null) {
+            return bucket;
+        }
+        if (buckets.size() >= maxKeys) {
+            return overflow;
+        }
+        return buckets.computeIfAbsent(key, k -> new TokenBucket(permitsPerSecond, burst, nanoClock));
+    }
+}
@@ -1,5 +1,7 @@
 package com.example.forexData.util;
 
+import java.time.LocalDate;
+
 public enum Period {
     ONE_WEEK("1W"),
     ONE_MONTH("1M"),
@@ -18,6 +20,20 @@ public enum Period {
         return value;
     }
 
+    /**
+     * First day of this period's lookback window ending on {@code today}.
+     */
+    public LocalDate startDate(LocalDate today) {
+        return switch (this) {
+            case ONE_WEEK -> today.minusWeeks(1);
+            case ONE_MONTH -> today.minusMonths(1);
+            case THREE_MONTHS -> today.minusMonths(3);
+            case SIX_MONTHS -> today.minusMonths(6);
+            case NINE_MONTHS -> today.minusMonths(9);
+            case ONE_YEAR -> today.minusYears(1);
+        };
+    }
+
     public static Period fromValue(String value) {
         for (Period period : Period.values()) {
             if (period.getValue().equals(value)) {
@@ -0,0 +1,101 @@
+package com.example.forexData.util;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Lock-free token bucket, kept as a single theoretical arrival time (the generic cell rate algorithm).
+ * <p>
+ * Each permit pushes the arrival time one interval further; a caller may proceed once that time is within
+ * {@code burst} intervals of now. {@link #acquire()} reserves its slot with one CAS and then sleeps outside
+ * any lock, so waiters are served in reservation order without contending with each other.
+ */
+public final class TokenBucket {
+
+    private final long intervalNanos;
+    private final long toleranceNanos;
+    private final LongSupplier nanoClock;
+    private final AtomicLong theoreticalArrival;
+
+    /**
+     * @param permitsPerSecond sustained rate
+     * @param burst            permits that may be taken at once after the bucket has been idle
+     */
+    public TokenBucket(double permitsPerSecond, int burst) {
+        this(permitsPerSecond, burst, System::nanoTime);
+    }
+
+    TokenBucket(double permitsPerSecond, int burst, LongSupplier nanoClock) {
+        if (permitsPerSecond <= 0 || burst < 1) {
+            throw new IllegalArgumentException("Invalid rate " + permitsPerSecond + "/s with burst " + burst);
+        }
+        this.intervalNanos = Math.max(1, (long) (TimeUnit.SECONDS.toNanos(1) / permitsPerSecond));
+        this.toleranceNanos = intervalNanos * (burst - 1);
+        this.nanoClock = nanoClock;
+        this.theoreticalArrival = new AtomicLong(nanoClock.getAsLong());
+    }
+
+    /**
+     * Takes a permit if one is available now.
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            long now = nanoClock.getAsLong();
+            long arrival = theoreticalArrival.get();
+            if (arrival - toleranceNanos - now > 0) {
+                return false;
+            }
+            if (theoreticalArrival.compareAndSet(arrival, Math.max(arrival, now) + intervalNanos)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Gives back a permit taken by {@link #tryAcquire()} but not used. A bucket never holds more than its burst.
+     */
+    public void release() {
+        long now = nanoClock.getAsLong();
+        theoreticalArrival.getAndUpdate(arrival -> Math.max(now, arrival - intervalNanos));
+    }
+
+    /**
+     * @return nanoseconds until {@link #tryAcquire()} can succeed, zero if it can now
+     */
+    public long nanosUntilAvailable() {
+        return Math.max(0, theoreticalArrival.get() - toleranceNanos - nanoClock.getAsLong());
+    }
+
+    /**
+     * Whether the bucket has refilled completely, so replacing it with a new one would change nothing.
+     */
+    public boolean isFull() {
+        return theoreticalArrival.get() - nanoClock.getAsLong() <= 0;
+    }
+
+    /**
+     * Reserves the next permit and waits until it is due.
+     */
+    public void acquire() throws InterruptedException {
+        long waitNanos = reserve();
+        if (waitNanos > 0) {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        }
+    }
+
+    /**
+     * Reserves the next permit without waiting for it.
+     *
+     * @return nanoseconds until the reserved permit is due, zero if it is due now
+     */
+    long reserve() {
+        while (true) {
+            long now = nanoClock.getAsLong();
+            long arrival = theoreticalArrival.get();
+            if (theoreticalArrival.compareAndSet(arrival, Math.max(arrival, now) + intervalNanos)) {
+                return Math.max(0, arrival - toleranceNanos - now);
+            }
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.forexData.util;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NavigableSet;
+
+/**
+ * Decides which weekdays of a range still lack a stored bar.
+ * <p>
+ * Yahoo publishes no bar on market holidays, and there is no holiday calendar to consult. A weekday without a
+ * bar therefore counts as a holiday when stored bars surround it and at most {@link #MAX_HOLIDAY_WEEKDAYS}
+ * consecutive weekdays are missing there. Weekdays before the first or after the last stored bar, and longer
+ * gaps, are missing data.
+ */
+public final class TradingDays {
+
+    /**
+     * Longest run of weekdays without bars taken as a holiday, e.g. Christmas and Boxing Day.
+     */
+    public static final int MAX_HOLIDAY_WEEKDAYS = 2;
+
+    /**
+     * Days to look beyond a range for the stored bars that bracket a holiday at its edges.
+     */
+    public static final int BRACKET_DAYS = 7;
+
+    private TradingDays() {
+    }
+
+    public static boolean isWeekday(LocalDate date) {
+        DayOfWeek day = date.getDayOfWeek();
+        return day != DayOfWeek.SATURDAY && day != DayOfWeek.SUNDAY;
+    }
+
+    /**
+     * @param storedDates dates with a stored bar, ideally including those up to {@link #BRACKET_DAYS} outside the range
+     * @return weekdays between {@code startDate} and {@code endDate} that have no bar and are not taken as holidays
+     */
+    public static List<LocalDate> missingDays(LocalDate startDate, LocalDate endDate, NavigableSet<LocalDate> storedDates) {
+        List<LocalDate> missing = new ArrayList<>();
+        for (LocalDate date = startDate; !date.isAfter(endDate); date = date.plusDays(1)) {
+            if (isWeekday(date) && !storedDates.contains(date) && !isHoliday(date, storedDates)) {
+                missing.add(date);
+            }
+        }
+        return missing;
+    }
+
+    /**
+     * Whether {@link #missingDays} would find nothing, stopping at the first missing weekday.
+     */
+    public static boolean covers(LocalDate startDate, LocalDate endDate, NavigableSet<LocalDate> storedDates) {
+        for (LocalDate date = startDate; !date.isAfter(endDate); date = date.plusDays(1)) {
+            if (isWeekday(date) && !storedDates.contains(date) && !isHoliday(date, storedDates)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isHoliday(LocalDate date, NavigableSet<LocalDate> storedDates) {
+        LocalDate before = storedDates.lower(date);
+        LocalDate after = storedDates.higher(date);
+        return before != null && after != null && weekdaysBetween(before, after) <= MAX_HOLIDAY_WEEKDAYS;
+    }
+
+    /**
+     * Weekdays strictly between the two dates.
+     */
+    private static long weekdaysBetween(LocalDate first, LocalDate last) {
+        long count = 0;
+        for (LocalDate date = first.plusDays(1); date.isBefore(last); date = date.plusDays(1)) {
+            if (isWeekday(date)) {
+                count++;
+            }
+            if (count > MAX_HOLIDAY_WEEKDAYS) {
+                return count;
+            }
+        }
+        return count;
+    }
+}
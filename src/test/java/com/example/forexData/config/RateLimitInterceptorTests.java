@@ -0,0 +1,120 @@
+package com.example.forexData.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RateLimitInterceptorTests {
+
+	private final RateLimitInterceptor interceptor = new RateLimitInterceptor();
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	@BeforeEach
+	void setUp() {
+		ReflectionTestUtils.setField(interceptor, "meterRegistry", meterRegistry);
+		ReflectionTestUtils.setField(interceptor, "enabled", true);
+		ReflectionTestUtils.setField(interceptor, "clientRequestsPerSecond", 0.1);
+		ReflectionTestUtils.setField(interceptor, "clientBurst", 3);
+		ReflectionTestUtils.setField(interceptor, "pairRequestsPerSecond", 0.1);
+		ReflectionTestUtils.setField(interceptor, "pairBurst", 2);
+		ReflectionTestUtils.setField(interceptor, "maxKeys", 100);
+		ReflectionTestUtils.setField(interceptor, "evictIntervalMillis", 60_000L);
+		interceptor.start();
+	}
+
+	@AfterEach
+	void tearDown() {
+		interceptor.shutdown();
+	}
+
+	@Test
+	void rejectsClientOverItsLimit() throws IOException {
+		assertEquals(200, post("10.0.0.1", null, null).getStatus());
+		assertEquals(200, post("10.0.0.1", null, null).getStatus());
+		assertEquals(200, post("10.0.0.1", null, null).getStatus());
+
+		MockHttpServletResponse rejected = post("10.0.0.1", null, null);
+		assertEquals(429, rejected.getStatus());
+		assertEquals("10", rejected.getHeader("Retry-After"));
+		assertEquals("{\"msg\":\"Too many requests\"}", rejected.getContentAsString());
+		assertEquals(200, post("10.0.0.2", null, null).getStatus());
+		assertEquals(1, meterRegistry.get("forex.ratelimit.rejected").tag("scope", "client").counter().count());
+	}
+
+	@Test
+	void limitsPairAcrossClients() throws IOException {
+		assertEquals(200, post("10.0.0.1", "usd", "inr").getStatus());
+		assertEquals(200, post("10.0.0.2", "USD", "INR").getStatus());
+		assertEquals(429, post("10.0.0.3", "USD", "INR").getStatus());
+		assertEquals(200, post("10.0.0.3", "EUR", "USD").getStatus());
+	}
+
+	@Test
+	void pairRejectionDoesNotCostClientToken() throws IOException {
+		assertEquals(200, post("10.0.0.1", "USD", "INR").getStatus());
+		assertEquals(200, post("10.0.0.1", "USD", "INR").getStatus());
+		assertEquals(429, post("10.0.0.1", "USD", "INR").getStatus());
+		assertEquals(429, post("10.0.0.1", "USD", "INR").getStatus());
+
+		// Two of the client's three tokens went to served requests, so one is left
+		assertEquals(200, post("10.0.0.1", "EUR", "USD").getStatus());
+		assertEquals(429, post("10.0.0.1", "GBP", "USD").getStatus());
+		assertEquals(2, meterRegistry.get("forex.ratelimit.rejected").tag("scope", "pair").counter().count());
+		assertEquals(1, meterRegistry.get("forex.ratelimit.rejected").tag("scope", "client").counter().count());
+	}
+
+	@Test
+	void chargesPairsNamedInBodyOncePerPair() throws IOException {
+		assertEquals(0, interceptor.tryAcquirePairs(bulk("10.0.0.1"), List.of("USDINR=X", "EURUSD=X")));
+
+		// The second request needs two more client tokens but only one is left, so it keeps none of them
+		assertTrue(interceptor.tryAcquirePairs(bulk("10.0.0.1"), List.of("GBPUSD=X", "USDJPY=X")) > 0);
+		assertEquals(200, post("10.0.0.1", "GBP", "USD").getStatus());
+
+		// USDINR has one token left after the first request, and the EURUSD token taken before it ran out is given back
+		assertEquals(0, interceptor.tryAcquirePairs(bulk("10.0.0.2"), List.of("USDINR=X")));
+		assertTrue(interceptor.tryAcquirePairs(bulk("10.0.0.3"), List.of("EURUSD=X", "USDINR=X")) > 0);
+		assertEquals(200, post("10.0.0.4", "EUR", "USD").getStatus());
+
+		assertEquals(1, meterRegistry.get("forex.ratelimit.rejected").tag("scope", "client").counter().count());
+		assertEquals(1, meterRegistry.get("forex.ratelimit.rejected").tag("scope", "pair").counter().count());
+	}
+
+	@Test
+	void leavesReadsAlone() throws IOException {
+		for (int i = 0; i < 5; i++) {
+			MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/forex-data");
+			assertTrue(interceptor.preHandle(request, new MockHttpServletResponse(), null));
+		}
+	}
+
+	private MockHttpServletRequest bulk(String address) throws IOException {
+		MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/forex-data/bulk");
+		request.setRemoteAddr(address);
+		assertTrue(interceptor.preHandle(request, new MockHttpServletResponse(), null));
+		return request;
+	}
+
+	private MockHttpServletResponse post(String address, String from, String to) throws IOException {
+		MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/forex-data");
+		request.setRemoteAddr(address);
+		if (from != null) {
+			request.setParameter("from", from);
+			request.setParameter("to", to);
+		}
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		boolean proceed = interceptor.preHandle(request, response, null);
+		assertEquals(proceed, response.getStatus() == 200);
+		return response;
+	}
+}
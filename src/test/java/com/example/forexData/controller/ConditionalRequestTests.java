@@ -0,0 +1,136 @@
+package com.example.forexData.controller;
+
+import com.example.forexData.event.ForexDataSavedEvent;
+import com.example.forexData.model.ForexData;
+import com.example.forexData.util.Period;
+import com.example.forexData.util.TradingDays;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class ConditionalRequestTests {
+
+	private static final String SERIES = "/api/forex-data/series?from=NZD&to=CAD&startDate=2024-08-01&endDate=2024-08-30";
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private ApplicationEventPublisher eventPublisher;
+
+	@Test
+	void answersMatchingTagWith304UntilPairIsSaved() throws Exception {
+		String etag = mockMvc.perform(get(SERIES))
+				.andExpect(status().isOk())
+				.andExpect(header().exists(HttpHeaders.LAST_MODIFIED))
+				// Nothing is stored yet, so a backfill could still fill the range
+				.andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache"))
+				.andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+		mockMvc.perform(get(SERIES).header(HttpHeaders.IF_NONE_MATCH, etag))
+				.andExpect(status().isNotModified())
+				.andExpect(content().string(""));
+
+		// Another pair's data does not invalidate the tag
+		eventPublisher.publishEvent(new ForexDataSavedEvent("NZDUSD=X", List.of(row("NZDUSD=X"))));
+		mockMvc.perform(get(SERIES).header(HttpHeaders.IF_NONE_MATCH, etag))
+				.andExpect(status().isNotModified());
+
+		eventPublisher.publishEvent(new ForexDataSavedEvent("NZDCAD=X", List.of(row("NZDCAD=X"))));
+		String newTag = mockMvc.perform(get(SERIES).header(HttpHeaders.IF_NONE_MATCH, etag))
+				.andExpect(status().isOk())
+				.andExpect(content().string(containsString("2024-08-26")))
+				.andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+		assertNotEquals(etag, newTag);
+	}
+
+	@Test
+	void closedRangesAreCachedOnceFullyStored() throws Exception {
+		String closedRange = "/api/forex-data/series?from=NZD&to=CHF&startDate=2024-08-01&endDate=2024-08-30";
+		List<ForexData> august = new ArrayList<>();
+		for (LocalDate date = LocalDate.of(2024, 8, 1); date.getMonthValue() == 8; date = date.plusDays(1)) {
+			// The 15th is taken as a market holiday between stored bars
+			if (TradingDays.isWeekday(date) && date.getDayOfMonth() != 15) {
+				august.add(row("NZDCHF=X", date));
+			}
+		}
+
+		eventPublisher.publishEvent(new ForexDataSavedEvent("NZDCHF=X", august.subList(0, 10)));
+		mockMvc.perform(get(closedRange))
+				.andExpect(status().isOk())
+				.andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache"));
+
+		// The 30th is the latest stored day, which the next scrape fetches again
+		eventPublisher.publishEvent(new ForexDataSavedEvent("NZDCHF=X", august));
+		mockMvc.perform(get(closedRange))
+				.andExpect(status().isOk())
+				.andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache"));
+
+		eventPublisher.publishEvent(new ForexDataSavedEvent("NZDCHF=X", List.of(row("NZDCHF=X", LocalDate.of(2024, 9, 2)))));
+		mockMvc.perform(get(closedRange))
+				.andExpect(status().isOk())
+				.andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=86400, public"));
+	}
+
+	@Test
+	void openRangesMustBeRevalidated() throws Exception {
+		mockMvc.perform(get("/api/forex-data/series?from=NZD&to=CAD&period=1W"))
+				.andExpect(status().isOk())
+				.andExpect(header().exists(HttpHeaders.ETAG))
+				.andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache"));
+	}
+
+	@Test
+	void relativeWindowGetsNewTagAfterDateChange() throws Exception {
+		// Yesterday "period=1W" resolved to this window, so its tag is the one a client would revalidate today
+		LocalDate yesterday = LocalDate.now().minusDays(1);
+		String yesterdaysTag = mockMvc.perform(get("/api/forex-data/series?from=NZD&to=CAD&startDate="
+						+ Period.ONE_WEEK.startDate(yesterday) + "&endDate=" + yesterday))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+		String todaysTag = mockMvc.perform(get("/api/forex-data/series?from=NZD&to=CAD&period=1W")
+						.header(HttpHeaders.IF_NONE_MATCH, yesterdaysTag))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+		assertNotEquals(yesterdaysTag, todaysTag);
+
+		mockMvc.perform(get("/api/forex-data/series?from=NZD&to=CAD&period=1W").header(HttpHeaders.IF_NONE_MATCH, todaysTag))
+				.andExpect(status().isNotModified());
+	}
+
+	private static ForexData row(String currencyPair) {
+		return row(currencyPair, LocalDate.of(2024, 8, 26));
+	}
+
+	private static ForexData row(String currencyPair, LocalDate date) {
+		ForexData data = new ForexData();
+		data.setCurrencyPair(currencyPair);
+		data.setDate(date);
+		data.setOpen(new BigDecimal("0.9"));
+		data.setHigh(new BigDecimal("0.9"));
+		data.setLow(new BigDecimal("0.9"));
+		data.setClose(new BigDecimal("0.9"));
+		data.setAdjClose(new BigDecimal("0.9"));
+		data.setVolume(BigDecimal.ZERO);
+		return data;
+	}
+}
@@ -0,0 +1,125 @@
+package com.example.forexData.controller;
+
+import com.example.forexData.model.ForexData;
+import com.example.forexData.repository.ForexDataRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class PaginationTests {
+
+	private static final LocalDate MONDAY = LocalDate.of(2024, 8, 19);
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private ForexDataRepository forexDataRepository;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Test
+	void rangeFollowsCursorToLastPage() throws Exception {
+		// Saved newest first, so ids run against dates
+		List<ForexData> rows = new ArrayList<>();
+		for (int day = 4; day >= 0; day--) {
+			rows.add(row("SEKNOK=X", MONDAY.plusDays(day)));
+		}
+		forexDataRepository.upsertAll(rows);
+
+		List<String> seen = new ArrayList<>();
+		String cursor = "";
+		int pages = 0;
+		JsonNode page;
+		do {
+			page = json(mockMvc.perform(get("/api/forex-data/range?from=SEK&to=NOK&startDate=2024-08-19&endDate=2024-08-23&limit=2" + cursor))
+					.andExpect(status().isOk())
+					.andReturn().getResponse());
+			page.get("data").forEach(data -> seen.add(data.get("date").asText()));
+			cursor = "&afterDate=" + page.get("nextAfterDate").asText() + "&afterId=" + page.get("nextAfterId").asText();
+			pages++;
+		} while (!page.get("nextAfterId").isNull());
+
+		assertEquals(List.of("2024-08-19", "2024-08-20", "2024-08-21", "2024-08-22", "2024-08-23"), seen);
+		assertEquals(3, pages);
+		assertTrue(page.get("nextAfterDate").isNull());
+	}
+
+	@Test
+	void retrieveFollowsNextAfterIdHeaderToLastPage() throws Exception {
+		List<ForexData> rows = new ArrayList<>();
+		for (int day = 0; day < 5; day++) {
+			rows.add(row("SEKDKK=X", MONDAY.plusDays(day)));
+		}
+		forexDataRepository.upsertAll(rows);
+
+		List<Long> ids = new ArrayList<>();
+		int dkkRows = 0;
+		String afterId = "0";
+		MockHttpServletResponse response;
+		do {
+			response = mockMvc.perform(get("/api/forex-data/retrieve?limit=3&afterId=" + afterId))
+					.andExpect(status().isOk())
+					.andReturn().getResponse();
+			JsonNode page = json(response);
+			assertTrue(page.size() <= 3);
+			for (JsonNode data : page) {
+				ids.add(data.get("id").asLong());
+				dkkRows += data.get("currencyPair").asText().equals("SEKDKK=X") ? 1 : 0;
+			}
+			afterId = response.getHeader("X-Next-After-Id");
+		} while (afterId != null);
+
+		assertEquals(5, dkkRows);
+		assertEquals(ids.stream().sorted().distinct().toList(), ids);
+	}
+
+	@Test
+	void rejectsPagesOverMaxSize() throws Exception {
+		mockMvc.perform(get("/api/forex-data/range?from=SEK&to=NOK&period=1W&limit=5000"))
+				.andExpect(status().isOk());
+		mockMvc.perform(get("/api/forex-data/range?from=SEK&to=NOK&period=1W&limit=5001"))
+				.andExpect(status().isBadRequest());
+		mockMvc.perform(get("/api/forex-data/range?from=SEK&to=NOK&period=1W&limit=0"))
+				.andExpect(status().isBadRequest());
+		mockMvc.perform(get("/api/forex-data/retrieve?limit=5000"))
+				.andExpect(status().isOk());
+		mockMvc.perform(get("/api/forex-data/retrieve?limit=5001"))
+				.andExpect(status().isBadRequest());
+	}
+
+	private JsonNode json(MockHttpServletResponse response) throws Exception {
+		return objectMapper.readTree(response.getContentAsString());
+	}
+
+	private static ForexData row(String currencyPair, LocalDate date) {
+		ForexData data = new ForexData();
+		data.setCurrencyPair(currencyPair);
+		data.setDate(date);
+		data.setOpen(BigDecimal.ONE);
+		data.setHigh(BigDecimal.ONE);
+		data.setLow(BigDecimal.ONE);
+		data.setClose(BigDecimal.ONE);
+		data.setAdjClose(BigDecimal.ONE);
+		data.setVolume(BigDecimal.ZERO);
+		return data;
+	}
+}
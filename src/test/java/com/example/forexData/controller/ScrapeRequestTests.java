@@ -0,0 +1,36 @@
+package com.example.forexData.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Collections;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class ScrapeRequestTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Test
+	void rejectsMorePairsThanOneRequestMayName() throws Exception {
+		String pairs = String.join(",", Collections.nCopies(11, "{\"from\":\"USD\",\"to\":\"INR\"}"));
+
+		mockMvc.perform(post("/api/forex-data/bulk").contentType(MediaType.APPLICATION_JSON)
+						.content("{\"pairs\":[" + pairs + "],\"period\":\"1W\"}"))
+				.andExpect(status().isBadRequest())
+				.andExpect(jsonPath("$.msg").value("Too many pairs"));
+		mockMvc.perform(post("/api/forex-data/backfill").contentType(MediaType.APPLICATION_JSON)
+						.content("{\"pairs\":[" + pairs + "],\"startDate\":\"2000-01-01\"}"))
+				.andExpect(status().isBadRequest())
+				.andExpect(jsonPath("$.msg").value("Too many pairs"));
+	}
+}
@@ -0,0 +1,203 @@
+package com.example.forexData.export;
+
+import com.example.forexData.model.ForexData;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.github.luben.zstd.ZstdInputStream;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ExportWriterTests {
+
+	private static final LocalDate MONDAY = LocalDate.of(2024, 8, 19);
+
+	private final ObjectMapper objectMapper = new ObjectMapper()
+			.registerModule(new JavaTimeModule())
+			.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+	@Test
+	void ndjsonWritesOneObjectPerLine() throws IOException {
+		String text = new String(export(ExportFormat.NDJSON, ExportCompression.NONE, rows()), StandardCharsets.UTF_8);
+
+		String[] lines = text.split("\n");
+		assertEquals(3, lines.length);
+		assertTrue(text.endsWith("\n"));
+		ForexData first = objectMapper.readValue(lines[0], ForexData.class);
+		assertEquals("EURUSD=X", first.getCurrencyPair());
+		assertEquals(MONDAY, first.getDate());
+		assertEquals(new BigDecimal("1.10250"), first.getClose());
+	}
+
+	@Test
+	void ndjsonFlushesOnlyWhenFinished() throws IOException {
+		AtomicInteger flushes = new AtomicInteger();
+		OutputStream out = new FilterOutputStream(new ByteArrayOutputStream()) {
+			@Override
+			public void flush() throws IOException {
+				flushes.incrementAndGet();
+				super.flush();
+			}
+		};
+
+		ExportWriter writer = ExportFormat.NDJSON.newWriter(out, objectMapper);
+		for (int i = 0; i < 100; i++) {
+			writer.write(rows().get(i % 3));
+		}
+		assertEquals(0, flushes.get());
+		writer.finish();
+		assertEquals(1, flushes.get());
+	}
+
+	@Test
+	void csvWritesHeaderAndPlainNumbers() throws IOException {
+		String text = new String(export(ExportFormat.CSV, ExportCompression.NONE, rows()), StandardCharsets.UTF_8);
+
+		List<String> lines = text.lines().toList();
+		assertEquals(CsvExportWriter.HEADER, lines.get(0));
+		assertEquals("USDINR=X,2024-08-20,83.50000,84.00000,83.00000,83.75000,83.75000,0", lines.get(3));
+	}
+
+	@Test
+	void compressedStreamsRoundTrip() throws IOException {
+		byte[] plain = export(ExportFormat.CSV, ExportCompression.NONE, rows());
+		byte[] gzip = export(ExportFormat.CSV, ExportCompression.GZIP, rows());
+		byte[] zstd = export(ExportFormat.CSV, ExportCompression.ZSTD, rows());
+
+		try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(gzip))) {
+			assertEquals(new String(plain, StandardCharsets.UTF_8), new String(in.readAllBytes(), StandardCharsets.UTF_8));
+		}
+		try (InputStream in = new ZstdInputStream(new ByteArrayInputStream(zstd))) {
+			assertEquals(new String(plain, StandardCharsets.UTF_8), new String(in.readAllBytes(), StandardCharsets.UTF_8));
+		}
+	}
+
+	@Test
+	void columnarSplitsBlocksByPairAndSize() throws IOException {
+		List<ForexData> rows = new ArrayList<>();
+		rows.add(row("EURUSD=X", MONDAY, "1.1025"));
+		for (int i = 0; i < ColumnarExportWriter.BLOCK_ROWS + 1; i++) {
+			rows.add(row("USDINR=X", MONDAY.plusDays(i), "83"));
+		}
+
+		List<String> blocks = new ArrayList<>();
+		List<ForexData> decoded = decodeColumnar(export(ExportFormat.BINARY, ExportCompression.NONE, rows), blocks);
+
+		assertEquals(List.of("EURUSD=X:1", "USDINR=X:" + ColumnarExportWriter.BLOCK_ROWS, "USDINR=X:1"), blocks);
+		assertEquals(rows.size(), decoded.size());
+		assertEquals(new BigDecimal("1.10250"), decoded.get(0).getClose());
+		assertEquals(MONDAY.plusDays(ColumnarExportWriter.BLOCK_ROWS), decoded.get(decoded.size() - 1).getDate());
+	}
+
+	@Test
+	void columnarMarksMissingAndUnrepresentableValues() throws IOException {
+		List<ForexData> rows = new ArrayList<>();
+		for (int i = 0; i < 10; i++) {
+			rows.add(row("USDINR=X", MONDAY.plusDays(i), "83"));
+		}
+		rows.get(1).setClose(null);
+		rows.get(9).setClose(null);
+		rows.get(2).setVolume(new BigDecimal("1e20"));
+		rows.get(3).setClose(BigDecimal.ZERO);
+
+		List<ForexData> decoded = decodeColumnar(export(ExportFormat.BINARY, ExportCompression.NONE, rows), new ArrayList<>());
+
+		assertEquals(10, decoded.size());
+		assertNull(decoded.get(1).getClose());
+		assertNull(decoded.get(9).getClose());
+		assertNull(decoded.get(2).getVolume());
+		// A real zero stays a value
+		assertEquals(new BigDecimal("0.00000"), decoded.get(3).getClose());
+		assertEquals(new BigDecimal("83.00000"), decoded.get(8).getClose());
+		assertEquals(new BigDecimal("0.00000"), decoded.get(8).getVolume());
+	}
+
+	/**
+	 * Reads a columnar export back into rows, adding "pair:n" for each block to {@code blocks}.
+	 */
+	private static List<ForexData> decodeColumnar(byte[] export, List<String> blocks) throws IOException {
+		DataInputStream in = new DataInputStream(new ByteArrayInputStream(export));
+		assertEquals(ColumnarExportWriter.MAGIC, in.readInt());
+		assertEquals(5, in.readInt());
+
+		List<ForexData> decoded = new ArrayList<>();
+		while (true) {
+			String pair = in.readUTF();
+			int n = in.readInt();
+			if (n == 0) {
+				break;
+			}
+			blocks.add(pair + ":" + n);
+			int[] days = new int[n];
+			for (int i = 0; i < n; i++) {
+				days[i] = in.readInt();
+			}
+			BigDecimal[][] columns = new BigDecimal[6][n];
+			for (BigDecimal[] column : columns) {
+				byte[] nulls = new byte[(n + 7) / 8];
+				in.readFully(nulls);
+				for (int i = 0; i < n; i++) {
+					long value = in.readLong();
+					column[i] = (nulls[i / 8] & (1 << (i % 8))) != 0 ? null : BigDecimal.valueOf(value, 5);
+				}
+			}
+			for (int i = 0; i < n; i++) {
+				ForexData data = new ForexData();
+				data.setCurrencyPair(pair);
+				data.setDate(LocalDate.ofEpochDay(days[i]));
+				data.setClose(columns[3][i]);
+				data.setVolume(columns[5][i]);
+				decoded.add(data);
+			}
+		}
+		assertEquals(-1, in.read());
+		return decoded;
+	}
+
+	private byte[] export(ExportFormat format, ExportCompression compression, List<ForexData> rows) throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (OutputStream out = compression.wrap(bytes, 3)) {
+			ExportWriter writer = format.newWriter(out, objectMapper);
+			for (ForexData data : rows) {
+				writer.write(data);
+			}
+			writer.finish();
+		}
+		return bytes.toByteArray();
+	}
+
+	private static List<ForexData> rows() {
+		return List.of(row("EURUSD=X", MONDAY, "1.10250"), row("USDINR=X", MONDAY, "83.25000"), row("USDINR=X", MONDAY.plusDays(1), "83.75000"));
+	}
+
+	private static ForexData row(String currencyPair, LocalDate date, String close) {
+		ForexData data = new ForexData();
+		data.setCurrencyPair(currencyPair);
+		data.setDate(date);
+		data.setOpen(new BigDecimal("83.50000"));
+		data.setHigh(new BigDecimal("84.00000"));
+		data.setLow(new BigDecimal("83.00000"));
+		data.setClose(new BigDecimal(close));
+		data.setAdjClose(new BigDecimal(close));
+		data.setVolume(BigDecimal.ZERO);
+		return data;
+	}
+}
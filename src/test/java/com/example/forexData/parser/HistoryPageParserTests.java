@@ -0,0 +1,73 @@
+package com.example.forexData.parser;
+
+import com.example.forexData.model.ForexData;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class HistoryPageParserTests {
+
+	private static final LocalDate START = LocalDate.of(2023, 1, 1);
+	private static final LocalDate END = LocalDate.of(2024, 8, 26);
+
+	@Test
+	void streamingParserMatchesJsoupParserOnRecordedPage() throws IOException {
+		String html = fixture("yahoo-history-USDINR.html");
+
+		List<ForexData> expected = new JsoupHistoryPageParser().parse(html, "USDINR=X", START, END);
+		List<ForexData> actual = new StreamingHistoryPageParser().parse(html, "USDINR=X", START, END);
+
+		assertEquals(260, expected.size());
+		assertEquals(expected.toString(), actual.toString());
+	}
+
+	@Test
+	void streamingParserStopsAtStartDate() throws IOException {
+		String html = fixture("yahoo-history-USDINR.html");
+
+		List<ForexData> rows = new StreamingHistoryPageParser().parse(html, "USDINR=X", LocalDate.of(2024, 8, 20), END);
+
+		assertEquals(5, rows.size());
+		assertEquals(LocalDate.of(2024, 8, 20), rows.get(rows.size() - 1).getDate());
+	}
+
+	@Test
+	void parsesNumbersInPlace() {
+		assertEquals(new BigDecimal("1234.5678"), parseNumber("1,234.5678"));
+		assertEquals(new BigDecimal("0.0107"), parseNumber("<span>0.0107</span>"));
+		assertEquals(BigDecimal.ZERO, parseNumber("-"));
+		assertEquals(BigDecimal.ZERO, parseNumber(""));
+		assertEquals(new BigDecimal("12345678901234567890.5"), parseNumber("12,345,678,901,234,567,890.5"));
+		assertNull(parseNumber("0.12 Dividend"));
+	}
+
+	@Test
+	void parsesDatesInPlace() {
+		assertEquals(LocalDate.of(2024, 8, 26), parseDate("Aug 26, 2024"));
+		assertEquals(LocalDate.of(2024, 1, 2), parseDate("<span>Jan 2, 2024</span>"));
+		assertNull(parseDate("Aug 32, 2024"));
+		assertNull(parseDate("Date"));
+	}
+
+	private static BigDecimal parseNumber(String cell) {
+		return StreamingHistoryPageParser.parseNumber(cell, 0, cell.length());
+	}
+
+	private static LocalDate parseDate(String cell) {
+		return StreamingHistoryPageParser.parseDate(cell, 0, cell.length());
+	}
+
+	static String fixture(String name) throws IOException {
+		try (InputStream in = HistoryPageParserTests.class.getResourceAsStream("/fixtures/" + name)) {
+			return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+		}
+	}
+}
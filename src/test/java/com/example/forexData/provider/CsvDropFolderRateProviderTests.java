@@ -0,0 +1,42 @@
+package com.example.forexData.provider;
+
+import com.example.forexData.model.ForexData;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class CsvDropFolderRateProviderTests {
+
+	@TempDir
+	Path folder;
+
+	@Test
+	void readsDroppedFileWithinDates() throws IOException {
+		Files.writeString(folder.resolve("USDINR.csv"), """
+				Date,Open,High,Low,Close,Adj Close,Volume
+				2024-08-21,83.7,83.9,83.6,83.8,83.8,0
+				2024-08-22,83.8,84.0,83.7,83.9,83.9,0
+				2024-08-23,null,null,null,null,null,null
+				2024-08-26,83.9,84.1,83.8,84.0,84.0,0
+				""");
+		CsvDropFolderRateProvider provider = new CsvDropFolderRateProvider();
+		ReflectionTestUtils.setField(provider, "folder", folder);
+
+		List<ForexData> rows = provider.fetch("USD", "INR", LocalDate.of(2024, 8, 22), LocalDate.of(2024, 8, 26));
+
+		assertEquals(2, rows.size());
+		assertEquals("USDINR=X", rows.get(0).getCurrencyPair());
+		assertEquals(LocalDate.of(2024, 8, 22), rows.get(0).getDate());
+		assertEquals(new BigDecimal("84.0"), rows.get(1).getClose());
+		assertEquals(List.of(), provider.fetch("USD", "JPY", LocalDate.of(2024, 8, 22), LocalDate.of(2024, 8, 26)));
+	}
+}
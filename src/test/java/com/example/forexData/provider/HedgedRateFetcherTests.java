@@ -0,0 +1,192 @@
+package com.example.forexData.provider;
+
+import com.example.forexData.model.ForexData;
+import com.example.forexData.model.ProviderStats;
+import com.example.forexData.util.CircuitBreaker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.jsoup.HttpStatusException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HedgedRateFetcherTests {
+
+	private static final LocalDate DAY = LocalDate.of(2024, 8, 23);
+
+	private HedgedRateFetcher fetcher;
+
+	@AfterEach
+	void shutdown() {
+		fetcher.shutdown();
+	}
+
+	@Test
+	void hedgesSlowPrimaryWithSecondary() throws IOException {
+		StubProvider primary = new StubProvider("primary", 1000, "83.1");
+		StubProvider secondary = new StubProvider("secondary", 0, "83.2");
+		fetcher = fetcher(primary, secondary);
+
+		long start = System.nanoTime();
+		List<ForexData> rows = fetcher.fetch("USD", "INR", DAY, DAY);
+
+		assertEquals(new BigDecimal("83.2"), rows.get(0).getClose());
+		assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 800);
+		ProviderStats stats = fetcher.getStats().get(1);
+		assertEquals(1, stats.hedges());
+		assertEquals(1, stats.wins());
+	}
+
+	@Test
+	void fastPrimaryIsNotHedgedAndSetsHedgeDelay() throws IOException {
+		StubProvider primary = new StubProvider("primary", 0, "83.1");
+		StubProvider secondary = new StubProvider("secondary", 0, "83.2");
+		fetcher = fetcher(primary, secondary);
+
+		for (int i = 0; i < 20; i++) {
+			assertEquals(new BigDecimal("83.1"), fetcher.fetch("USD", "INR", DAY, DAY).get(0).getClose());
+		}
+
+		assertEquals(0, secondary.calls.get());
+		assertTrue(fetcher.getStats().get(0).hedgeDelayMillis() < 50);
+	}
+
+	@Test
+	void failsOverAtOnceAndOpensCircuitOfFailingProvider() throws IOException {
+		StubProvider primary = new StubProvider("primary", 0, null);
+		StubProvider secondary = new StubProvider("secondary", 0, "83.2");
+		fetcher = fetcher(primary, secondary);
+
+		for (int i = 0; i < 3; i++) {
+			long start = System.nanoTime();
+			assertEquals(new BigDecimal("83.2"), fetcher.fetch("USD", "INR", DAY, DAY).get(0).getClose());
+			assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 40);
+		}
+
+		// Two failures open the circuit, so the third fetch skips the primary
+		assertEquals(2, primary.calls.get());
+		assertEquals(CircuitBreaker.State.OPEN, fetcher.getStats().get(0).circuit());
+	}
+
+	@Test
+	void reportsEveryFailureButNotMissingData() throws IOException {
+		fetcher = fetcher(new StubProvider("primary", 0, null), new StubProvider("secondary", 0, null));
+		RateProviderException failure = assertThrows(RateProviderException.class, () -> fetcher.fetch("USD", "INR", DAY, DAY));
+		assertTrue(failure.getMessage().contains("primary"));
+		assertTrue(failure.getMessage().contains("secondary"));
+		assertEquals(2, failure.getSuppressed().length);
+		fetcher.shutdown();
+
+		fetcher = fetcher(new StubProvider("primary", 0, ""), new StubProvider("secondary", 0, ""));
+		assertEquals(List.of(), fetcher.fetch("USD", "INR", DAY, DAY));
+	}
+
+	@Test
+	void queuesForBusyProviderWithoutCountingFailures() throws Exception {
+		StubProvider primary = new StubProvider("primary", 1000, "83.1", 1);
+		fetcher = fetcher(primary);
+		ReflectionTestUtils.setField(fetcher, "timeoutMillis", 200L);
+
+		Thread holder = Thread.ofVirtual().start(() -> assertThrows(IOException.class, () -> fetcher.fetch("USD", "INR", DAY, DAY)));
+		while (primary.calls.get() == 0) {
+			Thread.sleep(5);
+		}
+		for (int i = 0; i < 3; i++) {
+			assertThrows(IOException.class, () -> fetcher.fetch("USD", "INR", DAY, DAY));
+		}
+		holder.join();
+
+		// Only the call holding the slot reached the provider, and waiting for the slot is not its failure
+		assertEquals(1, primary.calls.get());
+		assertEquals(CircuitBreaker.State.CLOSED, fetcher.getStats().get(0).circuit());
+		assertEquals(0, fetcher.getStats().get(0).failures());
+	}
+
+	@Test
+	void clientErrorsDoNotOpenCircuit() throws IOException {
+		StubProvider primary = new StubProvider("primary", 0, "HTTP 404");
+		fetcher = fetcher(primary);
+
+		for (int i = 0; i < 3; i++) {
+			RateProviderException failure = assertThrows(RateProviderException.class, () -> fetcher.fetch("ABC", "XYZ", DAY, DAY));
+			assertInstanceOf(HttpStatusException.class, failure.getSuppressed()[0].getCause());
+		}
+
+		assertEquals(3, primary.calls.get());
+		assertEquals(CircuitBreaker.State.CLOSED, fetcher.getStats().get(0).circuit());
+		assertEquals(0, fetcher.getStats().get(0).failures());
+		fetcher.shutdown();
+
+		// Being throttled is about the source, so it still counts
+		fetcher = fetcher(new StubProvider("primary", 0, "HTTP 429"));
+		for (int i = 0; i < 2; i++) {
+			assertThrows(RateProviderException.class, () -> fetcher.fetch("USD", "INR", DAY, DAY));
+		}
+		assertEquals(CircuitBreaker.State.OPEN, fetcher.getStats().get(0).circuit());
+	}
+
+	private static HedgedRateFetcher fetcher(StubProvider... providers) {
+		HedgedRateFetcher fetcher = new HedgedRateFetcher();
+		ReflectionTestUtils.setField(fetcher, "availableProviders", List.of(providers));
+		ReflectionTestUtils.setField(fetcher, "meterRegistry", new SimpleMeterRegistry());
+		ReflectionTestUtils.setField(fetcher, "order", Arrays.stream(providers).map(StubProvider::name).toList());
+		ReflectionTestUtils.setField(fetcher, "timeoutMillis", 5000L);
+		ReflectionTestUtils.setField(fetcher, "initialHedgeDelayMillis", 50L);
+		ReflectionTestUtils.setField(fetcher, "failureThreshold", 2);
+		ReflectionTestUtils.setField(fetcher, "openMillis", 60_000L);
+		fetcher.init();
+		return fetcher;
+	}
+
+	/**
+	 * Answers after a fixed latency with one bar closing at {@code close}, no bars when it is empty, or fails when null
+	 * or, with that status, when it reads like {@code HTTP 404}.
+	 */
+	private record StubProvider(String name, long latencyMillis, String close, int maxConcurrency, AtomicInteger calls)
+			implements RateProvider {
+
+		StubProvider(String name, long latencyMillis, String close) {
+			this(name, latencyMillis, close, Integer.MAX_VALUE);
+		}
+
+		StubProvider(String name, long latencyMillis, String close, int maxConcurrency) {
+			this(name, latencyMillis, close, maxConcurrency, new AtomicInteger());
+		}
+
+		@Override
+		public List<ForexData> fetch(String from, String to, LocalDate startDate, LocalDate endDate) throws IOException {
+			calls.incrementAndGet();
+			try {
+				Thread.sleep(latencyMillis);
+			} catch (InterruptedException e) {
+				throw new IOException(e);
+			}
+			if (close == null) {
+				throw new IOException(name + " is down");
+			}
+			if (close.startsWith("HTTP ")) {
+				throw new HttpStatusException("HTTP error fetching URL", Integer.parseInt(close.substring(5)), "http://" + name);
+			}
+			if (close.isEmpty()) {
+				return List.of();
+			}
+			ForexData data = new ForexData();
+			data.setCurrencyPair(from + to + "=X");
+			data.setDate(startDate);
+			data.setClose(new BigDecimal(close));
+			return List.of(data);
+		}
+	}
+}
@@ -0,0 +1,63 @@
+package com.example.forexData.provider;
+
+import com.example.forexData.event.ForexDataSavedEvent;
+import com.example.forexData.model.ForexData;
+import com.example.forexData.store.ForexTimeSeriesStore;
+import com.example.forexData.support.YahooStubServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class YahooRateProviderTests {
+
+	private static final LocalDate DAY = LocalDate.of(2024, 8, 23);
+
+	private final YahooRateProvider provider = new YahooRateProvider();
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+	private final ForexTimeSeriesStore store = new ForexTimeSeriesStore();
+	private YahooStubServer yahoo;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		yahoo = new YahooStubServer();
+		ReflectionTestUtils.setField(provider, "meterRegistry", meterRegistry);
+		ReflectionTestUtils.setField(provider, "baseUrl", yahoo.baseUrl());
+		ReflectionTestUtils.setField(provider, "timeoutMillis", 5000);
+		ReflectionTestUtils.setField(provider, "configuredPairs", List.of("USDINR"));
+		ReflectionTestUtils.setField(provider, "forexTimeSeriesStore", store);
+		provider.setParser("streaming");
+		provider.registerMetrics();
+	}
+
+	@AfterEach
+	void tearDown() {
+		yahoo.close();
+	}
+
+	@Test
+	void tagsFetchesOfUnknownPairsAsOther() throws Exception {
+		ForexData stored = new ForexData();
+		stored.setCurrencyPair("EURUSD=X");
+		stored.setDate(DAY);
+		stored.setClose(new BigDecimal("1.1"));
+		store.onForexDataSaved(new ForexDataSavedEvent("EURUSD=X", List.of(stored)));
+
+		provider.fetch("USD", "INR", DAY, DAY);
+		provider.fetch("EUR", "USD", DAY, DAY);
+		provider.fetch("ABC", "XYZ", DAY, DAY);
+		provider.fetch("XYZ", "ABC", DAY, DAY);
+
+		assertEquals(1, meterRegistry.get("forex.scrape.fetch").tag("pair", "USDINR=X").timer().count());
+		assertEquals(1, meterRegistry.get("forex.scrape.fetch").tag("pair", "EURUSD=X").timer().count());
+		assertEquals(2, meterRegistry.get("forex.scrape.fetch").tag("pair", "other").timer().count());
+		assertEquals(3, meterRegistry.get("forex.scrape.fetch").timers().size());
+	}
+}
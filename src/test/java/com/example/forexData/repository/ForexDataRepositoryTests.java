@@ -0,0 +1,114 @@
+package com.example.forexData.repository;
+
+import com.example.forexData.model.ForexData;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Limit;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DataJpaTest
+@Import(SimpleMeterRegistry.class)
+class ForexDataRepositoryTests {
+
+	@Autowired
+	private ForexDataRepository forexDataRepository;
+
+	@Test
+	void upsertAllKeepsOneRowPerPairAndDate() {
+		LocalDate date = LocalDate.of(2024, 8, 26);
+		forexDataRepository.upsertAll(List.of(row(date, "83.00000"), row(date.plusDays(1), "83.10000")));
+		forexDataRepository.upsertAll(List.of(row(date, "84.00000")));
+
+		List<ForexData> stored = forexDataRepository.findByCurrencyPairAndDateBetweenOrderByDateAsc("USDINR=X", date, date.plusDays(1));
+		assertEquals(2, stored.size());
+		assertEquals(new BigDecimal("84.00000"), stored.get(0).getClose());
+	}
+
+	@Test
+	void forEachInRangeFiltersPairsAndDatesInOrder() {
+		LocalDate date = LocalDate.of(2024, 8, 26);
+		forexDataRepository.upsertAll(List.of(row("USDINR=X", date.plusDays(1), "83.1"), row("USDINR=X", date, "83"),
+				row("EURUSD=X", date, "1.1"), row("GBPUSD=X", date, "1.3"), row("USDINR=X", date.plusDays(2), "83.2")));
+
+		List<String> seen = new ArrayList<>();
+		forexDataRepository.forEachInRange(List.of("USDINR=X", "EURUSD=X"), date, date.plusDays(1),
+				data -> seen.add(data.getCurrencyPair() + " " + data.getDate()));
+		assertEquals(List.of("EURUSD=X 2024-08-26", "USDINR=X 2024-08-26", "USDINR=X 2024-08-27"), seen);
+
+		seen.clear();
+		forexDataRepository.forEachInRange(List.of(), date, date, data -> seen.add(data.getCurrencyPair()));
+		assertEquals(List.of("EURUSD=X", "GBPUSD=X", "USDINR=X"), seen);
+	}
+
+	@Test
+	void findRangePageWalksRangeByDateThenId() {
+		LocalDate date = LocalDate.of(2024, 8, 19);
+		// Saved newest first, so ids run against dates and only the (date, id) order puts them right
+		List<ForexData> rows = new ArrayList<>();
+		for (int day = 4; day >= 0; day--) {
+			rows.add(row(date.plusDays(day), "83.0" + day));
+		}
+		rows.add(row("EURUSD=X", date, "1.1"));
+		forexDataRepository.upsertAll(rows);
+
+		List<LocalDate> seen = new ArrayList<>();
+		LocalDate afterDate = date.minusDays(1);
+		long afterId = 0;
+		List<ForexData> page;
+		do {
+			page = forexDataRepository.findRangePage("USDINR=X", date, date.plusDays(4), afterDate, afterId, Limit.of(2));
+			for (ForexData data : page) {
+				seen.add(data.getDate());
+				afterDate = data.getDate();
+				afterId = data.getId();
+			}
+		} while (page.size() == 2);
+		assertEquals(List.of(date, date.plusDays(1), date.plusDays(2), date.plusDays(3), date.plusDays(4)), seen);
+		assertEquals(1, page.size());
+	}
+
+	@Test
+	void findRangePageBreaksTiesOnCursorDateById() {
+		LocalDate date = LocalDate.of(2024, 8, 19);
+		forexDataRepository.upsertAll(List.of(row(date, "83"), row(date.plusDays(1), "83.1")));
+		ForexData first = forexDataRepository.findByCurrencyPairAndDateBetweenOrderByDateAsc("USDINR=X", date, date).get(0);
+
+		// A cursor on the row's date resumes at the row while its id is below the row's, and after it otherwise
+		assertEquals(List.of(date, date.plusDays(1)), dates(forexDataRepository.findRangePage("USDINR=X", date, date.plusDays(1),
+				date, first.getId() - 1, Limit.of(10))));
+		assertEquals(List.of(date.plusDays(1)), dates(forexDataRepository.findRangePage("USDINR=X", date, date.plusDays(1),
+				date, first.getId(), Limit.of(10))));
+		assertEquals(List.of(), forexDataRepository.findRangePage("USDINR=X", date, date.plusDays(1),
+				date.plusDays(1), Long.MAX_VALUE, Limit.of(10)));
+	}
+
+	private static List<LocalDate> dates(List<ForexData> rows) {
+		return rows.stream().map(ForexData::getDate).toList();
+	}
+
+	private static ForexData row(LocalDate date, String close) {
+		return row("USDINR=X", date, close);
+	}
+
+	private static ForexData row(String currencyPair, LocalDate date, String close) {
+		ForexData data = new ForexData();
+		data.setCurrencyPair(currencyPair);
+		data.setDate(date);
+		data.setOpen(new BigDecimal(close));
+		data.setHigh(new BigDecimal(close));
+		data.setLow(new BigDecimal(close));
+		data.setClose(new BigDecimal(close));
+		data.setAdjClose(new BigDecimal(close));
+		data.setVolume(BigDecimal.ZERO);
+		return data;
+	}
+}
@@ -0,0 +1,145 @@
+package com.example.forexData.service;
+
+import com.example.forexData.model.BackfillCheckpoint;
+import com.example.forexData.model.BackfillResult;
+import com.example.forexData.repository.BackfillCheckpointRepository;
+import com.example.forexData.repository.ForexDataRepository;
+import com.example.forexData.support.YahooStubServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest(properties = {
+		"forex.backfill.chunk-days=30",
+		"forex.backfill.requests-per-second=1000",
+		"forex.backfill.burst=10",
+		"forex.backfill.max-attempts=3",
+		"forex.backfill.initial-backoff-millis=5"
+})
+class BackfillServiceTests {
+
+	private static final YahooStubServer YAHOO = startStub();
+
+	// 181 days: six full 30 day chunks and a one day tail
+	private static final LocalDate START = LocalDate.of(2023, 1, 1);
+	private static final LocalDate END = LocalDate.of(2023, 6, 30);
+
+	@Autowired
+	private BackfillService backfillService;
+
+	@Autowired
+	private ForexDataRepository forexDataRepository;
+
+	@Autowired
+	private BackfillCheckpointRepository backfillCheckpointRepository;
+
+	@DynamicPropertySource
+	static void yahooProperties(DynamicPropertyRegistry registry) {
+		registry.add("forex.scrape.base-url", YAHOO::baseUrl);
+	}
+
+	@AfterAll
+	static void stopStub() {
+		YAHOO.close();
+	}
+
+	@BeforeEach
+	void resetStub() {
+		YAHOO.reset();
+	}
+
+	@Test
+	void loadsRangeInChunksAndSkipsItOnRerun() {
+		BackfillResult result = backfillService.backfill("EUR", "JPY", START, END);
+
+		assertEquals(BackfillResult.Status.COMPLETED, result.status());
+		assertEquals(7, result.chunks());
+		assertEquals(7, YAHOO.requests());
+		assertEquals(weekdays(START, END), result.rows());
+		assertEquals(weekdays(START, END), forexDataRepository.findByCurrencyPairAndDateBetweenOrderByDateAsc("EURJPY=X", START, END).size());
+		assertEquals(END, backfillCheckpointRepository.findById("EURJPY=X").map(BackfillCheckpoint::getCompletedThrough).orElseThrow());
+
+		YAHOO.reset();
+		BackfillResult rerun = backfillService.backfill("EUR", "JPY", START, END);
+		assertEquals(BackfillResult.Status.COMPLETED, rerun.status());
+		assertEquals(0, rerun.chunks());
+		assertEquals(0, YAHOO.requests());
+	}
+
+	@Test
+	void retriesTransientFailures() {
+		YAHOO.failNext(2);
+
+		BackfillResult result = backfillService.backfill("GBP", "JPY", START, END);
+
+		assertEquals(BackfillResult.Status.COMPLETED, result.status());
+		assertEquals(9, YAHOO.requests());
+		assertEquals(weekdays(START, END), result.rows());
+	}
+
+	@Test
+	void resumesFromCheckpointAfterGivingUp() {
+		YAHOO.failAfter(3);
+
+		BackfillResult failed = backfillService.backfill("AUD", "JPY", START, END);
+
+		assertEquals(BackfillResult.Status.FAILED, failed.status());
+		assertEquals(3, failed.chunks());
+		assertEquals(START.plusDays(89), failed.completedThrough());
+
+		YAHOO.reset();
+		BackfillResult resumed = backfillService.backfill("AUD", "JPY", START, END);
+
+		assertEquals(BackfillResult.Status.COMPLETED, resumed.status());
+		assertEquals(START.plusDays(90), resumed.resumedFrom());
+		assertEquals(4, resumed.chunks());
+		assertEquals(4, YAHOO.requests());
+		assertEquals(weekdays(START, END), failed.rows() + resumed.rows());
+		assertEquals(weekdays(START, END), backfillCheckpointRepository.findById("AUDJPY=X").orElseThrow().getRowsSaved());
+	}
+
+	@Test
+	void rerunWithLaterEndExtendsCheckpoint() {
+		YAHOO.failAfter(3);
+		BackfillResult failed = backfillService.backfill("CHF", "JPY", START, END);
+		assertEquals(BackfillResult.Status.FAILED, failed.status());
+
+		// An open-ended backfill rerun a few days later asks for a later end
+		YAHOO.reset();
+		LocalDate laterEnd = END.plusDays(5);
+		BackfillResult resumed = backfillService.backfill("CHF", "JPY", START, laterEnd);
+
+		assertEquals(BackfillResult.Status.COMPLETED, resumed.status());
+		assertEquals(START.plusDays(90), resumed.resumedFrom());
+		assertEquals(4, YAHOO.requests());
+		assertEquals(weekdays(START, laterEnd), failed.rows() + resumed.rows());
+		BackfillCheckpoint checkpoint = backfillCheckpointRepository.findById("CHFJPY=X").orElseThrow();
+		assertEquals(START, checkpoint.getStartDate());
+		assertEquals(laterEnd, checkpoint.getEndDate());
+		assertEquals(laterEnd, checkpoint.getCompletedThrough());
+	}
+
+	private static long weekdays(LocalDate start, LocalDate end) {
+		return start.datesUntil(end.plusDays(1))
+				.filter(date -> date.getDayOfWeek() != DayOfWeek.SATURDAY && date.getDayOfWeek() != DayOfWeek.SUNDAY)
+				.count();
+	}
+
+	private static YahooStubServer startStub() {
+		try {
+			return new YahooStubServer();
+		} catch (IOException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+}
@@ -0,0 +1,173 @@
+package com.example.forexData.service;
+
+import com.example.forexData.event.ForexDataSavedEvent;
+import com.example.forexData.model.ForexData;
+import com.example.forexData.store.ForexTimeSeriesStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ChangeFeedServiceTests {
+
+	private static final LocalDate MONDAY = LocalDate.of(2024, 8, 19);
+
+	private final ChangeFeedService changeFeedService = new ChangeFeedService();
+	private final ForexTimeSeriesStore store = new ForexTimeSeriesStore();
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	@BeforeEach
+	void setUp() {
+		ReflectionTestUtils.setField(changeFeedService, "forexTimeSeriesStore", store);
+		ReflectionTestUtils.setField(changeFeedService, "meterRegistry", meterRegistry);
+		ReflectionTestUtils.setField(changeFeedService, "bufferSize", 4);
+		ReflectionTestUtils.setField(changeFeedService, "maxSubscribers", 3);
+		ReflectionTestUtils.setField(changeFeedService, "heartbeatMillis", 60_000L);
+		changeFeedService.start();
+	}
+
+	@AfterEach
+	void tearDown() {
+		changeFeedService.shutdown();
+	}
+
+	@Test
+	void sendsOnlyNewOrChangedRowsOfSubscribedPairs() throws InterruptedException {
+		save("USDINR=X", row("USDINR=X", MONDAY, "80"));
+		RecordingSink usdinr = new RecordingSink(null);
+		RecordingSink eurusd = new RecordingSink(null);
+		changeFeedService.subscribe(Set.of("USDINR=X"), usdinr);
+		changeFeedService.subscribe(Set.of("EURUSD=X"), eurusd);
+
+		save("USDINR=X", row("USDINR=X", MONDAY, "80"), row("USDINR=X", MONDAY.plusDays(1), "81"));
+		save("USDINR=X", row("USDINR=X", MONDAY, "80"), row("USDINR=X", MONDAY.plusDays(1), "81"));
+		save("USDINR=X", row("USDINR=X", MONDAY.plusDays(1), "81.5"));
+
+		assertEquals(List.of(MONDAY.plusDays(1)), dates(usdinr.next()));
+		List<ForexData> revised = usdinr.next();
+		assertEquals(new BigDecimal("81.5"), revised.get(0).getClose());
+		assertNull(usdinr.events.poll(100, TimeUnit.MILLISECONDS));
+		assertNull(eurusd.events.poll(0, TimeUnit.MILLISECONDS));
+	}
+
+	@Test
+	void dropsSlowSubscriberWithoutHoldingUpOthers() throws InterruptedException {
+		CountDownLatch release = new CountDownLatch(1);
+		RecordingSink slow = new RecordingSink(release);
+		RecordingSink fast = new RecordingSink(null);
+		changeFeedService.subscribe(Set.of(), slow);
+		changeFeedService.subscribe(Set.of(), fast);
+
+		// The fast subscriber keeps up with every save, the slow one stops reading after the first
+		for (int i = 0; i < 10; i++) {
+			save("USDINR=X", row("USDINR=X", MONDAY.plusDays(i), "80"));
+			assertEquals(List.of(MONDAY.plusDays(i)), dates(fast.next()));
+		}
+		assertEquals(1, changeFeedService.getSubscriberCount());
+		assertEquals(1, meterRegistry.get("forex.feed.dropped").counter().count());
+
+		release.countDown();
+		assertTrue(slow.completed.await(5, TimeUnit.SECONDS));
+		assertEquals("dropped", slow.lastName);
+	}
+
+	@Test
+	void limitsSubscribers() {
+		for (int i = 0; i < 3; i++) {
+			changeFeedService.subscribe(Set.of(), new RecordingSink(null));
+		}
+		assertThrows(RejectedExecutionException.class, () -> changeFeedService.subscribe(Set.of(), new RecordingSink(null)));
+	}
+
+	/**
+	 * Publishes like the application does: the feed sees the rows before the store merges them.
+	 */
+	private void save(String currencyPair, ForexData... rows) {
+		ForexDataSavedEvent event = new ForexDataSavedEvent(currencyPair, List.of(rows));
+		changeFeedService.onForexDataSaved(event);
+		store.onForexDataSaved(event);
+	}
+
+	private static List<LocalDate> dates(List<ForexData> rows) {
+		return rows.stream().map(ForexData::getDate).toList();
+	}
+
+	private static ForexData row(String currencyPair, LocalDate date, String close) {
+		ForexData data = new ForexData();
+		data.setCurrencyPair(currencyPair);
+		data.setDate(date);
+		data.setOpen(new BigDecimal(close));
+		data.setHigh(new BigDecimal(close));
+		data.setLow(new BigDecimal(close));
+		data.setClose(new BigDecimal(close));
+		data.setAdjClose(new BigDecimal(close));
+		data.setVolume(BigDecimal.ZERO);
+		return data;
+	}
+
+	/**
+	 * Records "rates" events; when given a latch, the first send blocks on it like a client that stopped reading.
+	 */
+	private static final class RecordingSink implements ChangeFeedService.Sink {
+
+		private final CountDownLatch blockFirstSend;
+		private final BlockingQueue<List<ForexData>> events = new LinkedBlockingQueue<>();
+		private final CountDownLatch completed = new CountDownLatch(1);
+		private volatile String lastName;
+		private boolean blocked;
+
+		private RecordingSink(CountDownLatch blockFirstSend) {
+			this.blockFirstSend = blockFirstSend;
+		}
+
+		@Override
+		@SuppressWarnings("unchecked")
+		public void send(String event, Object data) {
+			if (blockFirstSend != null && !blocked) {
+				blocked = true;
+				try {
+					blockFirstSend.await();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			}
+			lastName = event;
+			if (event.equals("rates")) {
+				events.add((List<ForexData>) data);
+			}
+		}
+
+		@Override
+		public void heartbeat() {
+		}
+
+		@Override
+		public void complete() {
+			completed.countDown();
+		}
+
+		private List<ForexData> next() throws InterruptedException {
+			List<ForexData> event = events.poll(5, TimeUnit.SECONDS);
+			if (event == null) {
+				throw new AssertionError("No event received");
+			}
+			return event;
+		}
+	}
+}
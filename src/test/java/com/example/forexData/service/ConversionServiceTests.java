@@ -0,0 +1,113 @@
+package com.example.forexData.service;
+
+import com.example.forexData.event.ForexDataSavedEvent;
+import com.example.forexData.model.Conversion;
+import com.example.forexData.model.ConversionRequest;
+import com.example.forexData.model.ForexData;
+import com.example.forexData.store.ForexTimeSeriesStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class ConversionServiceTests {
+
+	private static final LocalDate MONDAY = LocalDate.of(2024, 8, 19);
+	private static final LocalDate FRIDAY = MONDAY.plusDays(4);
+
+	private final ConversionService conversionService = new ConversionService();
+	private final CrossRateService crossRateService = new CrossRateService();
+	private final ForexTimeSeriesStore store = new ForexTimeSeriesStore();
+
+	@BeforeEach
+	void setUp() {
+		ReflectionTestUtils.setField(crossRateService, "forexTimeSeriesStore", store);
+		ReflectionTestUtils.setField(crossRateService, "baseCurrency", "USD");
+		ReflectionTestUtils.setField(conversionService, "crossRateService", crossRateService);
+		ReflectionTestUtils.setField(conversionService, "maxFallbackDays", 7);
+		// USDINR trades through Friday, GBPUSD is missing Friday
+		store.onForexDataSaved(new ForexDataSavedEvent("USDINR=X", List.of(
+				row("USDINR=X", MONDAY, "80"), row("USDINR=X", MONDAY.plusDays(3), "84"), row("USDINR=X", FRIDAY, "83.5"))));
+		store.onForexDataSaved(new ForexDataSavedEvent("GBPUSD=X", List.of(
+				row("GBPUSD=X", MONDAY, "1.25"), row("GBPUSD=X", MONDAY.plusDays(3), "1.3"))));
+	}
+
+	@Test
+	void convertsAtCloseOfTradingDay() {
+		Conversion conversion = conversionService.convert("USD", "INR", FRIDAY, new BigDecimal("100"));
+
+		assertEquals(FRIDAY, conversion.rateDate());
+		assertEquals(0, new BigDecimal("83.5").compareTo(conversion.rate()));
+		assertEquals(new BigDecimal("8350.00000"), conversion.convertedAmount());
+		assertEquals(List.of("USDINR=X"), conversion.legs());
+	}
+
+	@Test
+	void fallsBackToPreviousTradingDay() {
+		// Wednesday has no bar, Sunday follows Friday
+		assertEquals(MONDAY, conversionService.convert("USD", "INR", MONDAY.plusDays(2), BigDecimal.ONE).rateDate());
+		assertEquals(FRIDAY, conversionService.convert("USD", "INR", FRIDAY.plusDays(2), BigDecimal.ONE).rateDate());
+
+		Conversion stale = conversionService.convert("USD", "INR", FRIDAY.plusDays(8), BigDecimal.ONE);
+		assertNull(stale.rate());
+		assertNull(conversionService.convert("USD", "INR", MONDAY.minusDays(1), BigDecimal.ONE).rate());
+	}
+
+	@Test
+	void skipsBarWithoutClose() {
+		ForexData noClose = row("USDINR=X", FRIDAY, "83.5");
+		noClose.setClose(null);
+		store.onForexDataSaved(new ForexDataSavedEvent("USDINR=X", List.of(noClose)));
+
+		Conversion conversion = conversionService.convert("USD", "INR", FRIDAY, BigDecimal.ONE);
+		assertEquals(MONDAY.plusDays(3), conversion.rateDate());
+		assertEquals(0, new BigDecimal("84").compareTo(conversion.rate()));
+	}
+
+	@Test
+	void invertsAndCrossesThroughBaseCurrency() {
+		Conversion inverted = conversionService.convert("INR", "USD", MONDAY, new BigDecimal("160"));
+		assertEquals(0, new BigDecimal("0.0125").compareTo(inverted.rate()));
+		assertEquals(new BigDecimal("2.00000"), inverted.convertedAmount());
+		assertEquals(List.of("1/USDINR=X"), inverted.legs());
+
+		// On Friday GBPUSD falls back to Thursday while USDINR uses Friday
+		Conversion cross = conversionService.convert("GBP", "INR", FRIDAY, BigDecimal.TEN);
+		assertEquals(MONDAY.plusDays(3), cross.rateDate());
+		assertEquals(0, new BigDecimal("108.55").compareTo(cross.rate()));
+		assertEquals(List.of("GBPUSD=X", "USDINR=X"), cross.legs());
+	}
+
+	@Test
+	void convertsBatchInRequestOrder() {
+		List<Conversion> conversions = conversionService.convertAll(List.of(
+				new ConversionRequest("USD", "INR", MONDAY, BigDecimal.ONE),
+				new ConversionRequest("GBP", "JPY", MONDAY, BigDecimal.ONE),
+				new ConversionRequest("EUR", "EUR", MONDAY, BigDecimal.TEN),
+				new ConversionRequest("USD", "INR", FRIDAY, BigDecimal.ONE)));
+
+		assertEquals(0, new BigDecimal("80").compareTo(conversions.get(0).rate()));
+		assertNull(conversions.get(1).convertedAmount());
+		assertEquals(BigDecimal.TEN, conversions.get(2).convertedAmount());
+		assertEquals(0, new BigDecimal("83.5").compareTo(conversions.get(3).rate()));
+	}
+
+	private static ForexData row(String currencyPair, LocalDate date, String close) {
+		ForexData data = new ForexData();
+		data.setCurrencyPair(currencyPair);
+		data.setDate(date);
+		data.setOpen(new BigDecimal(close));
+		data.setHigh(new BigDecimal(close));
+		data.setLow(new BigDecimal(close));
+		data.setClose(new BigDecimal(close));
+		data.setAdjClose(new BigDecimal(close));
+		data.setVolume(BigDecimal.ZERO);
+		return data;
+	}
+}
@@ -0,0 +1,114 @@
+package com.example.forexData.service;
+
+import com.example.forexData.event.ForexDataSavedEvent;
+import com.example.forexData.model.CrossRateSeries;
+import com.example.forexData.model.ForexData;
+import com.example.forexData.store.ForexTimeSeriesStore;
+import com.example.forexData.store.PairSeries;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CrossRateServiceTests {
+
+	private static final LocalDate MONDAY = LocalDate.of(2024, 8, 19);
+
+	private final CrossRateService crossRateService = new CrossRateService();
+	private final ForexTimeSeriesStore store = new ForexTimeSeriesStore();
+
+	@BeforeEach
+	void setUp() {
+		ReflectionTestUtils.setField(crossRateService, "forexTimeSeriesStore", store);
+		ReflectionTestUtils.setField(crossRateService, "baseCurrency", "USD");
+		ReflectionTestUtils.setField(crossRateService, "maxEntries", 16);
+		// GBPUSD is missing Wednesday, USDINR is missing Thursday
+		store.onForexDataSaved(new ForexDataSavedEvent("GBPUSD=X", List.of(
+				row("GBPUSD=X", MONDAY, "1.25"), row("GBPUSD=X", MONDAY.plusDays(1), "1.3"), row("GBPUSD=X", MONDAY.plusDays(3), "1.2"))));
+		store.onForexDataSaved(new ForexDataSavedEvent("USDINR=X", List.of(
+				row("USDINR=X", MONDAY, "80"), row("USDINR=X", MONDAY.plusDays(1), "84"), row("USDINR=X", MONDAY.plusDays(2), "83"))));
+	}
+
+	@Test
+	void joinsLegsThroughBaseCurrencyOnCommonDates() {
+		CrossRateSeries gbpInr = crossRateService.getCrossRates("GBP", "INR", MONDAY, MONDAY.plusDays(4));
+
+		assertEquals(List.of("GBPUSD=X", "USDINR=X"), gbpInr.legs());
+		assertEquals(2, gbpInr.bars().size());
+		assertEquals(0, new BigDecimal("100").compareTo(gbpInr.bars().get(0).close()));
+		assertEquals(0, new BigDecimal("109.2").compareTo(gbpInr.bars().get(1).close()));
+	}
+
+	@Test
+	void invertsLegsAndRefreshesAfterSave() {
+		CrossRateSeries inrGbp = crossRateService.getCrossRates("INR", "GBP", MONDAY, MONDAY);
+		assertEquals(List.of("1/USDINR=X", "1/GBPUSD=X"), inrGbp.legs());
+		assertEquals(0, new BigDecimal("0.01").compareTo(inrGbp.bars().get(0).close()));
+
+		store.onForexDataSaved(new ForexDataSavedEvent("USDINR=X", List.of(row("USDINR=X", MONDAY, "50"))));
+		crossRateService.onForexDataSaved(new ForexDataSavedEvent("USDINR=X", List.of()));
+
+		assertEquals(0, new BigDecimal("0.016").compareTo(crossRateService.getCrossRates("INR", "GBP", MONDAY, MONDAY).bars().get(0).close()));
+	}
+
+	@Test
+	void storedPairReplacesDerivedSeries() {
+		assertEquals(List.of("GBPUSD=X", "USDINR=X"), crossRateService.getCrossRates("GBP", "INR", MONDAY, MONDAY).legs());
+
+		store.onForexDataSaved(new ForexDataSavedEvent("INRGBP=X", List.of(row("INRGBP=X", MONDAY, "0.0125"))));
+		crossRateService.onForexDataSaved(new ForexDataSavedEvent("INRGBP=X", List.of()));
+
+		CrossRateSeries gbpInr = crossRateService.getCrossRates("GBP", "INR", MONDAY, MONDAY);
+		assertEquals(List.of("1/INRGBP=X"), gbpInr.legs());
+		assertEquals(0, new BigDecimal("80").compareTo(gbpInr.bars().get(0).close()));
+	}
+
+	@Test
+	void doesNotCacheSeriesDerivedFromLegSavedMeanwhile() {
+		// Saves USDINR, and runs its invalidation, right after the first snapshot of it is taken
+		AtomicBoolean saved = new AtomicBoolean();
+		ForexTimeSeriesStore racingStore = new ForexTimeSeriesStore() {
+			@Override
+			public PairSeries.Snapshot snapshot(String currencyPair) {
+				PairSeries.Snapshot snapshot = super.snapshot(currencyPair);
+				if (currencyPair.equals("USDINR=X") && saved.compareAndSet(false, true)) {
+					ForexDataSavedEvent event = new ForexDataSavedEvent("USDINR=X", List.of(row("USDINR=X", MONDAY, "50")));
+					onForexDataSaved(event);
+					crossRateService.onForexDataSaved(event);
+				}
+				return snapshot;
+			}
+		};
+		racingStore.onForexDataSaved(new ForexDataSavedEvent("GBPUSD=X", List.of(row("GBPUSD=X", MONDAY, "1.25"))));
+		racingStore.onForexDataSaved(new ForexDataSavedEvent("USDINR=X", List.of(row("USDINR=X", MONDAY, "80"))));
+		ReflectionTestUtils.setField(crossRateService, "forexTimeSeriesStore", racingStore);
+
+		assertEquals(0, new BigDecimal("100").compareTo(crossRateService.getCrossRates("GBP", "INR", MONDAY, MONDAY).bars().get(0).close()));
+		assertEquals(0, new BigDecimal("62.5").compareTo(crossRateService.getCrossRates("GBP", "INR", MONDAY, MONDAY).bars().get(0).close()));
+	}
+
+	@Test
+	void rejectsPairsWithoutStoredLegs() {
+		assertThrows(IllegalArgumentException.class, () -> crossRateService.getCrossRates("GBP", "JPY", MONDAY, MONDAY));
+	}
+
+	private static ForexData row(String currencyPair, LocalDate date, String close) {
+		ForexData data = new ForexData();
+		data.setCurrencyPair(currencyPair);
+		data.setDate(date);
+		data.setOpen(new BigDecimal(close));
+		data.setHigh(new BigDecimal(close));
+		data.setLow(new BigDecimal(close));
+		data.setClose(new BigDecimal(close));
+		data.setAdjClose(new BigDecimal(close));
+		data.setVolume(BigDecimal.ZERO);
+		return data;
+	}
+}
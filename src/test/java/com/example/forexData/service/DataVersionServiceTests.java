@@ -0,0 +1,63 @@
+package com.example.forexData.service;
+
+import com.example.forexData.event.ForexDataSavedEvent;
+import com.example.forexData.model.ForexData;
+import com.example.forexData.store.ForexTimeSeriesStore;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+
+@SpringBootTest
+class DataVersionServiceTests {
+
+	private static final LocalDate DAY = LocalDate.of(2024, 8, 26);
+
+	@SpyBean
+	private DataVersionService dataVersionService;
+
+	@Autowired
+	private ForexTimeSeriesStore forexTimeSeriesStore;
+
+	@Autowired
+	private ApplicationEventPublisher eventPublisher;
+
+	@Test
+	void bumpsVersionOnlyAfterStoreMergedRows() {
+		AtomicInteger barsWhenBumped = new AtomicInteger(-1);
+		doAnswer(invocation -> {
+			barsWhenBumped.set(forexTimeSeriesStore.snapshot("CADCHF=X").size());
+			return invocation.callRealMethod();
+		}).when(dataVersionService).onForexDataSaved(any());
+		String before = dataVersionService.tag(List.of("CADCHF=X"), DAY, DAY).etag();
+
+		eventPublisher.publishEvent(new ForexDataSavedEvent("CADCHF=X", List.of(row())));
+
+		assertEquals(1, barsWhenBumped.get());
+		assertNotEquals(before, dataVersionService.tag(List.of("CADCHF=X"), DAY, DAY).etag());
+	}
+
+	private static ForexData row() {
+		ForexData data = new ForexData();
+		data.setCurrencyPair("CADCHF=X");
+		data.setDate(DAY);
+		data.setOpen(new BigDecimal("0.62"));
+		data.setHigh(new BigDecimal("0.62"));
+		data.setLow(new BigDecimal("0.62"));
+		data.setClose(new BigDecimal("0.62"));
+		data.setAdjClose(new BigDecimal("0.62"));
+		data.setVolume(BigDecimal.ZERO);
+		return data;
+	}
+}
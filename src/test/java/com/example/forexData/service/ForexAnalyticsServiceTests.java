@@ -0,0 +1,129 @@
+package com.example.forexData.service;
+
+import com.example.forexData.event.ForexDataSavedEvent;
+import com.example.forexData.model.ForexData;
+import com.example.forexData.model.OhlcBar;
+import com.example.forexData.model.RollingPoint;
+import com.example.forexData.store.ForexTimeSeriesStore;
+import com.example.forexData.util.Period;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ForexAnalyticsServiceTests {
+
+	private static final LocalDate START = LocalDate.of(2024, 1, 1);
+	private static final LocalDate END = LocalDate.of(2024, 6, 30);
+
+	private final ForexAnalyticsService forexAnalyticsService = new ForexAnalyticsService();
+	private final ForexTimeSeriesStore store = new ForexTimeSeriesStore();
+	private final List<Double> closes = new ArrayList<>();
+
+	@BeforeEach
+	void loadSeries() {
+		List<ForexData> rows = new ArrayList<>();
+		for (LocalDate date = START; !date.isAfter(END); date = date.plusDays(1)) {
+			if (date.getDayOfWeek() == DayOfWeek.SATURDAY || date.getDayOfWeek() == DayOfWeek.SUNDAY) {
+				continue;
+			}
+			double close = 83 + Math.sin(rows.size() / 5.0);
+			closes.add(Math.round(close * 100_000) / 100_000.0);
+			BigDecimal price = BigDecimal.valueOf(close).setScale(5, RoundingMode.HALF_UP);
+			ForexData data = new ForexData();
+			data.setCurrencyPair("USDINR=X");
+			data.setDate(date);
+			data.setOpen(price);
+			data.setHigh(price.add(BigDecimal.ONE));
+			data.setLow(price.subtract(BigDecimal.ONE));
+			data.setClose(price);
+			data.setAdjClose(price);
+			data.setVolume(BigDecimal.ONE);
+			rows.add(data);
+		}
+		store.onForexDataSaved(new ForexDataSavedEvent("USDINR=X", rows));
+		ReflectionTestUtils.setField(forexAnalyticsService, "forexTimeSeriesStore", store);
+	}
+
+	@Test
+	void resamplesIntoCalendarMonthsAndQuarters() {
+		List<OhlcBar> months = forexAnalyticsService.resample("USDINR=X", START, END, Period.ONE_MONTH);
+		List<OhlcBar> quarters = forexAnalyticsService.resample("USDINR=X", START, END, Period.THREE_MONTHS);
+
+		assertEquals(6, months.size());
+		assertEquals(LocalDate.of(2024, 3, 1), months.get(2).date());
+		assertEquals(new BigDecimal("21.00000"), months.get(2).volume());
+		assertEquals(2, quarters.size());
+		assertEquals(LocalDate.of(2024, 4, 1), quarters.get(1).date());
+	}
+
+	@Test
+	void rejectsNineMonthBuckets() {
+		assertEquals(Period.SIX_MONTHS, ForexAnalyticsService.bucket("6M"));
+		assertThrows(IllegalArgumentException.class, () -> ForexAnalyticsService.bucket("9M"));
+		assertThrows(IllegalArgumentException.class,
+				() -> forexAnalyticsService.resample("USDINR=X", START, END, Period.NINE_MONTHS));
+	}
+
+	@Test
+	void rollingStatisticsMatchNaiveComputation() {
+		int window = 10;
+		List<RollingPoint> points = forexAnalyticsService.rolling("USDINR=X", START, END, window);
+
+		assertEquals(closes.size() - window + 1, points.size());
+		for (int p = 0; p < points.size(); p++) {
+			List<Double> slice = closes.subList(p, p + window);
+			double mean = slice.stream().mapToDouble(Double::doubleValue).average().orElseThrow();
+			double variance = slice.stream().mapToDouble(v -> (v - mean) * (v - mean)).sum() / window;
+			RollingPoint point = points.get(p);
+			assertEquals(mean, point.sma(), 1e-9);
+			assertEquals(Math.sqrt(variance), point.stddev(), 1e-6);
+			assertEquals(slice.stream().mapToDouble(Double::doubleValue).min().orElseThrow(), point.min(), 1e-9);
+			assertEquals(slice.stream().mapToDouble(Double::doubleValue).max().orElseThrow(), point.max(), 1e-9);
+		}
+	}
+
+	@Test
+	void skipsBarsWithoutClose() {
+		// Friday 2024-01-26 and Wednesday 2024-01-31, the last trading day of January, lose their close
+		LocalDate friday = LocalDate.of(2024, 1, 26);
+		LocalDate lastOfMonth = LocalDate.of(2024, 1, 31);
+		store.onForexDataSaved(new ForexDataSavedEvent("USDINR=X", List.of(withoutClose(friday), withoutClose(lastOfMonth))));
+		closes.remove(22);
+		closes.remove(19);
+
+		OhlcBar january = forexAnalyticsService.resample("USDINR=X", START, END, Period.ONE_MONTH).get(0);
+		assertEquals(BigDecimal.valueOf(closes.get(20)).setScale(5), january.close());
+		assertEquals(new BigDecimal("23.00000"), january.volume());
+
+		int window = 5;
+		List<RollingPoint> points = forexAnalyticsService.rolling("USDINR=X", START, END, window);
+		assertEquals(closes.size() - window + 1, points.size());
+		assertTrue(points.stream().noneMatch(point -> point.date().equals(friday) || Double.isNaN(point.sma())));
+		for (int p = 0; p < points.size(); p++) {
+			double mean = closes.subList(p, p + window).stream().mapToDouble(Double::doubleValue).average().orElseThrow();
+			assertEquals(mean, points.get(p).sma(), 1e-9);
+		}
+	}
+
+	private static ForexData withoutClose(LocalDate date) {
+		ForexData data = new ForexData();
+		data.setCurrencyPair("USDINR=X");
+		data.setDate(date);
+		data.setOpen(new BigDecimal("83"));
+		data.setHigh(new BigDecimal("84"));
+		data.setLow(new BigDecimal("82"));
+		data.setVolume(BigDecimal.ONE);
+		return data;
+	}
+}
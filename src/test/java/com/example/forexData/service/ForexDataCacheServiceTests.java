@@ -0,0 +1,162 @@
+package com.example.forexData.service;
+
+import com.example.forexData.model.ForexData;
+import com.example.forexData.repository.ForexDataRepository;
+import com.example.forexData.util.Period;
+import com.example.forexData.util.TradingDays;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ForexDataCacheServiceTests {
+
+	private static final LocalDate END = LocalDate.now();
+	private static final LocalDate START = END.minusDays(28);
+
+	private final ForexDataCacheService cacheService = new ForexDataCacheService();
+	private final ForexScraperService forexScraperService = mock(ForexScraperService.class);
+	private final ForexDataRepository forexDataRepository = mock(ForexDataRepository.class);
+
+	// Bars the repository mock answers with, for every pair
+	private final List<ForexData> stored = new ArrayList<>();
+
+	@BeforeEach
+	void setUp() {
+		ReflectionTestUtils.setField(cacheService, "forexScraperService", forexScraperService);
+		ReflectionTestUtils.setField(cacheService, "forexDataRepository", forexDataRepository);
+		ReflectionTestUtils.setField(cacheService, "meterRegistry", new SimpleMeterRegistry());
+		ReflectionTestUtils.setField(cacheService, "maxEntries", 2);
+		cacheService.registerMetrics();
+
+		when(forexScraperService.calculateStartDate(any())).thenReturn(START);
+		when(forexDataRepository.findByCurrencyPairAndDateBetweenOrderByDateAsc(anyString(), any(), any()))
+				.thenAnswer(invocation -> between(invocation.getArgument(1), invocation.getArgument(2)));
+		when(forexScraperService.saveExchangeRates(anyString(), any())).thenAnswer(invocation -> invocation.getArgument(1));
+	}
+
+	@Test
+	void answersFromDatabaseWhenStoredBarsCoverWindowAroundHoliday() {
+		storeWeekdays(START.minusDays(TradingDays.BRACKET_DAYS), END);
+		LocalDate holiday = weekdayAfter(START.plusDays(10));
+		stored.removeIf(data -> data.getDate().equals(holiday));
+
+		List<ForexData> rates = cacheService.getExchangeRates("USD", "INR", Period.ONE_MONTH);
+		assertEquals(between(START, END), rates);
+		assertSame(rates, cacheService.getExchangeRates("USD", "INR", Period.ONE_MONTH));
+
+		verify(forexScraperService, never()).fetchExchangeRates(anyString(), anyString(), any(), any());
+		verify(forexDataRepository, times(1)).findByCurrencyPairAndDateBetweenOrderByDateAsc(anyString(), any(), any());
+		assertEquals(1, cacheService.getStats().databaseLoads());
+		assertEquals(1, cacheService.getStats().hits());
+	}
+
+	@Test
+	void scrapesSpanOfMissingDaysAndSavesOnlyNewBars() {
+		LocalDate firstMissing = weekdayAfter(END.minusDays(10));
+		storeWeekdays(START, firstMissing.minusDays(1));
+		List<ForexData> missing = bars(firstMissing, END);
+		LocalDate lastMissing = missing.get(missing.size() - 1).getDate();
+		List<ForexData> scraped = new ArrayList<>(bars(firstMissing.minusDays(3), firstMissing.minusDays(1)));
+		scraped.addAll(missing);
+		when(forexScraperService.fetchExchangeRates("USD", "INR", firstMissing, lastMissing)).thenReturn(scraped);
+
+		List<ForexData> rates = cacheService.getExchangeRates("USD", "INR", Period.ONE_MONTH);
+
+		// Bars the scrape returned for already stored dates are neither saved again nor duplicated
+		verify(forexScraperService).saveExchangeRates("USDINR=X", missing);
+		List<ForexData> expected = new ArrayList<>(between(START, END));
+		expected.addAll(missing);
+		assertEquals(expected, rates);
+		assertEquals(1, cacheService.getStats().scrapeLoads());
+	}
+
+	@Test
+	void coalescesConcurrentIdenticalMisses() throws Exception {
+		storeWeekdays(START.minusDays(TradingDays.BRACKET_DAYS), END);
+		CountDownLatch gate = new CountDownLatch(1);
+		doAnswer(invocation -> {
+			gate.await();
+			return between(invocation.getArgument(1), invocation.getArgument(2));
+		}).when(forexDataRepository).findByCurrencyPairAndDateBetweenOrderByDateAsc(anyString(), any(), any());
+
+		CompletableFuture<List<ForexData>> first = CompletableFuture.supplyAsync(
+				() -> cacheService.getExchangeRates("USD", "INR", Period.ONE_MONTH));
+		CompletableFuture<List<ForexData>> second = CompletableFuture.supplyAsync(
+				() -> cacheService.getExchangeRates("USD", "INR", Period.ONE_MONTH));
+		for (int i = 0; i < 500 && cacheService.getStats().coalesced() == 0; i++) {
+			Thread.sleep(10);
+		}
+		gate.countDown();
+
+		assertSame(first.get(5, TimeUnit.SECONDS), second.get(5, TimeUnit.SECONDS));
+		assertEquals(1, cacheService.getStats().coalesced());
+		verify(forexDataRepository, times(1)).findByCurrencyPairAndDateBetweenOrderByDateAsc(anyString(), any(), any());
+	}
+
+	@Test
+	void evictsLeastRecentlyUsedEntry() {
+		storeWeekdays(START.minusDays(TradingDays.BRACKET_DAYS), END);
+
+		cacheService.getExchangeRates("USD", "INR", Period.ONE_MONTH);
+		cacheService.getExchangeRates("EUR", "USD", Period.ONE_MONTH);
+		cacheService.getExchangeRates("USD", "INR", Period.ONE_MONTH);
+		cacheService.getExchangeRates("GBP", "USD", Period.ONE_MONTH);
+		assertEquals(1, cacheService.getStats().evictions());
+		assertEquals(2, cacheService.getStats().size());
+
+		cacheService.getExchangeRates("USD", "INR", Period.ONE_MONTH);
+		assertEquals(2, cacheService.getStats().hits());
+		cacheService.getExchangeRates("EUR", "USD", Period.ONE_MONTH);
+		verify(forexDataRepository, times(2)).findByCurrencyPairAndDateBetweenOrderByDateAsc(eq("EURUSD=X"), any(), any());
+	}
+
+	private void storeWeekdays(LocalDate first, LocalDate last) {
+		stored.addAll(bars(first, last));
+	}
+
+	private List<ForexData> between(LocalDate first, LocalDate last) {
+		return stored.stream().filter(data -> !data.getDate().isBefore(first) && !data.getDate().isAfter(last)).toList();
+	}
+
+	private static List<ForexData> bars(LocalDate first, LocalDate last) {
+		List<ForexData> bars = new ArrayList<>();
+		for (LocalDate date = first; !date.isAfter(last); date = date.plusDays(1)) {
+			if (TradingDays.isWeekday(date)) {
+				ForexData data = new ForexData();
+				data.setCurrencyPair("USDINR=X");
+				data.setDate(date);
+				data.setClose(new BigDecimal("83.1"));
+				bars.add(data);
+			}
+		}
+		return bars;
+	}
+
+	private static LocalDate weekdayAfter(LocalDate date) {
+		while (!TradingDays.isWeekday(date)) {
+			date = date.plusDays(1);
+		}
+		return date;
+	}
+}
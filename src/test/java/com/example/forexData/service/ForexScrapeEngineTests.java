@@ -0,0 +1,78 @@
+package com.example.forexData.service;
+
+import com.example.forexData.model.CurrencyPairRequest;
+import com.example.forexData.model.ScrapeReport;
+import com.example.forexData.support.YahooStubServer;
+import com.example.forexData.util.Period;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = "forex.scrape.max-concurrency-per-host=4")
+class ForexScrapeEngineTests {
+
+	private static final YahooStubServer YAHOO = startStub();
+
+	@Autowired
+	private ForexScrapeEngine forexScrapeEngine;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@DynamicPropertySource
+	static void yahooProperties(DynamicPropertyRegistry registry) {
+		registry.add("forex.scrape.base-url", YAHOO::baseUrl);
+	}
+
+	@AfterAll
+	static void stopStub() {
+		YAHOO.close();
+	}
+
+	@Test
+	void wallClockScalesWithConcurrencyLimitNotPairCount() {
+		YAHOO.latencyMillis(200).reset();
+		List<CurrencyPairRequest> pairs = IntStream.range(0, 16)
+				.mapToObj(i -> new CurrencyPairRequest("USD", String.valueOf((char) ('A' + i)).repeat(3)))
+				.toList();
+
+		ScrapeReport report = forexScrapeEngine.scrapeAll(pairs, Period.ONE_WEEK);
+
+		assertEquals(16, report.succeeded());
+		assertEquals(4, YAHOO.maxInFlight());
+		// 16 pairs at 200 ms each: 3.2 s sequentially, ~0.8 s with four at a time.
+		assertTrue(report.elapsedMillis() < 2400, "took " + report.elapsedMillis() + " ms");
+	}
+
+	@Test
+	void recordsFetchParseAndPersistMetrics() {
+		YAHOO.latencyMillis(0).reset();
+
+		// A configured pair, so its fetches are not folded into pair=other
+		forexScrapeEngine.scrapeAll(List.of(new CurrencyPairRequest("USD", "INR")), Period.ONE_WEEK);
+
+		assertEquals(1, meterRegistry.get("forex.scrape.fetch").tags("pair", "USDINR=X", "outcome", "success").timer().count());
+		assertTrue(meterRegistry.get("forex.parse").timer().count() >= 1);
+		assertTrue(meterRegistry.get("forex.parse.rows").counter().count() >= 5);
+		assertTrue(meterRegistry.get("forex.persistence.upsert").timer().count() >= 1);
+	}
+
+	private static YahooStubServer startStub() {
+		try {
+			return new YahooStubServer();
+		} catch (IOException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+}
@@ -0,0 +1,94 @@
+package com.example.forexData.service;
+
+import com.example.forexData.model.ForexData;
+import com.example.forexData.provider.HedgedRateFetcher;
+import com.example.forexData.repository.ForexDataRepository;
+import com.example.forexData.util.Period;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ForexScraperServiceTests {
+
+	private static final LocalDate TODAY = LocalDate.now();
+
+	private final ForexScraperService forexScraperService = new ForexScraperService();
+	private final ForexDataRepository forexDataRepository = mock(ForexDataRepository.class);
+	private final HedgedRateFetcher hedgedRateFetcher = mock(HedgedRateFetcher.class);
+
+	// Rows the repository mock has been given
+	private final List<ForexData> stored = new ArrayList<>();
+
+	@BeforeEach
+	void setUp() throws Exception {
+		ReflectionTestUtils.setField(forexScraperService, "forexDataRepository", forexDataRepository);
+		ReflectionTestUtils.setField(forexScraperService, "hedgedRateFetcher", hedgedRateFetcher);
+		ReflectionTestUtils.setField(forexScraperService, "eventPublisher", mock(ApplicationEventPublisher.class));
+
+		when(forexDataRepository.upsertAll(any())).thenAnswer(invocation -> {
+			List<ForexData> rows = invocation.getArgument(0);
+			stored.addAll(rows);
+			return rows.size();
+		});
+		when(forexDataRepository.findByCurrencyPairAndDateBetweenOrderByDateAsc(anyString(), any(), any()))
+				.thenAnswer(invocation -> stored.stream()
+						.filter(data -> !data.getDate().isBefore(invocation.getArgument(1))
+								&& !data.getDate().isAfter(invocation.getArgument(2)))
+						.toList());
+		when(hedgedRateFetcher.fetch(eq("USD"), eq("INR"), any(), any()))
+				.thenAnswer(invocation -> rows(invocation.getArgument(2), invocation.getArgument(3)));
+	}
+
+	@Test
+	void resumesFromHighWaterMark() throws Exception {
+		LocalDate highWaterMark = TODAY.minusDays(5);
+		when(forexDataRepository.findLatestDate("USDINR=X")).thenReturn(highWaterMark);
+
+		List<ForexData> saved = forexScraperService.scrapeAndSaveNewExchangeRates("USD", "INR", Period.ONE_YEAR);
+
+		// The latest stored day is requested again, nothing older is
+		verify(hedgedRateFetcher).fetch("USD", "INR", highWaterMark, TODAY);
+		assertEquals(highWaterMark, saved.get(0).getDate());
+		assertEquals(TODAY, forexScraperService.getHighWaterMark("USDINR=X"));
+
+		forexScraperService.scrapeAndSaveNewExchangeRates("USD", "INR", Period.ONE_YEAR);
+		verify(hedgedRateFetcher).fetch("USD", "INR", TODAY, TODAY);
+		verify(forexDataRepository, times(1)).findLatestDate("USDINR=X");
+	}
+
+	@Test
+	void staleHighWaterMarkIsBoundedByPeriod() throws Exception {
+		when(forexDataRepository.findLatestDate("USDINR=X")).thenReturn(TODAY.minusYears(3));
+
+		forexScraperService.scrapeAndSaveNewExchangeRates("USD", "INR", Period.ONE_MONTH);
+
+		verify(hedgedRateFetcher).fetch("USD", "INR", Period.ONE_MONTH.startDate(TODAY), TODAY);
+	}
+
+	private static List<ForexData> rows(LocalDate startDate, LocalDate endDate) {
+		List<ForexData> rows = new ArrayList<>();
+		for (LocalDate date = startDate; !date.isAfter(endDate); date = date.plusDays(1)) {
+			ForexData data = new ForexData();
+			data.setCurrencyPair("USDINR=X");
+			data.setDate(date);
+			data.setClose(new BigDecimal("83.1"));
+			rows.add(data);
+		}
+		return rows;
+	}
+}
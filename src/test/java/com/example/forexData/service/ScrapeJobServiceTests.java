@@ -0,0 +1,141 @@
+package com.example.forexData.service;
+
+import com.example.forexData.model.ScrapeJobStatus;
+import com.example.forexData.model.ScrapeJobStatus.Priority;
+import com.example.forexData.model.ScrapeJobStatus.State;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ScrapeJobServiceTests {
+
+	private final ScrapeJobService scrapeJobService = new ScrapeJobService();
+	private final CountDownLatch gate = new CountDownLatch(1);
+
+	@BeforeEach
+	void setUp() {
+		ReflectionTestUtils.setField(scrapeJobService, "workers", 1);
+		ReflectionTestUtils.setField(scrapeJobService, "queueCapacity", 3);
+		ReflectionTestUtils.setField(scrapeJobService, "retained", 100);
+		scrapeJobService.start();
+	}
+
+	@AfterEach
+	void tearDown() {
+		gate.countDown();
+		scrapeJobService.shutdown();
+	}
+
+	@Test
+	void runsQueuedJobsInPriorityOrder() throws Exception {
+		List<String> order = new CopyOnWriteArrayList<>();
+		ScrapeJobStatus blocker = scrapeJobService.submit("blocker", "blocker", Priority.NORMAL, this::awaitGate);
+		awaitState(blocker.id(), State.RUNNING);
+
+		ScrapeJobStatus low = scrapeJobService.submit("low", "low", Priority.LOW, () -> order.add("low"));
+		scrapeJobService.submit("normal", "normal", Priority.NORMAL, () -> order.add("normal"));
+		ScrapeJobStatus high = scrapeJobService.submit("high", "high", Priority.HIGH, () -> order.add("high"));
+		assertEquals(State.QUEUED, high.state());
+
+		gate.countDown();
+		awaitState(low.id(), State.SUCCEEDED);
+
+		assertEquals(List.of("high", "normal", "low"), order);
+		assertEquals(true, scrapeJobService.getJob(low.id()).result());
+	}
+
+	@Test
+	void identicalActiveJobIsReturnedInsteadOfQueuedAgain() throws Exception {
+		ScrapeJobStatus first = scrapeJobService.submit("same", "first", Priority.NORMAL, this::awaitGate);
+		ScrapeJobStatus second = scrapeJobService.submit("same", "second", Priority.HIGH, () -> "other");
+		assertEquals(first.id(), second.id());
+
+		gate.countDown();
+		awaitState(first.id(), State.SUCCEEDED);
+		ScrapeJobStatus third = scrapeJobService.submit("same", "third", Priority.NORMAL, () -> "again");
+		awaitState(third.id(), State.SUCCEEDED);
+		assertEquals("again", scrapeJobService.getJob(third.id()).result());
+	}
+
+	@Test
+	void rejectsJobsBeyondQueueCapacity() throws Exception {
+		ScrapeJobStatus blocker = scrapeJobService.submit("blocker", "blocker", Priority.NORMAL, this::awaitGate);
+		awaitState(blocker.id(), State.RUNNING);
+		for (int i = 0; i < 3; i++) {
+			scrapeJobService.submit("job" + i, "job" + i, Priority.NORMAL, () -> null);
+		}
+		assertThrows(RejectedExecutionException.class,
+				() -> scrapeJobService.submit("overflow", "overflow", Priority.NORMAL, () -> null));
+	}
+
+	@Test
+	void failedJobCarriesError() throws Exception {
+		ScrapeJobStatus job = scrapeJobService.submit("fail", "fail", Priority.NORMAL, () -> {
+			throw new IllegalStateException("No data found");
+		});
+		awaitState(job.id(), State.FAILED);
+		assertEquals("No data found", scrapeJobService.getJob(job.id()).error());
+		assertNull(scrapeJobService.getJob("unknown"));
+	}
+
+	@Test
+	void jobEndingInErrorFinishesAndFreesItsKey() throws Exception {
+		ScrapeJobStatus job = scrapeJobService.submit("error", "error", Priority.NORMAL, () -> {
+			throw new OutOfMemoryError("Java heap space");
+		});
+		awaitState(job.id(), State.FAILED);
+		assertNotNull(scrapeJobService.getJob(job.id()).finishedAt());
+
+		ScrapeJobStatus retry = scrapeJobService.submit("error", "error", Priority.NORMAL, () -> "again");
+		awaitState(retry.id(), State.SUCCEEDED);
+	}
+
+	@Test
+	void evictsFinishedJobsBehindLongRunningOne() throws Exception {
+		scrapeJobService.shutdown();
+		ReflectionTestUtils.setField(scrapeJobService, "workers", 2);
+		ReflectionTestUtils.setField(scrapeJobService, "retained", 3);
+		scrapeJobService.start();
+
+		ScrapeJobStatus backfill = scrapeJobService.submit("backfill", "backfill", Priority.LOW, this::awaitGate);
+		awaitState(backfill.id(), State.RUNNING);
+		List<String> ids = new ArrayList<>();
+		for (int i = 0; i < 10; i++) {
+			ScrapeJobStatus job = scrapeJobService.submit("job" + i, "job" + i, Priority.NORMAL, () -> null);
+			awaitState(job.id(), State.SUCCEEDED);
+			ids.add(job.id());
+		}
+
+		assertEquals(State.RUNNING, scrapeJobService.getJob(backfill.id()).state());
+		assertEquals(8, ids.stream().filter(id -> scrapeJobService.getJob(id) == null).count());
+		assertNotNull(scrapeJobService.getJob(ids.get(9)));
+	}
+
+	private Object awaitGate() {
+		try {
+			gate.await();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		return null;
+	}
+
+	private void awaitState(String id, State state) throws InterruptedException {
+		for (int i = 0; i < 500 && scrapeJobService.getJob(id).state() != state; i++) {
+			Thread.sleep(10);
+		}
+		assertEquals(state, scrapeJobService.getJob(id).state());
+	}
+}
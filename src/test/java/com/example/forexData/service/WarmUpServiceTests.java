@@ -0,0 +1,75 @@
+package com.example.forexData.service;
+
+import com.example.forexData.store.ForexTimeSeriesStore;
+import com.example.forexData.support.YahooStubServer;
+import com.example.forexData.util.Period;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.availability.ApplicationAvailability;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = {
+		"forex.warmup.enabled=true",
+		"forex.warmup.pairs=USDSEK,USDNOK",
+		"forex.warmup.periods=1W,3M",
+		"forex.warmup.cross-pairs=SEKNOK"
+})
+class WarmUpServiceTests {
+
+	private static final YahooStubServer YAHOO = startStub();
+
+	@Autowired
+	private ForexTimeSeriesStore forexTimeSeriesStore;
+
+	@Autowired
+	private ForexDataCacheService forexDataCacheService;
+
+	@Autowired
+	private ApplicationAvailability applicationAvailability;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@DynamicPropertySource
+	static void yahooProperties(DynamicPropertyRegistry registry) {
+		registry.add("forex.scrape.base-url", YAHOO::baseUrl);
+	}
+
+	@AfterAll
+	static void stopStub() {
+		YAHOO.close();
+	}
+
+	@Test
+	void warmsHotPairsBeforeReportingReady() {
+		assertEquals(ReadinessState.ACCEPTING_TRAFFIC, applicationAvailability.getReadinessState());
+		assertTrue(forexTimeSeriesStore.contains("USDSEK=X"));
+		assertTrue(forexTimeSeriesStore.contains("USDNOK=X"));
+		// The longer period is scraped first, the shorter one is then answered from the database
+		assertEquals(2, YAHOO.requests());
+		assertEquals(1, meterRegistry.get("forex.warmup").tags("outcome", "complete").timer().count());
+
+		long hits = forexDataCacheService.getStats().hits();
+		forexDataCacheService.getExchangeRates("USD", "SEK", Period.ONE_WEEK);
+		assertEquals(hits + 1, forexDataCacheService.getStats().hits());
+		assertEquals(2, YAHOO.requests());
+	}
+
+	private static YahooStubServer startStub() {
+		try {
+			return new YahooStubServer();
+		} catch (IOException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+}
@@ -0,0 +1,78 @@
+package com.example.forexData.store;
+
+import com.example.forexData.model.ForexData;
+import com.example.forexData.model.OhlcBar;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class PairSeriesTests {
+
+	private static final LocalDate MONDAY = LocalDate.of(2024, 8, 19);
+
+	@Test
+	void mergeAppendsInsertsAndReplacesByDay() {
+		PairSeries series = new PairSeries("USDINR=X");
+		series.merge(List.of(row(MONDAY, "83.1"), row(MONDAY.plusDays(2), "83.3")));
+		PairSeries.Snapshot before = series.snapshot();
+
+		series.merge(List.of(row(MONDAY.plusDays(1), "83.2"), row(MONDAY.plusDays(2), "83.35"), row(MONDAY.plusDays(3), "83.4")));
+
+		assertEquals(2, before.size());
+		List<OhlcBar> bars = series.snapshot().range(MONDAY, MONDAY.plusDays(3));
+		assertEquals(4, bars.size());
+		assertEquals(new BigDecimal("83.20000"), bars.get(1).close());
+		assertEquals(new BigDecimal("83.35000"), bars.get(2).close());
+		assertEquals(new BigDecimal("83.30000"), before.bar(1).close());
+	}
+
+	@Test
+	void floorAndCeilingSkipGaps() {
+		PairSeries series = new PairSeries("USDINR=X");
+		series.merge(List.of(row(MONDAY, "83.1"), row(MONDAY.plusDays(4), "83.5")));
+		PairSeries.Snapshot snapshot = series.snapshot();
+
+		int saturday = (int) MONDAY.plusDays(5).toEpochDay();
+		assertEquals(1, snapshot.floorIndex(saturday));
+		assertEquals(2, snapshot.ceilingIndex(saturday));
+		assertEquals(-1, snapshot.floorIndex((int) MONDAY.minusDays(1).toEpochDay()));
+		assertEquals(1, snapshot.range(MONDAY.plusDays(1), MONDAY.plusDays(6)).size());
+	}
+
+	@Test
+	void missingAndOverflowingValuesAreNotReadAsPrices() {
+		PairSeries series = new PairSeries("USDINR=X");
+		ForexData noClose = row(MONDAY.plusDays(1), "83.2");
+		noClose.setClose(null);
+		noClose.setVolume(null);
+		ForexData overflow = row(MONDAY.plusDays(2), "83.3");
+		overflow.setClose(new BigDecimal("1e20"));
+		series.merge(List.of(row(MONDAY, "83.1"), noClose, overflow));
+		PairSeries.Snapshot snapshot = series.snapshot();
+
+		assertNull(snapshot.bar(1).close());
+		assertNull(snapshot.bar(1).volume());
+		assertNull(snapshot.bar(2).close());
+		assertEquals(new BigDecimal("83.20000"), snapshot.bar(1).open());
+		assertEquals(0, snapshot.floorCloseIndex((int) MONDAY.plusDays(3).toEpochDay()));
+		assertEquals(2, snapshot.floorIndex((int) MONDAY.plusDays(3).toEpochDay()));
+	}
+
+	private static ForexData row(LocalDate date, String close) {
+		ForexData data = new ForexData();
+		data.setCurrencyPair("USDINR=X");
+		data.setDate(date);
+		data.setOpen(new BigDecimal(close));
+		data.setHigh(new BigDecimal(close));
+		data.setLow(new BigDecimal(close));
+		data.setClose(new BigDecimal(close));
+		data.setAdjClose(new BigDecimal(close));
+		data.setVolume(BigDecimal.ZERO);
+		return data;
+	}
+}
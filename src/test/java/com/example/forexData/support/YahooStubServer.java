@@ -0,0 +1,180 @@
+package com.example.forexData.support;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Local stand-in for Yahoo's history pages. Serves a generated table of the most recent weekdays for any
+ * {@code /quote/{pair}/history} request, or of the weekdays between {@code period1} and {@code period2} when
+ * given, with configurable latency and failures.
+ */
+public class YahooStubServer implements AutoCloseable {
+
+	private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("MMM d, yyyy", Locale.ENGLISH);
+
+	private final HttpServer server;
+	private final AtomicInteger requests = new AtomicInteger();
+	private final AtomicInteger inFlight = new AtomicInteger();
+	private final AtomicInteger maxInFlight = new AtomicInteger();
+
+	private volatile long latencyMillis;
+	private volatile double errorRate;
+	private volatile int rows = 30;
+	private final AtomicInteger failNext = new AtomicInteger();
+	private final AtomicInteger successesLeft = new AtomicInteger(Integer.MAX_VALUE);
+
+	public YahooStubServer() throws IOException {
+		server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+		server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+		server.createContext("/quote/", this::handle);
+		server.start();
+	}
+
+	public String baseUrl() {
+		return "http://127.0.0.1:" + server.getAddress().getPort();
+	}
+
+	public YahooStubServer latencyMillis(long latencyMillis) {
+		this.latencyMillis = latencyMillis;
+		return this;
+	}
+
+	public YahooStubServer errorRate(double errorRate) {
+		this.errorRate = errorRate;
+		return this;
+	}
+
+	public YahooStubServer rows(int rows) {
+		this.rows = rows;
+		return this;
+	}
+
+	/**
+	 * Answers the next {@code count} requests with 503.
+	 */
+	public YahooStubServer failNext(int count) {
+		failNext.set(count);
+		return this;
+	}
+
+	/**
+	 * Answers {@code count} more requests normally, then fails every request with 503 until {@link #reset()}.
+	 */
+	public YahooStubServer failAfter(int count) {
+		successesLeft.set(count);
+		return this;
+	}
+
+	public int requests() {
+		return requests.get();
+	}
+
+	public int maxInFlight() {
+		return maxInFlight.get();
+	}
+
+	public void reset() {
+		requests.set(0);
+		maxInFlight.set(0);
+		failNext.set(0);
+		successesLeft.set(Integer.MAX_VALUE);
+	}
+
+	private void handle(HttpExchange exchange) throws IOException {
+		requests.incrementAndGet();
+		maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+		try {
+			if (latencyMillis > 0) {
+				Thread.sleep(latencyMillis);
+			}
+			if (Math.random() < errorRate || failNext.getAndUpdate(n -> Math.max(0, n - 1)) > 0
+					|| successesLeft.getAndUpdate(n -> Math.max(0, n - 1)) == 0) {
+				exchange.sendResponseHeaders(503, -1);
+				return;
+			}
+			Map<String, String> query = query(exchange.getRequestURI().getRawQuery());
+			String html = query.containsKey("period1") && query.containsKey("period2")
+					? page(epochDay(query.get("period2")).minusDays(1), epochDay(query.get("period1")))
+					: page(rows);
+			byte[] body = html.getBytes(StandardCharsets.UTF_8);
+			exchange.getResponseHeaders().set("Content-Type", "text/html; charset=utf-8");
+			exchange.sendResponseHeaders(200, body.length);
+			try (OutputStream out = exchange.getResponseBody()) {
+				out.write(body);
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} finally {
+			inFlight.decrementAndGet();
+			exchange.close();
+		}
+	}
+
+	/**
+	 * Builds a history page with {@code rows} weekday rows ending today, newest first, like Yahoo does.
+	 */
+	public static String page(int rows) {
+		return page(LocalDate.now(), LocalDate.MIN, rows);
+	}
+
+	/**
+	 * Builds a history page with every weekday from {@code newest} back to {@code oldest}, newest first.
+	 */
+	public static String page(LocalDate newest, LocalDate oldest) {
+		return page(newest, oldest, Integer.MAX_VALUE);
+	}
+
+	private static String page(LocalDate newest, LocalDate oldest, int rows) {
+		StringBuilder html = new StringBuilder("<html><body><table><thead><tr><th>Date</th><th>Open</th><th>High</th>"
+				+ "<th>Low</th><th>Close</th><th>Adj Close</th><th>Volume</th></tr></thead><tbody>");
+		int i = 0;
+		for (LocalDate date = newest; i < rows && !date.isBefore(oldest); date = date.minusDays(1)) {
+			if (date.getDayOfWeek() == DayOfWeek.SATURDAY || date.getDayOfWeek() == DayOfWeek.SUNDAY) {
+				continue;
+			}
+			String price = String.format(Locale.ENGLISH, "%.4f", 83 + (i % 10) / 10.0);
+			html.append("<tr><td>").append(DATE_FORMAT.format(date)).append("</td>");
+			for (int cell = 0; cell < 5; cell++) {
+				html.append("<td>").append(price).append("</td>");
+			}
+			html.append("<td>-</td></tr>");
+			i++;
+		}
+		return html.append("</tbody></table></body></html>").toString();
+	}
+
+	private static Map<String, String> query(String rawQuery) {
+		Map<String, String> params = new HashMap<>();
+		if (rawQuery != null) {
+			for (String param : rawQuery.split("&")) {
+				int eq = param.indexOf('=');
+				if (eq > 0) {
+					params.put(param.substring(0, eq), param.substring(eq + 1));
+				}
+			}
+		}
+		return params;
+	}
+
+	private static LocalDate epochDay(String epochSecond) {
+		return LocalDate.ofEpochDay(Math.floorDiv(Long.parseLong(epochSecond), 86_400));
+	}
+
+	@Override
+	public void close() {
+		server.stop(0);
+	}
+}
@@ -0,0 +1,68 @@
+package com.example.forexData.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CircuitBreakerTests {
+
+	private static final long MILLI = TimeUnit.MILLISECONDS.toNanos(1);
+
+	private final AtomicLong clock = new AtomicLong(1_000_000 * MILLI);
+
+	@Test
+	void opensAfterConsecutiveFailuresOnly() {
+		CircuitBreaker breaker = new CircuitBreaker(3, 1000, clock::get);
+
+		breaker.onFailure();
+		breaker.onFailure();
+		breaker.onSuccess();
+		breaker.onFailure();
+		breaker.onFailure();
+		assertTrue(breaker.tryAcquire());
+
+		breaker.onFailure();
+		assertEquals(CircuitBreaker.State.OPEN, breaker.state());
+		assertFalse(breaker.tryAcquire());
+	}
+
+	@Test
+	void letsOneTrialThroughAfterOpenTime() {
+		CircuitBreaker breaker = new CircuitBreaker(1, 1000, clock::get);
+		breaker.onFailure();
+
+		clock.addAndGet(999 * MILLI);
+		assertFalse(breaker.tryAcquire());
+		clock.addAndGet(MILLI);
+		assertTrue(breaker.tryAcquire());
+		assertFalse(breaker.tryAcquire());
+
+		// A failed trial opens the circuit for another full period
+		breaker.onFailure();
+		clock.addAndGet(999 * MILLI);
+		assertFalse(breaker.tryAcquire());
+		clock.addAndGet(MILLI);
+		assertTrue(breaker.tryAcquire());
+
+		breaker.onSuccess();
+		assertEquals(CircuitBreaker.State.CLOSED, breaker.state());
+		assertTrue(breaker.tryAcquire());
+	}
+
+	@Test
+	void releasedTrialCanBeRetriedAtOnce() {
+		CircuitBreaker breaker = new CircuitBreaker(1, 1000, clock::get);
+		breaker.onFailure();
+		clock.addAndGet(1000 * MILLI);
+
+		assertTrue(breaker.tryAcquire());
+		breaker.release();
+		assertEquals(CircuitBreaker.State.OPEN, breaker.state());
+		assertTrue(breaker.tryAcquire());
+	}
+}
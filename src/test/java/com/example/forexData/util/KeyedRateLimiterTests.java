@@ -0,0 +1,53 @@
+package com.example.forexData.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class KeyedRateLimiterTests {
+
+	private static final long MILLI = TimeUnit.MILLISECONDS.toNanos(1);
+
+	private final AtomicLong clock = new AtomicLong(1_000_000 * MILLI);
+
+	@Test
+	void limitsEachKeySeparately() {
+		KeyedRateLimiter limiter = new KeyedRateLimiter(10, 2, 100, clock::get);
+
+		assertEquals(0, limiter.tryAcquire("a"));
+		assertEquals(0, limiter.tryAcquire("a"));
+		assertEquals(100 * MILLI, limiter.tryAcquire("a"));
+		assertEquals(0, limiter.tryAcquire("b"));
+
+		clock.addAndGet(100 * MILLI);
+		assertEquals(0, limiter.tryAcquire("a"));
+	}
+
+	@Test
+	void evictsOnlyRefilledBuckets() {
+		KeyedRateLimiter limiter = new KeyedRateLimiter(10, 2, 100, clock::get);
+		limiter.tryAcquire("a");
+		clock.addAndGet(100 * MILLI);
+		limiter.tryAcquire("b");
+
+		assertEquals(1, limiter.evictIdle());
+		assertEquals(1, limiter.size());
+		// The busy key kept its state
+		assertEquals(0, limiter.tryAcquire("b"));
+		assertEquals(100 * MILLI, limiter.tryAcquire("b"));
+	}
+
+	@Test
+	void keysBeyondLimitShareOverflowBucket() {
+		KeyedRateLimiter limiter = new KeyedRateLimiter(10, 1, 2, clock::get);
+		limiter.tryAcquire("a");
+		limiter.tryAcquire("b");
+
+		assertEquals(0, limiter.tryAcquire("c"));
+		assertEquals(100 * MILLI, limiter.tryAcquire("d"));
+		assertEquals(2, limiter.size());
+	}
+}
@@ -0,0 +1,76 @@
+package com.example.forexData.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TokenBucketTests {
+
+	private static final long MILLI = TimeUnit.MILLISECONDS.toNanos(1);
+
+	private final AtomicLong clock = new AtomicLong(1_000_000 * MILLI);
+
+	@Test
+	void allowsBurstThenSustainedRate() {
+		TokenBucket bucket = new TokenBucket(10, 3, clock::get);
+
+		assertTrue(bucket.tryAcquire());
+		assertTrue(bucket.tryAcquire());
+		assertTrue(bucket.tryAcquire());
+		assertFalse(bucket.tryAcquire());
+
+		clock.addAndGet(99 * MILLI);
+		assertFalse(bucket.tryAcquire());
+		clock.addAndGet(MILLI);
+		assertTrue(bucket.tryAcquire());
+		assertFalse(bucket.tryAcquire());
+	}
+
+	@Test
+	void idleTimeRefillsNoMoreThanBurst() {
+		TokenBucket bucket = new TokenBucket(10, 2, clock::get);
+		clock.addAndGet(60_000 * MILLI);
+
+		assertTrue(bucket.tryAcquire());
+		assertTrue(bucket.tryAcquire());
+		assertFalse(bucket.tryAcquire());
+	}
+
+	@Test
+	void releaseReturnsPermitButNeverBeyondBurst() {
+		TokenBucket bucket = new TokenBucket(10, 2, clock::get);
+
+		assertTrue(bucket.tryAcquire());
+		assertTrue(bucket.tryAcquire());
+		assertFalse(bucket.tryAcquire());
+		bucket.release();
+		assertTrue(bucket.tryAcquire());
+		assertFalse(bucket.tryAcquire());
+
+		bucket.release();
+		bucket.release();
+		bucket.release();
+		assertTrue(bucket.isFull());
+		assertTrue(bucket.tryAcquire());
+		assertTrue(bucket.tryAcquire());
+		assertFalse(bucket.tryAcquire());
+	}
+
+	@Test
+	void reservationsQueueOneIntervalApart() {
+		TokenBucket bucket = new TokenBucket(10, 1, clock::get);
+
+		assertEquals(0, bucket.reserve());
+		assertEquals(100 * MILLI, bucket.reserve());
+		assertEquals(200 * MILLI, bucket.reserve());
+		assertFalse(bucket.tryAcquire());
+
+		clock.addAndGet(300 * MILLI);
+		assertEquals(0, bucket.reserve());
+	}
+}
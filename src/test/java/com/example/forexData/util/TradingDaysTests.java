@@ -0,0 +1,56 @@
+package com.example.forexData.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TradingDaysTests {
+
+	// Monday 2024-12-16 to Friday 2024-12-27
+	private static final LocalDate START = LocalDate.of(2024, 12, 16);
+	private static final LocalDate END = LocalDate.of(2024, 12, 27);
+
+	@Test
+	void shortGapsBetweenBarsAreHolidays() {
+		NavigableSet<LocalDate> stored = weekdays(START, END);
+		stored.remove(LocalDate.of(2024, 12, 25));
+		stored.remove(LocalDate.of(2024, 12, 26));
+
+		assertEquals(List.of(), TradingDays.missingDays(START, END, stored));
+		assertTrue(TradingDays.covers(START, END, stored));
+	}
+
+	@Test
+	void longGapsAndEdgesAreMissing() {
+		NavigableSet<LocalDate> stored = weekdays(START, END);
+		stored.removeAll(weekdays(LocalDate.of(2024, 12, 18), LocalDate.of(2024, 12, 20)));
+		stored.remove(END);
+
+		assertEquals(List.of(LocalDate.of(2024, 12, 18), LocalDate.of(2024, 12, 19), LocalDate.of(2024, 12, 20), END),
+				TradingDays.missingDays(START, END, stored));
+		assertFalse(TradingDays.covers(START, END, stored));
+		assertFalse(TradingDays.covers(START, END, new TreeSet<>()));
+	}
+
+	@Test
+	void weekendsNeedNoBar() {
+		assertTrue(TradingDays.covers(LocalDate.of(2024, 12, 21), LocalDate.of(2024, 12, 22), new TreeSet<>()));
+	}
+
+	private static NavigableSet<LocalDate> weekdays(LocalDate first, LocalDate last) {
+		NavigableSet<LocalDate> dates = new TreeSet<>();
+		for (LocalDate date = first; !date.isAfter(last); date = date.plusDays(1)) {
+			if (TradingDays.isWeekday(date)) {
+				dates.add(date);
+			}
+		}
+		return dates;
+	}
+}